@@ -1,6 +1,7 @@
 package de.codecrafters.tableviewexample;
 
 import android.content.Context;
+import android.content.res.ColorStateList;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.ImageView;
@@ -18,6 +19,8 @@ public class CarTableDataAdapter extends TableDataAdapter<Car> {
     private static final int TEXT_SIZE = 14;
     private static final NumberFormat PRICE_FORMATTER = NumberFormat.getNumberInstance();
 
+    private ColorStateList defaultTextColors;
+
 
     public CarTableDataAdapter(Context context, List<Car> data) {
         super(context, data);
@@ -25,46 +28,52 @@ public class CarTableDataAdapter extends TableDataAdapter<Car> {
 
     @Override
     public View getCellView(int rowIndex, int columnIndex, ViewGroup parentView) {
+        return bindCellView(rowIndex, columnIndex, null, parentView);
+    }
+
+    @Override
+    public View bindCellView(int rowIndex, int columnIndex, View recycledView, ViewGroup parentView) {
         Car car = getRowData(rowIndex);
         View renderedView = null;
 
         switch (columnIndex) {
             case 0:
-                renderedView = renderProducerLogo(car, parentView);
+                renderedView = renderProducerLogo(car, recycledView, parentView);
                 break;
             case 1:
-                renderedView = renderCatName(car);
+                renderedView = renderCatName(car, recycledView);
                 break;
             case 2:
-                renderedView = renderPower(car, parentView);
+                renderedView = renderPower(car, recycledView, parentView);
                 break;
             case 3:
-                renderedView = renderPrice(car);
+                renderedView = renderPrice(car, recycledView);
                 break;
         }
 
         return renderedView;
     }
 
-    private View renderPrice(Car car) {
+    private View renderPrice(Car car, View recycledView) {
         String priceString = PRICE_FORMATTER.format(car.getPrice()) + " €";
 
-        TextView textView = new TextView(getContext());
-        textView.setText(priceString);
-        textView.setPadding(20, 10, 20, 10);
-        textView.setTextSize(TEXT_SIZE);
-
+        TextView textView = renderString(priceString, recycledView);
         if (car.getPrice() < 50000) {
             textView.setTextColor(0xFF2E7D32);
         } else if (car.getPrice() > 100000) {
             textView.setTextColor(0xFFC62828);
+        } else {
+            textView.setTextColor(defaultTextColors);
         }
 
         return textView;
     }
 
-    private View renderPower(Car car, ViewGroup parentView) {
-        View view = getLayoutInflater().inflate(R.layout.table_cell_power, parentView, false);
+    private View renderPower(Car car, View recycledView, ViewGroup parentView) {
+        View view = recycledView;
+        if (view == null) {
+            view = getLayoutInflater().inflate(R.layout.table_cell_power, parentView, false);
+        }
         TextView kwView = (TextView) view.findViewById(R.id.kw_view);
         TextView psView = (TextView) view.findViewById(R.id.ps_view);
 
@@ -74,22 +83,31 @@ public class CarTableDataAdapter extends TableDataAdapter<Car> {
         return view;
     }
 
-    private View renderCatName(Car car) {
-        return renderString(car.getName());
+    private View renderCatName(Car car, View recycledView) {
+        return renderString(car.getName(), recycledView);
     }
 
-    private View renderProducerLogo(Car car, ViewGroup parentView) {
-        View view = getLayoutInflater().inflate(R.layout.table_cell_image, parentView, false);
+    private View renderProducerLogo(Car car, View recycledView, ViewGroup parentView) {
+        View view = recycledView;
+        if (view == null) {
+            view = getLayoutInflater().inflate(R.layout.table_cell_image, parentView, false);
+        }
         ImageView imageView = (ImageView) view.findViewById(R.id.imageView);
         imageView.setImageResource(car.getProducer().getLogo());
         return view;
     }
 
-    private View renderString(String value) {
-        TextView textView = new TextView(getContext());
+    private TextView renderString(String value, View recycledView) {
+        TextView textView = (TextView) recycledView;
+        if (textView == null) {
+            textView = new TextView(getContext());
+            textView.setPadding(20, 10, 20, 10);
+            textView.setTextSize(TEXT_SIZE);
+            if (defaultTextColors == null) {
+                defaultTextColors = textView.getTextColors();
+            }
+        }
         textView.setText(value);
-        textView.setPadding(20, 10, 20, 10);
-        textView.setTextSize(TEXT_SIZE);
         return textView;
     }
 
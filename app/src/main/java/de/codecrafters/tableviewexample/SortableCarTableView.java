@@ -7,7 +7,11 @@ import android.widget.Toast;
 import java.util.Comparator;
 
 import de.codecrafters.tableview.SortableTableView;
+import de.codecrafters.tableview.extractors.DoubleKeyExtractor;
+import de.codecrafters.tableview.extractors.IntKeyExtractor;
+import de.codecrafters.tableview.extractors.KeyExtractor;
 import de.codecrafters.tableview.listeners.TableDataClickListener;
+import de.codecrafters.tableview.toolkit.CollationKeyExtractors;
 import de.codecrafters.tableview.toolkit.SimpleTableHeaderAdapter;
 import de.codecrafters.tableview.toolkit.SortStateViewProviders;
 import de.codecrafters.tableview.toolkit.TableDataRowColorizers;
@@ -42,11 +46,28 @@ public class SortableCarTableView extends SortableTableView<Car> {
         setColumnWeight(1, 3);
         setColumnWeight(2, 3);
         setColumnWeight(3, 2);
+        setHorizontalScrollingEnabled(true);
+        setFrozenColumnCount(2);
 
         setColumnComparator(0, CarComparators.getCarProducerComparator());
-        setColumnComparator(1, CarComparators.getCarNameComparator());
-        setColumnComparator(2, CarComparators.getCarPowerComparator());
-        setColumnComparator(3, CarComparators.getCarPriceComparator());
+        setColumnSortKey(1, CollationKeyExtractors.localeAware(new KeyExtractor<Car, String>() {
+            @Override
+            public String getKey(Car car) {
+                return car.getName();
+            }
+        }));
+        setColumnSortKey(2, new IntKeyExtractor<Car>() {
+            @Override
+            public int getKey(Car car) {
+                return car.getPs();
+            }
+        });
+        setColumnSortKey(3, new DoubleKeyExtractor<Car>() {
+            @Override
+            public double getKey(Car car) {
+                return car.getPrice();
+            }
+        });
     }
 
 }
@@ -0,0 +1,137 @@
+package de.codecrafters.tableview;
+
+import android.view.View;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+
+/**
+ * A bounded pool of detached cell views. The views are pooled per column and per cell view type, so
+ * a recycled view is only handed back to the column that produced it and only for cells of the same
+ * type.
+ *
+ * @author ISchwarz
+ */
+class CellViewPool {
+
+    private final List<Deque<View>> scrapViews = new ArrayList<>();
+    private int viewTypeCount;
+    private int maxPoolSize;
+
+
+    /**
+     * Creates a new CellViewPool.
+     *
+     * @param viewTypeCount
+     *         The number of different cell view types.
+     * @param maxPoolSize
+     *         The maximum number of views that are kept per column and cell view type.
+     */
+    public CellViewPool(final int viewTypeCount, final int maxPoolSize) {
+        this.viewTypeCount = viewTypeCount;
+        this.maxPoolSize = maxPoolSize;
+    }
+
+    /**
+     * Gives a pooled view for the given column and cell view type. The returned view is removed from
+     * the pool.
+     *
+     * @param columnIndex
+     *         The index of the column the view is requested for.
+     * @param viewType
+     *         The cell view type the view is requested for.
+     * @return A pooled view or null if there is no view available.
+     */
+    public View acquire(final int columnIndex, final int viewType) {
+        final Deque<View> scrap = getScrap(columnIndex, viewType, false);
+        if (scrap == null) {
+            return null;
+        }
+        return scrap.poll();
+    }
+
+    /**
+     * Adds the given detached view to the pool of the given column and cell view type. If this pool is
+     * already full the view is dropped.
+     *
+     * @param columnIndex
+     *         The index of the column that produced the given view.
+     * @param viewType
+     *         The cell view type of the given view.
+     * @param view
+     *         The view that shall be pooled.
+     */
+    public void release(final int columnIndex, final int viewType, final View view) {
+        final Deque<View> scrap = getScrap(columnIndex, viewType, true);
+        if (scrap != null && scrap.size() < maxPoolSize) {
+            scrap.push(view);
+        }
+    }
+
+    /**
+     * Sets the number of cell view types. If the number differs from the current one, all pooled views
+     * are dropped.
+     *
+     * @param viewTypeCount
+     *         The number of different cell view types.
+     */
+    public void setViewTypeCount(final int viewTypeCount) {
+        if (this.viewTypeCount != viewTypeCount) {
+            this.viewTypeCount = viewTypeCount;
+            scrapViews.clear();
+        }
+    }
+
+    /**
+     * Sets the maximum number of views that are kept per column and cell view type. Pools that contain
+     * more views than allowed will be trimmed.
+     *
+     * @param maxPoolSize
+     *         The maximum number of pooled views per column and cell view type.
+     */
+    public void setMaxPoolSize(final int maxPoolSize) {
+        this.maxPoolSize = maxPoolSize;
+        for (final Deque<View> scrap : scrapViews) {
+            while (scrap.size() > maxPoolSize) {
+                scrap.pollLast();
+            }
+        }
+    }
+
+    /**
+     * Gives the maximum number of views that are kept per column and cell view type.
+     *
+     * @return The maximum number of pooled views per column and cell view type.
+     */
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    /**
+     * Removes all pooled views.
+     */
+    public void clear() {
+        scrapViews.clear();
+    }
+
+    private Deque<View> getScrap(final int columnIndex, final int viewType, final boolean create) {
+        if (viewType < 0 || viewType >= viewTypeCount || columnIndex < 0) {
+            return null;
+        }
+
+        final int scrapIndex = columnIndex * viewTypeCount + viewType;
+        if (scrapIndex >= scrapViews.size()) {
+            if (!create) {
+                return null;
+            }
+            while (scrapViews.size() <= scrapIndex) {
+                scrapViews.add(new ArrayDeque<View>());
+            }
+        }
+        return scrapViews.get(scrapIndex);
+    }
+
+}
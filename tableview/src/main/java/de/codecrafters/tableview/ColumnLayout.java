@@ -0,0 +1,140 @@
+package de.codecrafters.tableview;
+
+import android.view.ViewGroup;
+import android.widget.LinearLayout;
+
+
+/**
+ * The pixel layout of the columns of a table for a specific table width and version of the
+ * {@link TableColumnModel}. The column borders are computed from the cumulative column weights, so the
+ * widths of all columns always add up to the table width and no pixels are lost due to rounding. The
+ * layout params of the cells are created once and shared by all rows, so they must not be modified.
+ *
+ * @author ISchwarz
+ */
+class ColumnLayout {
+
+    private final TableColumnModel columnModel;
+    private final int tableWidth;
+    private final int columnModelVersion;
+    private final int[] columnPositions;
+    private final LinearLayout.LayoutParams[] cellLayoutParams;
+
+
+    /**
+     * Creates a new ColumnLayout for the given {@link TableColumnModel} and table width.
+     *
+     * @param columnModel
+     *         The {@link TableColumnModel} holding the column weights.
+     * @param tableWidth
+     *         The width of the table in pixels.
+     */
+    public ColumnLayout(final TableColumnModel columnModel, final int tableWidth) {
+        this.columnModel = columnModel;
+        this.tableWidth = tableWidth;
+        this.columnModelVersion = columnModel.getVersion();
+
+        final int columnCount = columnModel.getColumnCount();
+        final long weightSum = columnModel.getColumnWeightSum();
+        columnPositions = new int[columnCount + 1];
+        cellLayoutParams = new LinearLayout.LayoutParams[columnCount];
+        for (int columnIndex = 0; columnIndex < columnCount; columnIndex++) {
+            final long columnEnd = columnModel.getColumnOffset(columnIndex + 1);
+            columnPositions[columnIndex + 1] = weightSum > 0 ? (int) (tableWidth * columnEnd / weightSum) : 0;
+
+            final int width = columnPositions[columnIndex + 1] - columnPositions[columnIndex];
+            final LinearLayout.LayoutParams layoutParams = new LinearLayout.LayoutParams(width, ViewGroup.LayoutParams.WRAP_CONTENT);
+            layoutParams.weight = columnModel.getColumnWeight(columnIndex);
+            cellLayoutParams[columnIndex] = layoutParams;
+        }
+    }
+
+    /**
+     * Checks whether this layout is still valid for the given {@link TableColumnModel} and table width.
+     *
+     * @param columnModel
+     *         The {@link TableColumnModel} the layout shall be valid for.
+     * @param tableWidth
+     *         The table width the layout shall be valid for.
+     * @return True if the layout was created for the given table width and the current version of the
+     * given {@link TableColumnModel}, else false.
+     */
+    public boolean isValidFor(final TableColumnModel columnModel, final int tableWidth) {
+        return this.columnModel == columnModel && this.tableWidth == tableWidth
+                && columnModelVersion == columnModel.getVersion();
+    }
+
+    /**
+     * Gives the width of the table this layout was created for.
+     *
+     * @return The table width in pixels.
+     */
+    public int getTableWidth() {
+        return tableWidth;
+    }
+
+    /**
+     * Gives the number of columns of this layout.
+     *
+     * @return The number of columns.
+     */
+    public int getColumnCount() {
+        return cellLayoutParams.length;
+    }
+
+    /**
+     * Gives the index of the column that covers the given horizontal position. Positions left of the first
+     * column give the first column, positions right of the last column give the last column.
+     *
+     * @param position
+     *         The horizontal position in pixels.
+     * @return The index of the column at the given position or -1 if there are no columns.
+     */
+    public int getColumnAt(final int position) {
+        int low = 0;
+        int high = cellLayoutParams.length - 1;
+        while (low < high) {
+            final int mid = (low + high + 1) >>> 1;
+            if (columnPositions[mid] <= position) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * Gives the horizontal position of the left border of the column at the given index.
+     *
+     * @param columnIndex
+     *         The index of the column. The column count gives the right border of the last column.
+     * @return The position of the column in pixels.
+     */
+    public int getColumnPosition(final int columnIndex) {
+        return columnPositions[columnIndex];
+    }
+
+    /**
+     * Gives the width of the column at the given index.
+     *
+     * @param columnIndex
+     *         The index of the column.
+     * @return The width of the column in pixels.
+     */
+    public int getColumnWidth(final int columnIndex) {
+        return columnPositions[columnIndex + 1] - columnPositions[columnIndex];
+    }
+
+    /**
+     * Gives the shared layout params for the cells of the column at the given index.
+     *
+     * @param columnIndex
+     *         The index of the column.
+     * @return The layout params of the cells of the given column. They must not be modified.
+     */
+    public LinearLayout.LayoutParams getCellLayoutParams(final int columnIndex) {
+        return cellLayoutParams[columnIndex];
+    }
+
+}
@@ -0,0 +1,216 @@
+package de.codecrafters.tableview;
+
+import android.support.v4.view.ViewCompat;
+import android.view.MotionEvent;
+import android.view.VelocityTracker;
+import android.view.View;
+import android.view.ViewConfiguration;
+import android.view.ViewParent;
+import android.widget.OverScroller;
+
+
+/**
+ * Detects horizontal drags and flings on a table and translates them into horizontal scroll offsets. A
+ * drag is only taken over if it is mainly horizontal, so vertical scrolling of the data view and clicks
+ * on rows and headers keep working as before. The scroll offsets are given to a {@link ScrollTarget}.
+ *
+ * @author ISchwarz
+ */
+class ColumnScroller {
+
+    private final View view;
+    private final ScrollTarget scrollTarget;
+    private final OverScroller scroller;
+    private final int touchSlop;
+    private final int minimumFlingVelocity;
+    private final int maximumFlingVelocity;
+    private final Runnable flingRunnable = new FlingRunnable();
+
+    private VelocityTracker velocityTracker;
+    private boolean dragging;
+    private float downX;
+    private float downY;
+    private float lastX;
+
+
+    /**
+     * Creates a new ColumnScroller.
+     *
+     * @param view
+     *         The view whose touch events shall be handled.
+     * @param scrollTarget
+     *         The {@link ScrollTarget} that shall be scrolled.
+     */
+    public ColumnScroller(final View view, final ScrollTarget scrollTarget) {
+        this.view = view;
+        this.scrollTarget = scrollTarget;
+        this.scroller = new OverScroller(view.getContext());
+
+        final ViewConfiguration configuration = ViewConfiguration.get(view.getContext());
+        touchSlop = configuration.getScaledTouchSlop();
+        minimumFlingVelocity = configuration.getScaledMinimumFlingVelocity();
+        maximumFlingVelocity = configuration.getScaledMaximumFlingVelocity();
+    }
+
+    /**
+     * Checks whether the given touch event starts a horizontal drag that shall be taken over from the
+     * children of the view.
+     *
+     * @param event
+     *         The intercepted touch event.
+     * @return True if the view is dragged horizontally, else false.
+     */
+    public boolean onInterceptTouchEvent(final MotionEvent event) {
+        trackMovement(event);
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                downX = lastX = event.getX();
+                downY = event.getY();
+                dragging = !scroller.isFinished();
+                scroller.forceFinished(true);
+                break;
+            case MotionEvent.ACTION_MOVE:
+                startDraggingIfHorizontal(event);
+                break;
+            case MotionEvent.ACTION_UP:
+            case MotionEvent.ACTION_CANCEL:
+                stopDragging();
+                break;
+        }
+        return dragging;
+    }
+
+    /**
+     * Scrolls according to the given touch event if the view is dragged horizontally.
+     *
+     * @param event
+     *         The touch event of the view.
+     * @return True if the touch event was consumed, else false.
+     */
+    public boolean onTouchEvent(final MotionEvent event) {
+        trackMovement(event);
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                downX = lastX = event.getX();
+                downY = event.getY();
+                scroller.forceFinished(true);
+                return true;
+            case MotionEvent.ACTION_MOVE:
+                startDraggingIfHorizontal(event);
+                if (dragging) {
+                    final float x = event.getX();
+                    scrollTarget.scrollHorizontallyTo(scrollTarget.getHorizontalScrollOffset() + Math.round(lastX - x));
+                    lastX = x;
+                }
+                return true;
+            case MotionEvent.ACTION_UP:
+                if (dragging) {
+                    velocityTracker.computeCurrentVelocity(1000, maximumFlingVelocity);
+                    final int velocity = (int) velocityTracker.getXVelocity();
+                    if (Math.abs(velocity) > minimumFlingVelocity) {
+                        fling(-velocity);
+                    }
+                }
+                stopDragging();
+                return true;
+            case MotionEvent.ACTION_CANCEL:
+                stopDragging();
+                return true;
+        }
+        return dragging;
+    }
+
+    /**
+     * Stops a running fling.
+     */
+    public void abortFling() {
+        scroller.forceFinished(true);
+        view.removeCallbacks(flingRunnable);
+    }
+
+    private void fling(final int velocity) {
+        final int maxScrollOffset = scrollTarget.getMaxHorizontalScrollOffset();
+        scroller.fling(scrollTarget.getHorizontalScrollOffset(), 0, velocity, 0, 0, maxScrollOffset, 0, 0);
+        ViewCompat.postOnAnimation(view, flingRunnable);
+    }
+
+    private void startDraggingIfHorizontal(final MotionEvent event) {
+        if (dragging) {
+            return;
+        }
+        final float deltaX = Math.abs(event.getX() - downX);
+        final float deltaY = Math.abs(event.getY() - downY);
+        if (deltaX > touchSlop && deltaX > deltaY) {
+            dragging = true;
+            lastX = event.getX();
+            final ViewParent parent = view.getParent();
+            if (parent != null) {
+                parent.requestDisallowInterceptTouchEvent(true);
+            }
+        }
+    }
+
+    private void stopDragging() {
+        dragging = false;
+        if (velocityTracker != null) {
+            velocityTracker.recycle();
+            velocityTracker = null;
+        }
+    }
+
+    private void trackMovement(final MotionEvent event) {
+        if (velocityTracker == null) {
+            velocityTracker = VelocityTracker.obtain();
+        }
+        velocityTracker.addMovement(event);
+    }
+
+
+    /**
+     * The target of the horizontal scrolling of a {@link ColumnScroller}.
+     *
+     * @author ISchwarz
+     */
+    interface ScrollTarget {
+
+        /**
+         * Gives the current horizontal scroll offset.
+         *
+         * @return The horizontal scroll offset in pixels.
+         */
+        int getHorizontalScrollOffset();
+
+        /**
+         * Gives the maximum horizontal scroll offset.
+         *
+         * @return The maximum horizontal scroll offset in pixels.
+         */
+        int getMaxHorizontalScrollOffset();
+
+        /**
+         * Scrolls horizontally to the given offset. Offsets out of range shall be clamped.
+         *
+         * @param scrollOffset
+         *         The horizontal scroll offset in pixels.
+         */
+        void scrollHorizontallyTo(final int scrollOffset);
+
+    }
+
+    /**
+     * Applies the offsets of a running fling, one per animation frame.
+     *
+     * @author ISchwarz
+     */
+    private class FlingRunnable implements Runnable {
+
+        @Override
+        public void run() {
+            if (scroller.computeScrollOffset()) {
+                scrollTarget.scrollHorizontallyTo(scroller.getCurrX());
+                ViewCompat.postOnAnimation(view, this);
+            }
+        }
+    }
+
+}
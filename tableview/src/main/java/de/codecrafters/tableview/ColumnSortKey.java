@@ -0,0 +1,382 @@
+package de.codecrafters.tableview;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import de.codecrafters.tableview.extractors.DoubleKeyExtractor;
+import de.codecrafters.tableview.extractors.IntKeyExtractor;
+import de.codecrafters.tableview.extractors.KeyExtractor;
+import de.codecrafters.tableview.extractors.LongKeyExtractor;
+
+
+/**
+ * The sort key of a column that is defined by a key extractor. For sorting, the key of every row is
+ * extracted once into an array that is indexed by the data index, so comparing two rows only compares
+ * two array elements. Primitive keys are sorted together with the row indices without any comparator.
+ * For single row comparisons (e.g. placing a changed row into the current order) the sort key can also
+ * be used as {@link Comparator}.
+ *
+ * @author ISchwarz
+ */
+abstract class ColumnSortKey<T> implements Comparator<T> {
+
+    /**
+     * Creates a ColumnSortKey for the given {@link KeyExtractor}.
+     *
+     * @param keyExtractor
+     *         The {@link KeyExtractor} that extracts the sort key of a row.
+     * @return The ColumnSortKey using the given {@link KeyExtractor}.
+     */
+    public static <T, K extends Comparable<? super K>> ColumnSortKey<T> forKeyExtractor(final KeyExtractor<T, K> keyExtractor) {
+        return new ObjectColumnSortKey<>(keyExtractor);
+    }
+
+    /**
+     * Creates a ColumnSortKey for the given {@link IntKeyExtractor}.
+     *
+     * @param keyExtractor
+     *         The {@link IntKeyExtractor} that extracts the sort key of a row.
+     * @return The ColumnSortKey using the given {@link IntKeyExtractor}.
+     */
+    public static <T> ColumnSortKey<T> forIntKeyExtractor(final IntKeyExtractor<T> keyExtractor) {
+        return new IntColumnSortKey<>(keyExtractor);
+    }
+
+    /**
+     * Creates a ColumnSortKey for the given {@link LongKeyExtractor}.
+     *
+     * @param keyExtractor
+     *         The {@link LongKeyExtractor} that extracts the sort key of a row.
+     * @return The ColumnSortKey using the given {@link LongKeyExtractor}.
+     */
+    public static <T> ColumnSortKey<T> forLongKeyExtractor(final LongKeyExtractor<T> keyExtractor) {
+        return new LongColumnSortKey<>(keyExtractor);
+    }
+
+    /**
+     * Creates a ColumnSortKey for the given {@link DoubleKeyExtractor}.
+     *
+     * @param keyExtractor
+     *         The {@link DoubleKeyExtractor} that extracts the sort key of a row.
+     * @return The ColumnSortKey using the given {@link DoubleKeyExtractor}.
+     */
+    public static <T> ColumnSortKey<T> forDoubleKeyExtractor(final DoubleKeyExtractor<T> keyExtractor) {
+        return new DoubleColumnSortKey<>(keyExtractor);
+    }
+
+    /**
+     * Creates a ColumnSortKey that compares by the given {@link Comparator}s one after the other. The sort
+     * keys of every comparator that is a ColumnSortKey are extracted separately, the other comparators
+     * compare the rows themselves.
+     *
+     * @param keyComparators
+     *         The {@link Comparator}s in the order of their priority.
+     * @return The ColumnSortKey using the given {@link Comparator}s.
+     */
+    public static <T> ColumnSortKey<T> forComparators(final List<Comparator<T>> keyComparators) {
+        return new CompositeColumnSortKey<>(keyComparators);
+    }
+
+    /**
+     * Gives a {@link Comparator} imposing the reverse order of the given one. If the given comparator is a
+     * ColumnSortKey, the returned comparator is a ColumnSortKey as well, so its keys can still be extracted.
+     *
+     * @param comparator
+     *         The {@link Comparator} whose order shall be reversed.
+     * @return The reversed {@link Comparator}.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Comparator<T> reverse(final Comparator<T> comparator) {
+        if (comparator instanceof ColumnSortKey) {
+            return new ReversedColumnSortKey<>((ColumnSortKey<T>) comparator);
+        }
+        return Collections.reverseOrder(comparator);
+    }
+
+    /**
+     * Creates {@link PrimitiveKeys} for the given {@code int} sort keys, which are indexed by the data index.
+     * The given array is not modified.
+     *
+     * @param keys
+     *         The sort keys of all rows.
+     * @return The {@link PrimitiveKeys} using the given sort keys.
+     */
+    static PrimitiveKeys forIntKeys(final int[] keys) {
+        return new IntKeys(keys);
+    }
+
+    /**
+     * Creates {@link PrimitiveKeys} for the given {@code long} sort keys, which are indexed by the data index.
+     * The given array is not modified.
+     *
+     * @param keys
+     *         The sort keys of all rows.
+     * @return The {@link PrimitiveKeys} using the given sort keys.
+     */
+    static PrimitiveKeys forLongKeys(final long[] keys) {
+        return new LongKeys(keys);
+    }
+
+    /**
+     * Extracts the sort keys of all given rows and gives a {@link RowIndexComparator} that compares
+     * the rows by the extracted keys. For primitive keys the returned comparator is a {@link PrimitiveKeys}.
+     * Later changes of the data are not reflected by the returned {@link RowIndexComparator}.
+     *
+     * @param data
+     *         The data of the rows to extract the sort keys from.
+     * @return A {@link RowIndexComparator} comparing the rows by the extracted sort keys.
+     */
+    public abstract RowIndexComparator extractKeys(final List<T> data);
+
+
+    private static <K extends Comparable<? super K>> int compareKeys(final K key1, final K key2) {
+        if (key1 == null) {
+            return key2 == null ? 0 : -1;
+        } else if (key2 == null) {
+            return 1;
+        }
+        return key1.compareTo(key2);
+    }
+
+    private static int compareKeys(final int key1, final int key2) {
+        return key1 < key2 ? -1 : (key1 == key2 ? 0 : 1);
+    }
+
+    private static int compareKeys(final long key1, final long key2) {
+        return key1 < key2 ? -1 : (key1 == key2 ? 0 : 1);
+    }
+
+
+    private static class ObjectColumnSortKey<T, K extends Comparable<? super K>> extends ColumnSortKey<T> {
+
+        private final KeyExtractor<T, K> keyExtractor;
+
+        public ObjectColumnSortKey(final KeyExtractor<T, K> keyExtractor) {
+            this.keyExtractor = keyExtractor;
+        }
+
+        @Override
+        public int compare(final T rowData1, final T rowData2) {
+            return compareKeys(keyExtractor.getKey(rowData1), keyExtractor.getKey(rowData2));
+        }
+
+        @Override
+        public RowIndexComparator extractKeys(final List<T> data) {
+            final Object[] keys = new Object[data.size()];
+            for (int dataIndex = 0; dataIndex < keys.length; dataIndex++) {
+                keys[dataIndex] = keyExtractor.getKey(data.get(dataIndex));
+            }
+
+            return new RowIndexComparator() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public int compare(final int dataIndex1, final int dataIndex2) {
+                    return compareKeys((K) keys[dataIndex1], (K) keys[dataIndex2]);
+                }
+            };
+        }
+    }
+
+    private static class IntColumnSortKey<T> extends ColumnSortKey<T> {
+
+        private final IntKeyExtractor<T> keyExtractor;
+
+        public IntColumnSortKey(final IntKeyExtractor<T> keyExtractor) {
+            this.keyExtractor = keyExtractor;
+        }
+
+        @Override
+        public int compare(final T rowData1, final T rowData2) {
+            return compareKeys(keyExtractor.getKey(rowData1), keyExtractor.getKey(rowData2));
+        }
+
+        @Override
+        public RowIndexComparator extractKeys(final List<T> data) {
+            final int[] keys = new int[data.size()];
+            for (int dataIndex = 0; dataIndex < keys.length; dataIndex++) {
+                keys[dataIndex] = keyExtractor.getKey(data.get(dataIndex));
+            }
+            return new IntKeys(keys);
+        }
+    }
+
+    private static class LongColumnSortKey<T> extends ColumnSortKey<T> {
+
+        private final LongKeyExtractor<T> keyExtractor;
+
+        public LongColumnSortKey(final LongKeyExtractor<T> keyExtractor) {
+            this.keyExtractor = keyExtractor;
+        }
+
+        @Override
+        public int compare(final T rowData1, final T rowData2) {
+            return compareKeys(keyExtractor.getKey(rowData1), keyExtractor.getKey(rowData2));
+        }
+
+        @Override
+        public RowIndexComparator extractKeys(final List<T> data) {
+            final long[] keys = new long[data.size()];
+            for (int dataIndex = 0; dataIndex < keys.length; dataIndex++) {
+                keys[dataIndex] = keyExtractor.getKey(data.get(dataIndex));
+            }
+            return new LongKeys(keys);
+        }
+    }
+
+    private static class DoubleColumnSortKey<T> extends ColumnSortKey<T> {
+
+        private final DoubleKeyExtractor<T> keyExtractor;
+
+        public DoubleColumnSortKey(final DoubleKeyExtractor<T> keyExtractor) {
+            this.keyExtractor = keyExtractor;
+        }
+
+        @Override
+        public int compare(final T rowData1, final T rowData2) {
+            return Double.compare(keyExtractor.getKey(rowData1), keyExtractor.getKey(rowData2));
+        }
+
+        @Override
+        public RowIndexComparator extractKeys(final List<T> data) {
+            final long[] keys = new long[data.size()];
+            for (int dataIndex = 0; dataIndex < keys.length; dataIndex++) {
+                keys[dataIndex] = PrimitiveKeySorter.toSortableLong(keyExtractor.getKey(data.get(dataIndex)));
+            }
+            return new LongKeys(keys);
+        }
+    }
+
+
+    private static class CompositeColumnSortKey<T> extends ColumnSortKey<T> {
+
+        private final List<Comparator<T>> keyComparators;
+
+        public CompositeColumnSortKey(final List<Comparator<T>> keyComparators) {
+            this.keyComparators = keyComparators;
+        }
+
+        @Override
+        public int compare(final T rowData1, final T rowData2) {
+            for (final Comparator<T> keyComparator : keyComparators) {
+                final int result = keyComparator.compare(rowData1, rowData2);
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public RowIndexComparator extractKeys(final List<T> data) {
+            final RowIndexComparator[] keyRowComparators = new RowIndexComparator[keyComparators.size()];
+            for (int keyIndex = 0; keyIndex < keyRowComparators.length; keyIndex++) {
+                final Comparator<T> keyComparator = keyComparators.get(keyIndex);
+                if (keyComparator instanceof ColumnSortKey) {
+                    keyRowComparators[keyIndex] = ((ColumnSortKey<T>) keyComparator).extractKeys(data);
+                } else {
+                    keyRowComparators[keyIndex] = RowIndexSorter.forComparator(data, keyComparator);
+                }
+            }
+
+            return new RowIndexComparator() {
+                @Override
+                public int compare(final int dataIndex1, final int dataIndex2) {
+                    for (final RowIndexComparator keyRowComparator : keyRowComparators) {
+                        final int result = keyRowComparator.compare(dataIndex1, dataIndex2);
+                        if (result != 0) {
+                            return result;
+                        }
+                    }
+                    return 0;
+                }
+            };
+        }
+    }
+
+    private static class ReversedColumnSortKey<T> extends ColumnSortKey<T> {
+
+        private final ColumnSortKey<T> sortKey;
+
+        public ReversedColumnSortKey(final ColumnSortKey<T> sortKey) {
+            this.sortKey = sortKey;
+        }
+
+        @Override
+        public int compare(final T rowData1, final T rowData2) {
+            return sortKey.compare(rowData2, rowData1);
+        }
+
+        @Override
+        public RowIndexComparator extractKeys(final List<T> data) {
+            final RowIndexComparator rowComparator = sortKey.extractKeys(data);
+            return new RowIndexComparator() {
+                @Override
+                public int compare(final int dataIndex1, final int dataIndex2) {
+                    return rowComparator.compare(dataIndex2, dataIndex1);
+                }
+            };
+        }
+    }
+
+
+    /**
+     * The primitive sort keys of all rows, extracted into an array that is indexed by the data index.
+     *
+     * @author ISchwarz
+     */
+    abstract static class PrimitiveKeys implements RowIndexComparator {
+
+        /**
+         * Gives the row indices sorted ascending by the extracted keys. Rows with equal keys are ordered
+         * by their data index. The keys are sorted together with the row indices, the comparator is not used.
+         *
+         * @return A new array containing the sorted row indices.
+         */
+        public abstract int[] sortRowIndices();
+    }
+
+    private static class IntKeys extends PrimitiveKeys {
+
+        private final int[] keys;
+
+        public IntKeys(final int[] keys) {
+            this.keys = keys;
+        }
+
+        @Override
+        public int compare(final int dataIndex1, final int dataIndex2) {
+            return compareKeys(keys[dataIndex1], keys[dataIndex2]);
+        }
+
+        @Override
+        public int[] sortRowIndices() {
+            final int[] rowIndices = RowIndexSorter.identity(keys.length);
+            PrimitiveKeySorter.sort(keys.clone(), rowIndices);
+            return rowIndices;
+        }
+    }
+
+    private static class LongKeys extends PrimitiveKeys {
+
+        private final long[] keys;
+
+        public LongKeys(final long[] keys) {
+            this.keys = keys;
+        }
+
+        @Override
+        public int compare(final int dataIndex1, final int dataIndex2) {
+            return compareKeys(keys[dataIndex1], keys[dataIndex2]);
+        }
+
+        @Override
+        public int[] sortRowIndices() {
+            final int[] rowIndices = RowIndexSorter.identity(keys.length);
+            PrimitiveKeySorter.sort(keys.clone(), rowIndices);
+            return rowIndices;
+        }
+    }
+
+}
@@ -0,0 +1,207 @@
+package de.codecrafters.tableview;
+
+
+/**
+ * The horizontal viewport of a table. If horizontal scrolling is enabled, every column weight takes a fixed
+ * number of pixels, so the columns may be wider than the table. In this case only the columns that intersect
+ * the visible part of the table (extended by a small overscan) are bound to the rows, like a ListView does
+ * for the rows. The leading columns can be frozen, so they stay in place while the other columns are
+ * scrolled. The viewport is shared by the table, its header and its data adapter.
+ *
+ * @author ISchwarz
+ */
+class ColumnViewport {
+
+    private static final int COLUMN_OVERSCAN = 2;
+
+    private boolean horizontalScrollingEnabled;
+    private int columnWeightWidth;
+    private int scrollOffset;
+    private int frozenColumnCount;
+
+
+    /**
+     * Creates a new ColumnViewport with horizontal scrolling disabled.
+     *
+     * @param columnWeightWidth
+     *         The width in pixels a column weight of 1 takes if horizontal scrolling is enabled.
+     */
+    public ColumnViewport(final int columnWeightWidth) {
+        this.columnWeightWidth = columnWeightWidth;
+    }
+
+    /**
+     * Enables or disables horizontal scrolling. Disabling horizontal scrolling resets the scroll offset.
+     *
+     * @param enabled
+     *         True if the columns shall be scrollable horizontally, else false.
+     */
+    public void setHorizontalScrollingEnabled(final boolean enabled) {
+        horizontalScrollingEnabled = enabled;
+        if (!enabled) {
+            scrollOffset = 0;
+        }
+    }
+
+    /**
+     * Checks whether horizontal scrolling is enabled.
+     *
+     * @return True if the columns are scrollable horizontally, else false.
+     */
+    public boolean isHorizontalScrollingEnabled() {
+        return horizontalScrollingEnabled;
+    }
+
+    /**
+     * Sets the width in pixels a column weight of 1 takes if horizontal scrolling is enabled.
+     *
+     * @param columnWeightWidth
+     *         The width of a column weight in pixels.
+     */
+    public void setColumnWeightWidth(final int columnWeightWidth) {
+        this.columnWeightWidth = columnWeightWidth;
+    }
+
+    /**
+     * Gives the width in pixels a column weight of 1 takes if horizontal scrolling is enabled.
+     *
+     * @return The width of a column weight in pixels.
+     */
+    public int getColumnWeightWidth() {
+        return columnWeightWidth;
+    }
+
+    /**
+     * Sets the number of leading columns that shall not be scrolled horizontally.
+     *
+     * @param frozenColumnCount
+     *         The number of frozen columns.
+     */
+    public void setFrozenColumnCount(final int frozenColumnCount) {
+        this.frozenColumnCount = frozenColumnCount;
+    }
+
+    /**
+     * Gives the number of leading columns that shall not be scrolled horizontally.
+     *
+     * @return The number of frozen columns.
+     */
+    public int getFrozenColumnCount() {
+        return frozenColumnCount;
+    }
+
+    /**
+     * Gives the number of leading columns of the given column layout that are currently frozen.
+     *
+     * @param columnLayout
+     *         The {@link ColumnLayout} created for the content width.
+     * @return The number of frozen columns or 0 if horizontal scrolling is disabled.
+     */
+    public int getFrozenColumnCount(final ColumnLayout columnLayout) {
+        return horizontalScrollingEnabled ? Math.min(frozenColumnCount, columnLayout.getColumnCount()) : 0;
+    }
+
+    /**
+     * Sets the horizontal scroll offset. The offset is not clamped, this is done by the table.
+     *
+     * @param scrollOffset
+     *         The horizontal scroll offset in pixels.
+     */
+    public void setScrollOffset(final int scrollOffset) {
+        this.scrollOffset = scrollOffset;
+    }
+
+    /**
+     * Gives the current horizontal scroll offset.
+     *
+     * @return The horizontal scroll offset in pixels or 0 if horizontal scrolling is disabled.
+     */
+    public int getScrollOffset() {
+        return horizontalScrollingEnabled ? scrollOffset : 0;
+    }
+
+    /**
+     * Gives the width all columns together take for the given viewport width. If horizontal scrolling is
+     * disabled this is the viewport width, otherwise the columns are at least as wide as the viewport.
+     *
+     * @param columnModel
+     *         The {@link TableColumnModel} containing the column weights.
+     * @param viewportWidth
+     *         The visible width of the table in pixels.
+     * @return The width of all columns in pixels.
+     */
+    public int getContentWidth(final TableColumnModel columnModel, final int viewportWidth) {
+        if (!horizontalScrollingEnabled) {
+            return viewportWidth;
+        }
+        final long contentWidth = (long) columnModel.getColumnWeightSum() * columnWeightWidth;
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(viewportWidth, contentWidth));
+    }
+
+    /**
+     * Gives the maximum scroll offset for the given column layout and viewport width.
+     *
+     * @param columnLayout
+     *         The {@link ColumnLayout} created for the content width.
+     * @param viewportWidth
+     *         The visible width of the table in pixels.
+     * @return The maximum horizontal scroll offset in pixels.
+     */
+    public int getMaxScrollOffset(final ColumnLayout columnLayout, final int viewportWidth) {
+        return Math.max(0, columnLayout.getTableWidth() - viewportWidth);
+    }
+
+    /**
+     * Gives the index of the first scrolled column that is visible at the current scroll offset. Frozen
+     * columns are not taken into account, as they are always visible.
+     *
+     * @param columnLayout
+     *         The {@link ColumnLayout} created for the content width.
+     * @return The index of the first visible column that is not frozen.
+     */
+    public int getFirstVisibleColumn(final ColumnLayout columnLayout) {
+        final int frozenColumnCount = getFrozenColumnCount(columnLayout);
+        final int frozenWidth = columnLayout.getColumnPosition(frozenColumnCount);
+        return Math.max(frozenColumnCount, columnLayout.getColumnAt(getScrollOffset() + frozenWidth));
+    }
+
+    /**
+     * Gives the index of the last column that is visible at the current scroll offset.
+     *
+     * @param columnLayout
+     *         The {@link ColumnLayout} created for the content width.
+     * @param viewportWidth
+     *         The visible width of the table in pixels.
+     * @return The index of the last visible column.
+     */
+    public int getLastVisibleColumn(final ColumnLayout columnLayout, final int viewportWidth) {
+        return columnLayout.getColumnAt(getScrollOffset() + viewportWidth - 1);
+    }
+
+    /**
+     * Gives the index of the first scrolled column that shall be bound at the current scroll offset. This
+     * is the first visible column minus the overscan. Frozen columns are always bound in addition.
+     *
+     * @param columnLayout
+     *         The {@link ColumnLayout} created for the content width.
+     * @return The index of the first column to bind.
+     */
+    public int getFirstBoundColumn(final ColumnLayout columnLayout) {
+        return Math.max(getFrozenColumnCount(columnLayout), getFirstVisibleColumn(columnLayout) - COLUMN_OVERSCAN);
+    }
+
+    /**
+     * Gives the index of the last column that shall be bound at the current scroll offset. This is the
+     * last visible column plus the overscan.
+     *
+     * @param columnLayout
+     *         The {@link ColumnLayout} created for the content width.
+     * @param viewportWidth
+     *         The visible width of the table in pixels.
+     * @return The index of the last column to bind.
+     */
+    public int getLastBoundColumn(final ColumnLayout columnLayout, final int viewportWidth) {
+        return Math.min(columnLayout.getColumnCount() - 1, getLastVisibleColumn(columnLayout, viewportWidth) + COLUMN_OVERSCAN);
+    }
+
+}
@@ -0,0 +1,531 @@
+package de.codecrafters.tableview;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.Format;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.WeakHashMap;
+
+
+/**
+ * Read-only table data that is stored column by column instead of row by row. Every numeric column is a
+ * single primitive array, every string column is a pool of its distinct strings plus one {@code int} code
+ * per row. So a table of a million numeric cells needs no objects per cell at all. The texts of the cells
+ * are formatted lazily when they are displayed and the most recently formatted texts are cached.
+ * The data can be displayed using the {@link de.codecrafters.tableview.toolkit.SimpleTableDataAdapter},
+ * which then gives every row as {@code String[]}, and sorted by primitive keys using the comparators given
+ * by {@link #getColumnComparator(int)}.
+ * Large read-only data can be written to a table file once using {@link #writeTo(File, boolean)} and then
+ * be mapped into memory using {@link #map(File)}. Mapped data is read directly from the file, so it is
+ * available almost instantly and its heap usage does not depend on the number of rows.
+ *
+ * @author ISchwarz
+ */
+public final class ColumnarTableData {
+
+    private static final int DEFAULT_TEXT_CACHE_SIZE = 256;
+
+    private final int rowCount;
+    private final Column[] columns;
+    private final Format[] formats;
+    private final RowList rows = new RowList();
+    private long[] cachedCells;
+    private String[] cachedTexts;
+
+
+    /**
+     * Creates a new ColumnarTableData. All columns are string columns containing null, until their
+     * values are set.
+     *
+     * @param rowCount
+     *         The number of rows.
+     * @param columnCount
+     *         The number of columns.
+     */
+    public ColumnarTableData(final int rowCount, final int columnCount) {
+        this(rowCount, new Column[columnCount]);
+        for (int columnIndex = 0; columnIndex < columnCount; columnIndex++) {
+            columns[columnIndex] = new StringColumn(new String[rowCount]);
+        }
+    }
+
+    private ColumnarTableData(final int rowCount, final Column[] columns) {
+        this.rowCount = rowCount;
+        this.columns = columns;
+        this.formats = new Format[columns.length];
+        setTextCacheSize(DEFAULT_TEXT_CACHE_SIZE);
+    }
+
+    /**
+     * Maps the table file at the given path into memory. The values are read from the mapped file when they
+     * are displayed or sorted, so mapping is done almost instantly and the heap usage does not depend on the
+     * number of rows. Sort orders stored in the file are used instead of sorting the rows. The formats of
+     * the columns are not stored in the file, so they have to be set again using
+     * {@link #setColumnFormat(int, Format)}.
+     *
+     * @param file
+     *         The table file that was written using {@link #writeTo(File, boolean)}.
+     * @return The ColumnarTableData reading its values from the given file.
+     * @throws IOException
+     *         If the file can not be read or is not a valid table file.
+     */
+    public static ColumnarTableData map(final File file) throws IOException {
+        final TableFile tableFile = TableFile.map(file);
+        return new ColumnarTableData(tableFile.getRowCount(), tableFile.getColumns());
+    }
+
+    /**
+     * Sets the values of the column at the given index. The texts are given by {@link String#valueOf(int)}.
+     *
+     * @param columnIndex
+     *         The index of the column.
+     * @param values
+     *         The values of all rows. The array is used directly and must not be changed afterwards.
+     */
+    public void setIntColumn(final int columnIndex, final int[] values) {
+        setIntColumn(columnIndex, values, null);
+    }
+
+    /**
+     * Sets the values of the column at the given index. The texts are formatted using the given {@link Format}.
+     *
+     * @param columnIndex
+     *         The index of the column.
+     * @param values
+     *         The values of all rows. The array is used directly and must not be changed afterwards.
+     * @param format
+     *         The {@link Format} that shall be used to format the values or null.
+     */
+    public void setIntColumn(final int columnIndex, final int[] values, final Format format) {
+        checkRowCount(values.length);
+        setColumn(columnIndex, new IntColumn(values), format);
+    }
+
+    /**
+     * Sets the values of the column at the given index. The texts are given by {@link String#valueOf(long)}.
+     *
+     * @param columnIndex
+     *         The index of the column.
+     * @param values
+     *         The values of all rows. The array is used directly and must not be changed afterwards.
+     */
+    public void setLongColumn(final int columnIndex, final long[] values) {
+        setLongColumn(columnIndex, values, null);
+    }
+
+    /**
+     * Sets the values of the column at the given index. The texts are formatted using the given {@link Format}.
+     *
+     * @param columnIndex
+     *         The index of the column.
+     * @param values
+     *         The values of all rows. The array is used directly and must not be changed afterwards.
+     * @param format
+     *         The {@link Format} that shall be used to format the values or null.
+     */
+    public void setLongColumn(final int columnIndex, final long[] values, final Format format) {
+        checkRowCount(values.length);
+        setColumn(columnIndex, new LongColumn(values), format);
+    }
+
+    /**
+     * Sets the values of the column at the given index. The texts are given by {@link String#valueOf(double)}.
+     *
+     * @param columnIndex
+     *         The index of the column.
+     * @param values
+     *         The values of all rows. The array is used directly and must not be changed afterwards.
+     */
+    public void setDoubleColumn(final int columnIndex, final double[] values) {
+        setDoubleColumn(columnIndex, values, null);
+    }
+
+    /**
+     * Sets the values of the column at the given index. The texts are formatted using the given {@link Format}.
+     *
+     * @param columnIndex
+     *         The index of the column.
+     * @param values
+     *         The values of all rows. The array is used directly and must not be changed afterwards.
+     * @param format
+     *         The {@link Format} that shall be used to format the values or null.
+     */
+    public void setDoubleColumn(final int columnIndex, final double[] values, final Format format) {
+        checkRowCount(values.length);
+        setColumn(columnIndex, new DoubleColumn(values), format);
+    }
+
+    /**
+     * Sets the values of the column at the given index. Equal strings are stored only once, so the given
+     * array is not kept.
+     *
+     * @param columnIndex
+     *         The index of the column.
+     * @param values
+     *         The values of all rows. Null values are allowed.
+     */
+    public void setStringColumn(final int columnIndex, final String[] values) {
+        checkRowCount(values.length);
+        setColumn(columnIndex, new StringColumn(values), null);
+    }
+
+    /**
+     * Sets the {@link Format} that shall be used to format the values of the numeric column at the given
+     * index. The format of a string column is ignored.
+     *
+     * @param columnIndex
+     *         The index of the column.
+     * @param format
+     *         The {@link Format} that shall be used to format the values or null.
+     */
+    public void setColumnFormat(final int columnIndex, final Format format) {
+        setColumn(columnIndex, columns[columnIndex], format);
+    }
+
+    /**
+     * Writes this data to a table file, which can be mapped into memory using {@link #map(File)}. The
+     * formats of the columns are not written. Data that is mapped itself can not be written again.
+     *
+     * @param file
+     *         The file that shall be written. An existing file is overwritten.
+     * @param withSortOrders
+     *         True if the ascending sort order of every column shall be stored in the file, so mapped data
+     *         can be sorted without comparing any rows. This needs four additional bytes per cell.
+     * @throws IOException
+     *         If the file can not be written or the data is too large to be mapped.
+     */
+    public void writeTo(final File file, final boolean withSortOrders) throws IOException {
+        TableFile.write(file, rowCount, columns, withSortOrders);
+    }
+
+    /**
+     * Sets the number of formatted texts that are cached. The texts of the cells are formatted when they
+     * are displayed, so the cache should be able to hold the texts of the visible cells.
+     *
+     * @param textCacheSize
+     *         The number of cached texts.
+     */
+    public void setTextCacheSize(final int textCacheSize) {
+        cachedCells = new long[Math.max(1, textCacheSize)];
+        Arrays.fill(cachedCells, -1);
+        cachedTexts = new String[cachedCells.length];
+    }
+
+    /**
+     * Gives the number of rows.
+     *
+     * @return The number of rows.
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Gives the number of columns.
+     *
+     * @return The number of columns.
+     */
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    /**
+     * Gives the text of the cell with the given data index and column index. Numeric values are formatted
+     * on the first call and then taken from the text cache until they are displaced. This method must only
+     * be called on the main thread.
+     *
+     * @param dataIndex
+     *         The data index of the row of the cell.
+     * @param columnIndex
+     *         The index of the column of the cell.
+     * @return The text of the given cell.
+     */
+    public String getCellText(final int dataIndex, final int columnIndex) {
+        final Column column = columns[columnIndex];
+        if (column instanceof StringColumn) {
+            return column.getText(dataIndex, null);
+        }
+        if (dataIndex < 0 || dataIndex >= rowCount) {
+            throw new IndexOutOfBoundsException("Invalid data index " + dataIndex + ", size is " + rowCount);
+        }
+
+        final long cell = (long) dataIndex * columns.length + columnIndex;
+        final int cacheIndex = (int) (((cell ^ (cell >>> 32)) * 0x9E3779B9L >>> 1) % cachedCells.length);
+        if (cachedCells[cacheIndex] != cell) {
+            cachedCells[cacheIndex] = cell;
+            cachedTexts[cacheIndex] = column.getText(dataIndex, formats[columnIndex]);
+        }
+        return cachedTexts[cacheIndex];
+    }
+
+    /**
+     * Gives the rows of this data as read-only list. Every row is formatted into a new {@code String[]}
+     * when it is read, so this list is only meant for occasional access (e.g. by a click listener).
+     *
+     * @return The rows of this data.
+     */
+    public List<String[]> getRows() {
+        return rows;
+    }
+
+    /**
+     * Gives a {@link Comparator} for the column at the given index, that can be set to a
+     * {@link SortableTableView} using {@link SortableTableView#setColumnComparator(int, Comparator)}. The
+     * column is sorted by its primitive values, or by the position of its strings in the sorted string
+     * pool, without formatting any row. It can only be used to sort the rows of this data. It can also
+     * compare the rows read from {@link #getRows()} directly, e.g. using {@code Collections.sort()}.
+     *
+     * @param columnIndex
+     *         The index of the column.
+     * @return The {@link Comparator} for the given column.
+     */
+    public Comparator<String[]> getColumnComparator(final int columnIndex) {
+        return new ColumnarColumnSortKey(columnIndex);
+    }
+
+    /**
+     * Checks whether the given list is the row list of a ColumnarTableData. Such a list can not change,
+     * so there is no need to copy it.
+     *
+     * @param data
+     *         The list to check.
+     * @return True if the given list is the row list of a ColumnarTableData, else false.
+     */
+    static boolean isRowList(final List<?> data) {
+        return data instanceof RowList;
+    }
+
+    private void setColumn(final int columnIndex, final Column column, final Format format) {
+        columns[columnIndex] = column;
+        formats[columnIndex] = format;
+        Arrays.fill(cachedCells, -1);
+        Arrays.fill(cachedTexts, null);
+    }
+
+    private void checkRowCount(final int valueCount) {
+        if (valueCount != rowCount) {
+            throw new IllegalArgumentException("Got " + valueCount + " values for " + rowCount + " rows.");
+        }
+    }
+
+    static String format(final Format format, final Object value) {
+        synchronized (format) {
+            return format.format(value);
+        }
+    }
+
+
+    /**
+     * A column of the table, storing the values of all rows.
+     *
+     * @author ISchwarz
+     */
+    abstract static class Column {
+
+        /**
+         * Gives the text of the value of the given row, formatted using the given format if it is not null.
+         * This method is thread safe.
+         */
+        public abstract String getText(final int dataIndex, final Format format);
+
+        /**
+         * Gives the sort keys of all rows. The returned keys must not be modified.
+         */
+        public abstract ColumnSortKey.PrimitiveKeys getSortKeys();
+    }
+
+    static class IntColumn extends Column {
+
+        final int[] values;
+
+        public IntColumn(final int[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public String getText(final int dataIndex, final Format format) {
+            return format != null ? format(format, values[dataIndex]) : String.valueOf(values[dataIndex]);
+        }
+
+        @Override
+        public ColumnSortKey.PrimitiveKeys getSortKeys() {
+            return ColumnSortKey.forIntKeys(values);
+        }
+    }
+
+    static class LongColumn extends Column {
+
+        final long[] values;
+
+        public LongColumn(final long[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public String getText(final int dataIndex, final Format format) {
+            return format != null ? format(format, values[dataIndex]) : String.valueOf(values[dataIndex]);
+        }
+
+        @Override
+        public ColumnSortKey.PrimitiveKeys getSortKeys() {
+            return ColumnSortKey.forLongKeys(values);
+        }
+    }
+
+    static class DoubleColumn extends Column {
+
+        final double[] values;
+
+        public DoubleColumn(final double[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public String getText(final int dataIndex, final Format format) {
+            return format != null ? format(format, values[dataIndex]) : String.valueOf(values[dataIndex]);
+        }
+
+        @Override
+        public ColumnSortKey.PrimitiveKeys getSortKeys() {
+            final long[] keys = new long[values.length];
+            for (int dataIndex = 0; dataIndex < keys.length; dataIndex++) {
+                keys[dataIndex] = PrimitiveKeySorter.toSortableLong(values[dataIndex]);
+            }
+            return ColumnSortKey.forLongKeys(keys);
+        }
+    }
+
+    /**
+     * A column of strings. The distinct strings are kept sorted in a pool and every row stores the position
+     * of its string in this pool, so the positions can be used as sort keys. Null is stored as -1.
+     *
+     * @author ISchwarz
+     */
+    static class StringColumn extends Column {
+
+        final String[] pool;
+        final int[] codes;
+
+        public StringColumn(final String[] values) {
+            final TreeSet<String> distinctValues = new TreeSet<>();
+            for (final String value : values) {
+                if (value != null) {
+                    distinctValues.add(value);
+                }
+            }
+            pool = distinctValues.toArray(new String[distinctValues.size()]);
+
+            final Map<String, Integer> poolIndices = new HashMap<>();
+            for (int poolIndex = 0; poolIndex < pool.length; poolIndex++) {
+                poolIndices.put(pool[poolIndex], poolIndex);
+            }
+            codes = new int[values.length];
+            for (int dataIndex = 0; dataIndex < values.length; dataIndex++) {
+                codes[dataIndex] = values[dataIndex] != null ? poolIndices.get(values[dataIndex]) : -1;
+            }
+        }
+
+        @Override
+        public String getText(final int dataIndex, final Format format) {
+            final int code = codes[dataIndex];
+            return code >= 0 ? pool[code] : null;
+        }
+
+        @Override
+        public ColumnSortKey.PrimitiveKeys getSortKeys() {
+            return ColumnSortKey.forIntKeys(codes);
+        }
+    }
+
+    /**
+     * The rows of the table as {@code String[]}, formatted when they are read.
+     *
+     * @author ISchwarz
+     */
+    private class RowList extends AbstractList<String[]> {
+
+        private final Map<String[], Integer> dataIndices = Collections.synchronizedMap(new WeakHashMap<String[], Integer>());
+
+        @Override
+        public int size() {
+            return rowCount;
+        }
+
+        @Override
+        public String[] get(final int dataIndex) {
+            if (dataIndex < 0 || dataIndex >= rowCount) {
+                throw new IndexOutOfBoundsException("Invalid data index " + dataIndex + ", size is " + rowCount);
+            }
+            final String[] row = new String[columns.length];
+            for (int columnIndex = 0; columnIndex < row.length; columnIndex++) {
+                row[columnIndex] = columns[columnIndex].getText(dataIndex, formats[columnIndex]);
+            }
+            dataIndices.put(row, dataIndex);
+            return row;
+        }
+
+        /**
+         * Gives the data index of the given row, which has to be read from this list. Arrays are compared
+         * by identity, so every row read is found as long as it is referenced.
+         */
+        public int getDataIndex(final String[] row) {
+            final Integer dataIndex = dataIndices.get(row);
+            if (dataIndex == null) {
+                throw new IllegalArgumentException("The given row does not belong to this ColumnarTableData.");
+            }
+            return dataIndex;
+        }
+    }
+
+    /**
+     * The sort key of a column of a ColumnarTableData. The sort keys are not extracted from the rows, but
+     * taken directly from the column. Two rows are compared by the keys of their data indices, as the
+     * formatted texts of the rows can not be compared reliably.
+     *
+     * @author ISchwarz
+     */
+    private class ColumnarColumnSortKey extends ColumnSortKey<String[]> {
+
+        private final int columnIndex;
+        private Column sortKeyColumn;
+        private ColumnSortKey.PrimitiveKeys sortKeys;
+
+        public ColumnarColumnSortKey(final int columnIndex) {
+            this.columnIndex = columnIndex;
+        }
+
+        @Override
+        public int compare(final String[] rowData1, final String[] rowData2) {
+            return getSortKeys().compare(rows.getDataIndex(rowData1), rows.getDataIndex(rowData2));
+        }
+
+        /**
+         * Gives the sort keys of the column. They are kept until the column is replaced, as the sort keys of
+         * some columns are created when requested.
+         */
+        private synchronized ColumnSortKey.PrimitiveKeys getSortKeys() {
+            final Column column = columns[columnIndex];
+            if (column != sortKeyColumn) {
+                sortKeyColumn = column;
+                sortKeys = column.getSortKeys();
+            }
+            return sortKeys;
+        }
+
+        @Override
+        public RowIndexComparator extractKeys(final List<String[]> data) {
+            if (data != rows) {
+                throw new IllegalArgumentException("The given rows do not belong to this ColumnarTableData.");
+            }
+            return columns[columnIndex].getSortKeys();
+        }
+    }
+
+}
@@ -0,0 +1,260 @@
+package de.codecrafters.tableview;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.util.Log;
+
+import java.util.AbstractList;
+import java.util.concurrent.Executor;
+
+import de.codecrafters.tableview.providers.TableCursorSource;
+
+
+/**
+ * The abstract implementation of an adapter that brings the rows of a {@link Cursor} to a {@link TableView}.
+ * The rows are read directly from the cursor when they are bound, so they are never loaded into memory
+ * as a whole. The data object of a row is the cursor itself, moved to the position of the row, like in a
+ * {@link android.widget.CursorAdapter}. So {@code getRowData()} has to be called again for every row and
+ * the returned cursor must not be kept.
+ * The cursor is queried from a {@link TableCursorSource} on a background thread. A {@link SortableTableView}
+ * sorts the rows by the database, using the ORDER BY terms that are set to its columns using
+ * {@link SortableTableView#setColumnOrderBy(int, String)}. The data of a cursor adapter can not be mutated
+ * using {@code addRow()}, {@code updateRow()} or {@code removeRow()}, call {@code refresh()} if the data
+ * of the database has changed instead.
+ *
+ * @author ISchwarz
+ */
+public abstract class CursorTableDataAdapter extends TableDataAdapter<Cursor> {
+
+    private static final String LOG_TAG = CursorTableDataAdapter.class.getName();
+
+    private final TableCursorSource cursorSource;
+    private final CursorDataList cursorData;
+    private final Executor resultExecutor;
+    private Executor queryExecutor;
+    private String orderBy;
+    private int queryGeneration;
+    private boolean queryPending;
+
+
+    /**
+     * Creates a new CursorTableDataAdapter. The rows are queried from the given {@link TableCursorSource}
+     * in their natural order right away.
+     *
+     * @param context
+     *         The context that shall be used.
+     * @param cursorSource
+     *         The {@link TableCursorSource} the rows shall be queried from.
+     */
+    public CursorTableDataAdapter(final Context context, final TableCursorSource cursorSource) {
+        this(context, cursorSource, PagedTableDataAdapter.getDefaultLoadingExecutor(), new PagedTableDataAdapter.MainThreadExecutor());
+    }
+
+    /**
+     * Creates a new CursorTableDataAdapter. (internally used)
+     *
+     * @param context
+     *         The context that shall be used.
+     * @param cursorSource
+     *         The {@link TableCursorSource} the rows shall be queried from.
+     * @param queryExecutor
+     *         The {@link Executor} the cursor source is queried on.
+     * @param resultExecutor
+     *         The {@link Executor} the queried cursor is handed over to this adapter on (the main thread).
+     */
+    CursorTableDataAdapter(final Context context, final TableCursorSource cursorSource, final Executor queryExecutor,
+                           final Executor resultExecutor) {
+        this(context, cursorSource, new CursorDataList(), queryExecutor, resultExecutor);
+    }
+
+    private CursorTableDataAdapter(final Context context, final TableCursorSource cursorSource, final CursorDataList cursorData,
+                                   final Executor queryExecutor, final Executor resultExecutor) {
+        super(context, cursorData);
+        this.cursorSource = cursorSource;
+        this.cursorData = cursorData;
+        this.queryExecutor = queryExecutor;
+        this.resultExecutor = resultExecutor;
+        query(null, null);
+    }
+
+    /**
+     * Gives the {@link Cursor} that is currently displayed.
+     *
+     * @return The displayed {@link Cursor} or null if the first query is not done yet.
+     */
+    public Cursor getCursor() {
+        return cursorData.cursor;
+    }
+
+    /**
+     * Gives the SQL ORDER BY clause of the displayed rows.
+     *
+     * @return The ORDER BY clause (without the keywords ORDER BY) or null if the rows are displayed in their
+     * natural order.
+     */
+    public String getOrderBy() {
+        return orderBy;
+    }
+
+    /**
+     * Queries the rows again in the given order on a background thread. The displayed cursor is replaced and
+     * closed as soon as the query is done. If a table is sorted by a {@link SortableTableView}, the order is
+     * managed by the table, so this method shall not be called.
+     *
+     * @param orderBy
+     *         The SQL ORDER BY clause (without the keywords ORDER BY) or null to display the rows in their
+     *         natural order.
+     */
+    public void setOrderBy(final String orderBy) {
+        query(orderBy, null);
+    }
+
+    /**
+     * Queries the rows again in the current order on a background thread. Call this method if the data of
+     * the database has changed.
+     */
+    public void refresh() {
+        query(orderBy, null);
+    }
+
+    /**
+     * Closes the displayed cursor and drops the results of all pending queries. Call this method if the
+     * table is not used anymore.
+     */
+    public void close() {
+        queryGeneration++;
+        queryPending = false;
+        swapCursor(null);
+        notifyDataSetInvalidated();
+    }
+
+    /**
+     * Sets the {@link Executor} that shall be used to query the {@link TableCursorSource}. By default a
+     * single background thread shared by all adapters that load their data in the background is used.
+     *
+     * @param queryExecutor
+     *         The {@link Executor} that shall be used to query the rows.
+     */
+    public void setQueryExecutor(final Executor queryExecutor) {
+        this.queryExecutor = queryExecutor;
+    }
+
+    /**
+     * Queries the rows in the given order on a background thread and displays them on the main thread. Only
+     * the result of the latest query is displayed. If the query fails, the displayed rows are kept.
+     *
+     * @param orderBy
+     *         The SQL ORDER BY clause or null.
+     * @param queryCallback
+     *         Called on the main thread when the query is done. It is then responsible to notify the views
+     *         and can use {@code isOrderedBy()} to check whether the query succeeded. If null is given, the
+     *         views are notified by this adapter.
+     */
+    void query(final String orderBy, final Runnable queryCallback) {
+        final int generation = ++queryGeneration;
+        queryPending = true;
+        queryExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                Cursor queriedCursor = null;
+                try {
+                    queriedCursor = cursorSource.query(orderBy);
+                    if (queriedCursor != null) {
+                        // fills the first window of the cursor while still in the background
+                        queriedCursor.getCount();
+                    }
+                } catch (final RuntimeException e) {
+                    onQueryFailed(orderBy, e);
+                }
+                final Cursor cursor = queriedCursor;
+                resultExecutor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (generation != queryGeneration) {
+                            if (cursor != null) {
+                                cursor.close();
+                            }
+                            return;
+                        }
+                        queryPending = false;
+                        if (cursor != null) {
+                            CursorTableDataAdapter.this.orderBy = orderBy;
+                            swapCursor(cursor);
+                        }
+                        if (queryCallback != null) {
+                            queryCallback.run();
+                        } else if (cursor != null) {
+                            notifyDataSetChanged();
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Called on the background thread if a query fails. The displayed rows are kept.
+     *
+     * @param orderBy
+     *         The SQL ORDER BY clause of the failed query or null.
+     * @param exception
+     *         The exception the query failed with.
+     */
+    void onQueryFailed(final String orderBy, final RuntimeException exception) {
+        Log.w(LOG_TAG, "Unable to query the rows ordered by " + orderBy + ". Caught Exception: " + exception.getMessage());
+    }
+
+    /**
+     * Checks whether the rows are displayed in the given order and no other query is pending, so querying
+     * the rows in this order again is not necessary.
+     *
+     * @param orderBy
+     *         The SQL ORDER BY clause or null.
+     * @return True if the displayed rows are ordered by the given clause, else false.
+     */
+    boolean isOrderedBy(final String orderBy) {
+        return !queryPending && cursorData.cursor != null && (this.orderBy == null ? orderBy == null : this.orderBy.equals(orderBy));
+    }
+
+    private void swapCursor(final Cursor cursor) {
+        final Cursor oldCursor = cursorData.cursor;
+        cursorData.cursor = cursor;
+        if (oldCursor != null && oldCursor != cursor) {
+            oldCursor.close();
+        }
+    }
+
+
+    /**
+     * A read-only list giving access to the rows of a {@link Cursor}. Every row is the cursor itself, moved
+     * to the position of the row.
+     *
+     * @author ISchwarz
+     */
+    private static class CursorDataList extends AbstractList<Cursor> {
+
+        private Cursor cursor;
+
+        @Override
+        public int size() {
+            return cursor != null && !cursor.isClosed() ? cursor.getCount() : 0;
+        }
+
+        @Override
+        public Cursor get(final int position) {
+            if (cursor == null || !cursor.moveToPosition(position)) {
+                throw new IndexOutOfBoundsException("Invalid position " + position + ", size is " + size());
+            }
+            return cursor;
+        }
+
+        /**
+         * Searches the given cursor at its current position, as every row is the cursor itself.
+         */
+        @Override
+        public int indexOf(final Object rowData) {
+            return rowData != null && rowData == cursor ? cursor.getPosition() : -1;
+        }
+    }
+
+}
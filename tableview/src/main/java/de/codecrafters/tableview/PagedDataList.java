@@ -0,0 +1,389 @@
+package de.codecrafters.tableview;
+
+import android.util.Log;
+
+import java.util.AbstractList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import de.codecrafters.tableview.providers.TableDataSource;
+
+
+/**
+ * A read-only list giving access to the rows of a {@link TableDataSource}. The rows are loaded in pages on
+ * a background executor and the most recently used pages are kept in a cache. Rows whose page is not
+ * loaded yet are given as null (placeholder) and their page is requested, so this list never blocks.
+ * The pages of the rows that are displayed (see {@link Listener#getDisplayedDataIndices()}) are never
+ * evicted, so a table whose displayed rows are spread over more pages than the cache holds, e.g. because
+ * it is sorted, does not evict and load the same pages over and over again.
+ * The list is confined to the thread of the result executor (the main thread), only the data source is
+ * accessed on the loading executor.
+ *
+ * @author ISchwarz
+ */
+class PagedDataList<T> extends AbstractList<T> {
+
+    private static final String LOG_TAG = PagedDataList.class.getName();
+
+    private final TableDataSource<T> dataSource;
+    private final int pageSize;
+    private final LruPageMap<T> cachedPages;
+    private final Set<Integer> loadingPages = new HashSet<>();
+    private final Executor resultExecutor;
+    private Executor loadingExecutor;
+    private Listener listener;
+    private int rowCount;
+    private int generation;
+
+
+    /**
+     * Creates a new PagedDataList. The list is empty until {@link #refresh()} is called.
+     *
+     * @param dataSource
+     *         The {@link TableDataSource} to load the rows from.
+     * @param pageSize
+     *         The number of rows per page.
+     * @param cachedPageCount
+     *         The maximum number of pages that are kept in the cache.
+     * @param loadingExecutor
+     *         The {@link Executor} the data source is accessed on.
+     * @param resultExecutor
+     *         The {@link Executor} the loaded data is handed over to this list on.
+     */
+    public PagedDataList(final TableDataSource<T> dataSource, final int pageSize, final int cachedPageCount,
+                         final Executor loadingExecutor, final Executor resultExecutor) {
+        if (pageSize < 1 || cachedPageCount < 1) {
+            throw new IllegalArgumentException("The page size and the number of cached pages have to be positive.");
+        }
+        this.dataSource = dataSource;
+        this.pageSize = pageSize;
+        this.loadingExecutor = loadingExecutor;
+        this.resultExecutor = resultExecutor;
+        this.cachedPages = new LruPageMap<>(cachedPageCount);
+    }
+
+    @Override
+    public int size() {
+        return rowCount;
+    }
+
+    @Override
+    public T get(final int dataIndex) {
+        if (dataIndex < 0 || dataIndex >= rowCount) {
+            throw new IndexOutOfBoundsException("Invalid data index " + dataIndex + ", size is " + rowCount);
+        }
+
+        final int pageIndex = dataIndex / pageSize;
+        final List<T> page = cachedPages.get(pageIndex);
+        if (page == null) {
+            requestPage(pageIndex);
+            return null;
+        }
+        final int pageOffset = dataIndex % pageSize;
+        return pageOffset < page.size() ? page.get(pageOffset) : null;
+    }
+
+    /**
+     * Searches the given row in the loaded pages only, so no pages are requested.
+     */
+    @Override
+    public int indexOf(final Object rowData) {
+        for (final Map.Entry<Integer, List<T>> page : cachedPages.entrySet()) {
+            final int pageOffset = page.getValue().indexOf(rowData);
+            if (pageOffset >= 0) {
+                return page.getKey() * pageSize + pageOffset;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks whether the page of the row with the given data index is loaded. The page is not requested.
+     *
+     * @param dataIndex
+     *         The data index of the row.
+     * @return True if the row is loaded, else false.
+     */
+    public boolean isLoaded(final int dataIndex) {
+        final List<T> page = cachedPages.get(dataIndex / pageSize);
+        return page != null && dataIndex % pageSize < page.size();
+    }
+
+    /**
+     * Sets the {@link Listener} that shall be informed about loaded data.
+     *
+     * @param listener
+     *         The {@link Listener} that shall be informed or null.
+     */
+    public void setListener(final Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Sets the {@link Executor} the data source shall be accessed on.
+     *
+     * @param loadingExecutor
+     *         The {@link Executor} that shall be used.
+     */
+    public void setLoadingExecutor(final Executor loadingExecutor) {
+        this.loadingExecutor = loadingExecutor;
+    }
+
+    /**
+     * Drops all loaded pages and loads the row count again. Pages that are still loading are discarded
+     * when they arrive. The {@link Listener} is informed when the new row count is known.
+     */
+    public void refresh() {
+        final int refreshGeneration = ++generation;
+        cachedPages.clear();
+        loadingPages.clear();
+        loadingExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final int loadedRowCount = dataSource.getRowCount();
+                resultExecutor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (refreshGeneration == generation) {
+                            rowCount = loadedRowCount;
+                            if (listener != null) {
+                                listener.onRowCountLoaded(loadedRowCount);
+                            }
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Creates a snapshot of this list that can be read on a background thread, e.g. for sorting. Reading
+     * a row of the snapshot loads its page synchronously, so there are no placeholders. The snapshot keeps
+     * all pages it loaded, so every page is loaded only once, no matter in which order the rows are read.
+     * The snapshot can be read on several threads at once, e.g. by a parallel sort. The pages are loaded
+     * one after another, so the data source is never accessed concurrently.
+     * The pages of this list are neither used nor displaced by the snapshot, but the pages that are needed
+     * afterwards can be taken over using {@link #adoptSnapshotPages(List, int[])}.
+     *
+     * @return The created snapshot.
+     */
+    public List<T> createSnapshot() {
+        return new Snapshot<>(dataSource, pageSize, rowCount, generation);
+    }
+
+    /**
+     * Takes over the pages of the given snapshot that contain the rows with the given data indices, so
+     * these rows do not have to be loaded again. This must not be called before the snapshot is read
+     * completely. The pages of a snapshot that was created before the last refresh are ignored.
+     *
+     * @param snapshot
+     *         The snapshot created by {@link #createSnapshot()}.
+     * @param dataIndices
+     *         The data indices of the rows whose pages shall be taken over.
+     */
+    public void adoptSnapshotPages(final List<T> snapshot, final int[] dataIndices) {
+        if (!(snapshot instanceof Snapshot) || ((Snapshot<T>) snapshot).generation != generation) {
+            return;
+        }
+
+        final AtomicReferenceArray<List<T>> snapshotPages = ((Snapshot<T>) snapshot).loadedPages;
+        for (final int dataIndex : dataIndices) {
+            final int pageIndex = dataIndex / pageSize;
+            final List<T> page = pageIndex < snapshotPages.length() ? snapshotPages.get(pageIndex) : null;
+            if (page != null && !cachedPages.containsKey(pageIndex)) {
+                cachedPages.put(pageIndex, page);
+            }
+        }
+        trimCache();
+    }
+
+    /**
+     * Evicts the least recently used pages that do not contain displayed rows, until the cache holds at
+     * most the maximum number of pages.
+     */
+    private void trimCache() {
+        if (!cachedPages.exceedsMaxPageCount()) {
+            return;
+        }
+
+        final Set<Integer> pinnedPages = new HashSet<>();
+        if (listener != null) {
+            for (final int dataIndex : listener.getDisplayedDataIndices()) {
+                pinnedPages.add(dataIndex / pageSize);
+            }
+        }
+        cachedPages.trim(pinnedPages);
+    }
+
+    private void requestPage(final int pageIndex) {
+        if (!loadingPages.add(pageIndex)) {
+            return;
+        }
+
+        final int requestGeneration = generation;
+        final int dataIndexStart = pageIndex * pageSize;
+        final int pageRowCount = Math.min(pageSize, rowCount - dataIndexStart);
+        loadingExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                List<T> loadedPage = null;
+                try {
+                    loadedPage = dataSource.loadRows(dataIndexStart, pageRowCount);
+                } catch (final RuntimeException e) {
+                    Log.w(LOG_TAG, "Unable to load the rows from index " + dataIndexStart + ". " +
+                            "Caught Exception: " + e.getMessage());
+                }
+                final List<T> page = loadedPage;
+                resultExecutor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (requestGeneration != generation) {
+                            return;
+                        }
+                        // a failed page is requested again the next time one of its rows is read
+                        loadingPages.remove(pageIndex);
+                        if (page != null) {
+                            cachedPages.put(pageIndex, page);
+                            trimCache();
+                            if (listener != null) {
+                                listener.onPageLoaded(dataIndexStart, page.size());
+                            }
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+
+    /**
+     * Listener that is informed about data loaded by a {@link PagedDataList} and that gives the rows whose
+     * pages have to stay in the cache. It is called on the thread of the result executor.
+     *
+     * @author ISchwarz
+     */
+    interface Listener {
+
+        /**
+         * Called when the row count was loaded after a refresh.
+         *
+         * @param rowCount
+         *         The new row count.
+         */
+        void onRowCountLoaded(final int rowCount);
+
+        /**
+         * Called when a page of rows was loaded.
+         *
+         * @param dataIndexStart
+         *         The data index of the first loaded row.
+         * @param rowCount
+         *         The number of loaded rows.
+         */
+        void onPageLoaded(final int dataIndexStart, final int rowCount);
+
+        /**
+         * Called before pages are evicted from the cache. The pages of the given rows are kept, even if
+         * the cache holds more than the maximum number of pages then.
+         *
+         * @return The data indices of the rows that are displayed.
+         */
+        int[] getDisplayedDataIndices();
+
+    }
+
+    /**
+     * A map ordering the pages by their last use, which can be trimmed to a maximum number of pages.
+     *
+     * @author ISchwarz
+     */
+    private static class LruPageMap<T> extends LinkedHashMap<Integer, List<T>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int maxPageCount;
+
+        public LruPageMap(final int maxPageCount) {
+            super(16, 0.75f, true);
+            this.maxPageCount = maxPageCount;
+        }
+
+        public boolean exceedsMaxPageCount() {
+            return size() > maxPageCount;
+        }
+
+        /**
+         * Removes the least recently used pages that are not pinned, until at most the maximum number of
+         * pages is left or only pinned pages are left.
+         */
+        public void trim(final Set<Integer> pinnedPages) {
+            final Iterator<Integer> pageIndices = keySet().iterator();
+            while (size() > maxPageCount && pageIndices.hasNext()) {
+                if (!pinnedPages.contains(pageIndices.next())) {
+                    pageIndices.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * A snapshot of a {@link PagedDataList} that loads its pages synchronously and keeps them until it is
+     * no longer referenced. Loaded pages are read without locking, while loading a page is synchronized,
+     * so concurrent readers of the same page wait for it to be loaded once.
+     *
+     * @author ISchwarz
+     */
+    private static class Snapshot<T> extends AbstractList<T> {
+
+        private final TableDataSource<T> dataSource;
+        private final int pageSize;
+        private final int rowCount;
+        private final int generation;
+        private final AtomicReferenceArray<List<T>> loadedPages;
+
+        public Snapshot(final TableDataSource<T> dataSource, final int pageSize, final int rowCount, final int generation) {
+            this.dataSource = dataSource;
+            this.pageSize = pageSize;
+            this.rowCount = rowCount;
+            this.generation = generation;
+            this.loadedPages = new AtomicReferenceArray<>((rowCount + pageSize - 1) / pageSize);
+        }
+
+        @Override
+        public int size() {
+            return rowCount;
+        }
+
+        @Override
+        public T get(final int dataIndex) {
+            if (dataIndex < 0 || dataIndex >= rowCount) {
+                throw new IndexOutOfBoundsException("Invalid data index " + dataIndex + ", size is " + rowCount);
+            }
+
+            final int pageIndex = dataIndex / pageSize;
+            List<T> page = loadedPages.get(pageIndex);
+            if (page == null) {
+                page = loadPage(pageIndex);
+            }
+            final int pageOffset = dataIndex % pageSize;
+            return pageOffset < page.size() ? page.get(pageOffset) : null;
+        }
+
+        private synchronized List<T> loadPage(final int pageIndex) {
+            List<T> page = loadedPages.get(pageIndex);
+            if (page == null) {
+                final int dataIndexStart = pageIndex * pageSize;
+                page = dataSource.loadRows(dataIndexStart, Math.min(pageSize, rowCount - dataIndexStart));
+                loadedPages.set(pageIndex, page);
+            }
+            return page;
+        }
+    }
+
+}
@@ -0,0 +1,271 @@
+package de.codecrafters.tableview;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import de.codecrafters.tableview.providers.TableDataSource;
+
+
+/**
+ * The abstract implementation of an adapter that brings the data of a {@link TableDataSource} to a
+ * {@link TableView}. Instead of a fully loaded data list, only the pages of rows that are displayed are
+ * loaded on a background thread, and the most recently used pages are kept in a cache. Until the page of
+ * a row is loaded, a placeholder is displayed in its cells (see {@code getPlaceholderCellView()}) and
+ * {@code getRowData()} gives null for this row. The pages of the displayed rows are never evicted from
+ * the cache.
+ * The rows can be sorted by a {@link SortableTableView}. The sorting is always done asynchronously and
+ * loads all rows once on the sorting thread. The pages that are displayed after the sorting are taken
+ * over from the sorting, so they are not loaded again. The data of a paged adapter can not be mutated using
+ * {@code addRow()}, {@code updateRow()} or {@code removeRow()}, call {@code refresh()} if the data of the
+ * data source has changed instead.
+ *
+ * @author ISchwarz
+ */
+public abstract class PagedTableDataAdapter<T> extends TableDataAdapter<T> {
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int DEFAULT_CACHED_PAGE_COUNT = 20;
+
+    private static Executor defaultLoadingExecutor;
+
+    private final PagedDataList<T> pagedData;
+    private final Map<View, Integer> boundRowIndices = new WeakHashMap<>();
+
+
+    /**
+     * Creates a new PagedTableDataAdapter that loads pages of 100 rows and keeps 20 pages in its cache.
+     *
+     * @param context
+     *         The context that shall be used.
+     * @param dataSource
+     *         The {@link TableDataSource} the rows shall be loaded from.
+     */
+    public PagedTableDataAdapter(final Context context, final TableDataSource<T> dataSource) {
+        this(context, dataSource, DEFAULT_PAGE_SIZE, DEFAULT_CACHED_PAGE_COUNT);
+    }
+
+    /**
+     * Creates a new PagedTableDataAdapter.
+     *
+     * @param context
+     *         The context that shall be used.
+     * @param dataSource
+     *         The {@link TableDataSource} the rows shall be loaded from.
+     * @param pageSize
+     *         The number of rows that are loaded at once.
+     * @param cachedPageCount
+     *         The maximum number of pages that are kept in the cache.
+     */
+    public PagedTableDataAdapter(final Context context, final TableDataSource<T> dataSource,
+                                 final int pageSize, final int cachedPageCount) {
+        this(context, new PagedDataList<>(dataSource, pageSize, cachedPageCount, getDefaultLoadingExecutor(), new MainThreadExecutor()));
+    }
+
+    private PagedTableDataAdapter(final Context context, final PagedDataList<T> pagedData) {
+        super(context, pagedData);
+        this.pagedData = pagedData;
+        pagedData.setListener(new PagedDataListener());
+        pagedData.refresh();
+    }
+
+    /**
+     * Gives the information whether the data of the row with the given index is loaded already.
+     *
+     * @param rowIndex
+     *         The index of the row.
+     * @return True if the data of the row is loaded, else false.
+     */
+    @Override
+    public boolean isRowLoaded(final int rowIndex) {
+        final int dataIndex = getDataIndex(rowIndex);
+        return dataIndex >= 0 && dataIndex < pagedData.size() && pagedData.isLoaded(dataIndex);
+    }
+
+    /**
+     * Drops all loaded rows and loads the row count of the data source again. Call this method if the
+     * data of the data source has changed. The table is updated as soon as the new row count is loaded.
+     */
+    public void refresh() {
+        pagedData.refresh();
+    }
+
+    /**
+     * Sets the {@link Executor} that shall be used to access the {@link TableDataSource}. By default a
+     * single background thread shared by all adapters that load their data in the background is used.
+     *
+     * @param loadingExecutor
+     *         The {@link Executor} that shall be used to load the rows.
+     */
+    public void setLoadingExecutor(final Executor loadingExecutor) {
+        pagedData.setLoadingExecutor(loadingExecutor);
+    }
+
+    @Override
+    public View getView(final int rowIndex, final View convertView, final ViewGroup parent) {
+        final View rowView = super.getView(rowIndex, convertView, parent);
+        if (convertView != null && convertView != rowView) {
+            boundRowIndices.remove(convertView);
+        }
+        boundRowIndices.put(rowView, rowIndex);
+        return rowView;
+    }
+
+    @Override
+    public View bindCellView(final int rowIndex, final int columnIndex, final View recycledView, final ViewGroup parentView) {
+        if (!isRowLoaded(rowIndex)) {
+            return getPlaceholderCellView(rowIndex, columnIndex, recycledView, parentView);
+        }
+        return super.bindCellView(rowIndex, columnIndex, recycledView, parentView);
+    }
+
+    /**
+     * Method that gives the cell view that is displayed while the row of the cell is loading. The given
+     * recycled view is the view that was previously displayed in the same column. By default the recycled
+     * view is reused if it is a {@link TextView}, whose text is then cleared.
+     *
+     * @param rowIndex
+     *         The index of the row of the cell.
+     * @param columnIndex
+     *         The index of the column of the cell.
+     * @param recycledView
+     *         The view that can be reused for the given cell or null if there is no view to reuse.
+     * @param parentView
+     *         The view to which the returned view will be added.
+     * @return The view that shall be displayed in the given cell while its row is loading.
+     */
+    public View getPlaceholderCellView(final int rowIndex, final int columnIndex, final View recycledView, final ViewGroup parentView) {
+        final TextView placeholderView = recycledView instanceof TextView ? (TextView) recycledView : new TextView(getContext());
+        placeholderView.setText(null);
+        return placeholderView;
+    }
+
+    @Override
+    List<T> createDataSnapshot() {
+        return pagedData.createSnapshot();
+    }
+
+    @Override
+    void onDataSnapshotSorted(final List<T> snapshot, final int[] rowOrder) {
+        final int[] dataIndices = getBoundRowIndices();
+        for (int index = 0; index < dataIndices.length; index++) {
+            dataIndices[index] = dataIndices[index] < rowOrder.length ? rowOrder[dataIndices[index]] : dataIndices[index];
+        }
+        pagedData.adoptSnapshotPages(snapshot, dataIndices);
+    }
+
+    /**
+     * Gives the indices of the rows that are bound to a row view. The row views may be displayed or kept
+     * by the list for reuse.
+     */
+    private int[] getBoundRowIndices() {
+        final int[] rowIndices = new int[boundRowIndices.size()];
+        int rowCount = 0;
+        for (final Integer rowIndex : boundRowIndices.values()) {
+            if (rowIndex < getCount() && rowCount < rowIndices.length) {
+                rowIndices[rowCount++] = rowIndex;
+            }
+        }
+        return Arrays.copyOf(rowIndices, rowCount);
+    }
+
+    /**
+     * Gives the single background thread that is shared by all adapters that load their data in the
+     * background.
+     *
+     * @return The {@link Executor} that is used to load data by default.
+     */
+    static synchronized Executor getDefaultLoadingExecutor() {
+        if (defaultLoadingExecutor == null) {
+            defaultLoadingExecutor = Executors.newSingleThreadExecutor(new LoadingThreadFactory());
+        }
+        return defaultLoadingExecutor;
+    }
+
+
+    /**
+     * Informs the views about the data that was loaded by the {@link PagedDataList}.
+     *
+     * @author ISchwarz
+     */
+    private class PagedDataListener implements PagedDataList.Listener {
+
+        @Override
+        public void onRowCountLoaded(final int rowCount) {
+            notifyDataSetChanged();
+        }
+
+        @Override
+        public void onPageLoaded(final int dataIndexStart, final int rowCount) {
+            if (getRowOrder() == null) {
+                notifyRowRangeLoaded(dataIndexStart, rowCount);
+                return;
+            }
+            // the rows of the page are spread over the whole table, so only the bound ones are rebound
+            for (final int rowIndex : getBoundRowIndices()) {
+                final int dataIndex = getDataIndex(rowIndex);
+                if (dataIndex >= dataIndexStart && dataIndex < dataIndexStart + rowCount) {
+                    notifyRowRangeLoaded(rowIndex, 1);
+                }
+            }
+        }
+
+        @Override
+        public int[] getDisplayedDataIndices() {
+            final int[] dataIndices = getBoundRowIndices();
+            for (int index = 0; index < dataIndices.length; index++) {
+                dataIndices[index] = getDataIndex(dataIndices[index]);
+            }
+            return dataIndices;
+        }
+    }
+
+    /**
+     * An {@link Executor} running the given tasks on the main thread.
+     *
+     * @author ISchwarz
+     */
+    static class MainThreadExecutor implements Executor {
+
+        private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+        @Override
+        public void execute(final Runnable runnable) {
+            mainHandler.post(runnable);
+        }
+    }
+
+    /**
+     * A {@link ThreadFactory} creating the background threads that are used to load the rows.
+     *
+     * @author ISchwarz
+     */
+    private static class LoadingThreadFactory implements ThreadFactory {
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                    runnable.run();
+                }
+            }, "TableDataAdapter-Loading");
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+}
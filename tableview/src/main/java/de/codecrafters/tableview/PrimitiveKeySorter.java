@@ -0,0 +1,244 @@
+package de.codecrafters.tableview;
+
+import java.util.Arrays;
+
+
+/**
+ * Utility that sorts primitive sort keys together with the row indices they belong to. The keys are
+ * moved alongside the row indices, so no comparator is called and nothing is allocated per comparison.
+ * All sort methods are stable, so they produce exactly the same order as {@link RowIndexSorter} would
+ * produce with a comparator on the same keys.
+ *
+ * @author ISchwarz
+ */
+final class PrimitiveKeySorter {
+
+    private static final int INSERTION_SORT_THRESHOLD = 7;
+    private static final int RADIX_SORT_THRESHOLD = 512;
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX_MASK = (1 << RADIX_BITS) - 1;
+
+    /**
+     * Sorts the given int keys ascending and applies the same reordering to the given row indices. For
+     * large arrays a radix sort is used, smaller arrays are merge sorted.
+     *
+     * @param keys
+     *         The sort keys, where {@code keys[i]} is the key of {@code rowIndices[i]}.
+     * @param rowIndices
+     *         The row indices that shall be reordered together with the keys.
+     */
+    public static void sort(final int[] keys, final int[] rowIndices) {
+        if (keys.length >= RADIX_SORT_THRESHOLD) {
+            radixSort(keys, rowIndices);
+        } else {
+            mergeSort(keys, rowIndices);
+        }
+    }
+
+    /**
+     * Sorts the given long keys ascending and applies the same reordering to the given row indices.
+     *
+     * @param keys
+     *         The sort keys, where {@code keys[i]} is the key of {@code rowIndices[i]}.
+     * @param rowIndices
+     *         The row indices that shall be reordered together with the keys.
+     */
+    public static void sort(final long[] keys, final int[] rowIndices) {
+        insertionSortRuns(keys, rowIndices);
+
+        long[] sourceKeys = keys;
+        int[] sourceIndices = rowIndices;
+        long[] destinationKeys = new long[keys.length];
+        int[] destinationIndices = new int[keys.length];
+        for (int width = INSERTION_SORT_THRESHOLD; width < keys.length; width *= 2) {
+            for (int low = 0; low < keys.length; low += 2 * width) {
+                final int mid = Math.min(low + width, keys.length);
+                final int high = Math.min(low + 2 * width, keys.length);
+                merge(sourceKeys, sourceIndices, destinationKeys, destinationIndices, low, mid, high);
+            }
+            final long[] swapKeys = sourceKeys;
+            sourceKeys = destinationKeys;
+            destinationKeys = swapKeys;
+            final int[] swapIndices = sourceIndices;
+            sourceIndices = destinationIndices;
+            destinationIndices = swapIndices;
+        }
+
+        if (sourceKeys != keys) {
+            System.arraycopy(sourceKeys, 0, keys, 0, keys.length);
+            System.arraycopy(sourceIndices, 0, rowIndices, 0, rowIndices.length);
+        }
+    }
+
+    /**
+     * Sorts the given int keys ascending using a least significant digit radix sort and applies the same
+     * reordering to the given row indices. Passes in which all keys share the same digit are skipped.
+     *
+     * @param keys
+     *         The sort keys, where {@code keys[i]} is the key of {@code rowIndices[i]}.
+     * @param rowIndices
+     *         The row indices that shall be reordered together with the keys.
+     */
+    public static void radixSort(final int[] keys, final int[] rowIndices) {
+        if (keys.length < 2) {
+            return;
+        }
+
+        int[] sourceKeys = keys;
+        int[] sourceIndices = rowIndices;
+        int[] destinationKeys = new int[keys.length];
+        int[] destinationIndices = new int[keys.length];
+        final int[] bucketOffsets = new int[RADIX_MASK + 1];
+
+        for (int shift = 0; shift < Integer.SIZE; shift += RADIX_BITS) {
+            Arrays.fill(bucketOffsets, 0);
+            for (final int key : sourceKeys) {
+                bucketOffsets[digit(key, shift)]++;
+            }
+            if (bucketOffsets[digit(sourceKeys[0], shift)] == sourceKeys.length) {
+                continue;
+            }
+
+            int offset = 0;
+            for (int bucket = 0; bucket < bucketOffsets.length; bucket++) {
+                final int bucketSize = bucketOffsets[bucket];
+                bucketOffsets[bucket] = offset;
+                offset += bucketSize;
+            }
+            for (int index = 0; index < sourceKeys.length; index++) {
+                final int position = bucketOffsets[digit(sourceKeys[index], shift)]++;
+                destinationKeys[position] = sourceKeys[index];
+                destinationIndices[position] = sourceIndices[index];
+            }
+
+            final int[] swapKeys = sourceKeys;
+            sourceKeys = destinationKeys;
+            destinationKeys = swapKeys;
+            final int[] swapIndices = sourceIndices;
+            sourceIndices = destinationIndices;
+            destinationIndices = swapIndices;
+        }
+
+        if (sourceKeys != keys) {
+            System.arraycopy(sourceKeys, 0, keys, 0, keys.length);
+            System.arraycopy(sourceIndices, 0, rowIndices, 0, rowIndices.length);
+        }
+    }
+
+    /**
+     * Converts the given double to a long that has the same order as the double according to
+     * {@link Double#compare(double, double)}.
+     *
+     * @param value
+     *         The double value that shall be converted.
+     * @return A long that can be used as sort key instead of the given double.
+     */
+    public static long toSortableLong(final double value) {
+        final long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> (Long.SIZE - 1)) & Long.MAX_VALUE);
+    }
+
+    private static int digit(final int key, final int shift) {
+        return ((key ^ Integer.MIN_VALUE) >>> shift) & RADIX_MASK;
+    }
+
+    private static void mergeSort(final int[] keys, final int[] rowIndices) {
+        insertionSortRuns(keys, rowIndices);
+
+        int[] sourceKeys = keys;
+        int[] sourceIndices = rowIndices;
+        int[] destinationKeys = new int[keys.length];
+        int[] destinationIndices = new int[keys.length];
+        for (int width = INSERTION_SORT_THRESHOLD; width < keys.length; width *= 2) {
+            for (int low = 0; low < keys.length; low += 2 * width) {
+                final int mid = Math.min(low + width, keys.length);
+                final int high = Math.min(low + 2 * width, keys.length);
+                merge(sourceKeys, sourceIndices, destinationKeys, destinationIndices, low, mid, high);
+            }
+            final int[] swapKeys = sourceKeys;
+            sourceKeys = destinationKeys;
+            destinationKeys = swapKeys;
+            final int[] swapIndices = sourceIndices;
+            sourceIndices = destinationIndices;
+            destinationIndices = swapIndices;
+        }
+
+        if (sourceKeys != keys) {
+            System.arraycopy(sourceKeys, 0, keys, 0, keys.length);
+            System.arraycopy(sourceIndices, 0, rowIndices, 0, rowIndices.length);
+        }
+    }
+
+    private static void insertionSortRuns(final int[] keys, final int[] rowIndices) {
+        for (int low = 0; low < keys.length; low += INSERTION_SORT_THRESHOLD) {
+            final int high = Math.min(low + INSERTION_SORT_THRESHOLD, keys.length);
+            for (int i = low + 1; i < high; i++) {
+                final int key = keys[i];
+                final int rowIndex = rowIndices[i];
+                int j = i;
+                for (; j > low && keys[j - 1] > key; j--) {
+                    keys[j] = keys[j - 1];
+                    rowIndices[j] = rowIndices[j - 1];
+                }
+                keys[j] = key;
+                rowIndices[j] = rowIndex;
+            }
+        }
+    }
+
+    private static void insertionSortRuns(final long[] keys, final int[] rowIndices) {
+        for (int low = 0; low < keys.length; low += INSERTION_SORT_THRESHOLD) {
+            final int high = Math.min(low + INSERTION_SORT_THRESHOLD, keys.length);
+            for (int i = low + 1; i < high; i++) {
+                final long key = keys[i];
+                final int rowIndex = rowIndices[i];
+                int j = i;
+                for (; j > low && keys[j - 1] > key; j--) {
+                    keys[j] = keys[j - 1];
+                    rowIndices[j] = rowIndices[j - 1];
+                }
+                keys[j] = key;
+                rowIndices[j] = rowIndex;
+            }
+        }
+    }
+
+    private static void merge(final int[] sourceKeys, final int[] sourceIndices, final int[] destinationKeys,
+                              final int[] destinationIndices, final int low, final int mid, final int high) {
+        if (mid >= high || sourceKeys[mid - 1] <= sourceKeys[mid]) {
+            System.arraycopy(sourceKeys, low, destinationKeys, low, high - low);
+            System.arraycopy(sourceIndices, low, destinationIndices, low, high - low);
+            return;
+        }
+
+        for (int i = low, p = low, q = mid; i < high; i++) {
+            if (q >= high || p < mid && sourceKeys[p] <= sourceKeys[q]) {
+                destinationKeys[i] = sourceKeys[p];
+                destinationIndices[i] = sourceIndices[p++];
+            } else {
+                destinationKeys[i] = sourceKeys[q];
+                destinationIndices[i] = sourceIndices[q++];
+            }
+        }
+    }
+
+    private static void merge(final long[] sourceKeys, final int[] sourceIndices, final long[] destinationKeys,
+                              final int[] destinationIndices, final int low, final int mid, final int high) {
+        if (mid >= high || sourceKeys[mid - 1] <= sourceKeys[mid]) {
+            System.arraycopy(sourceKeys, low, destinationKeys, low, high - low);
+            System.arraycopy(sourceIndices, low, destinationIndices, low, high - low);
+            return;
+        }
+
+        for (int i = low, p = low, q = mid; i < high; i++) {
+            if (q >= high || p < mid && sourceKeys[p] <= sourceKeys[q]) {
+                destinationKeys[i] = sourceKeys[p];
+                destinationIndices[i] = sourceIndices[p++];
+            } else {
+                destinationKeys[i] = sourceKeys[q];
+                destinationIndices[i] = sourceIndices[q++];
+            }
+        }
+    }
+
+}
@@ -0,0 +1,24 @@
+package de.codecrafters.tableview;
+
+
+/**
+ * A comparison function on the indices of rows in the data of a {@link TableDataAdapter}. It is used to
+ * sort row permutations without touching the data list itself.
+ *
+ * @author ISchwarz
+ */
+interface RowIndexComparator {
+
+    /**
+     * Compares the rows at the given data indices.
+     *
+     * @param dataIndex1
+     *         The data index of the first row.
+     * @param dataIndex2
+     *         The data index of the second row.
+     * @return A negative value, zero or a positive value if the first row is less than, equal to or
+     * greater than the second row.
+     */
+    int compare(final int dataIndex1, final int dataIndex2);
+
+}
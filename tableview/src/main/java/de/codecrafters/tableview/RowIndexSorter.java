@@ -0,0 +1,476 @@
+package de.codecrafters.tableview;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+
+
+/**
+ * Utility that sorts arrays of row indices (row permutations) using a {@link RowIndexComparator}. The
+ * sorting is a stable merge sort, so it produces exactly the same order as {@code Collections.sort()}
+ * would produce on the rows in their data order.
+ *
+ * @author ISchwarz
+ */
+final class RowIndexSorter {
+
+    private static final int INSERTION_SORT_THRESHOLD = 7;
+    private static final int MIN_PARALLEL_CHUNK_SIZE = 1 << 13;
+
+    /**
+     * Creates the identity permutation for the given number of rows.
+     *
+     * @param rowCount
+     *         The number of rows.
+     * @return An array containing the indices from 0 to {@code rowCount - 1} in ascending order.
+     */
+    public static int[] identity(final int rowCount) {
+        final int[] rowIndices = new int[rowCount];
+        for (int index = 0; index < rowCount; index++) {
+            rowIndices[index] = index;
+        }
+        return rowIndices;
+    }
+
+    /**
+     * Sorts the given row indices using the given {@link RowIndexComparator}.
+     *
+     * @param rowIndices
+     *         The row indices that shall be sorted.
+     * @param comparator
+     *         The {@link RowIndexComparator} that defines the order.
+     */
+    public static void sort(final int[] rowIndices, final RowIndexComparator comparator) {
+        sort(rowIndices, 0, rowIndices.length, comparator);
+    }
+
+    /**
+     * Sorts the given range of the given row indices using the given {@link RowIndexComparator}.
+     *
+     * @param rowIndices
+     *         The row indices that shall be sorted.
+     * @param fromIndex
+     *         The index of the first element to be sorted (inclusive).
+     * @param toIndex
+     *         The index of the last element to be sorted (exclusive).
+     * @param comparator
+     *         The {@link RowIndexComparator} that defines the order.
+     */
+    public static void sort(final int[] rowIndices, final int fromIndex, final int toIndex, final RowIndexComparator comparator) {
+        final int[] source = Arrays.copyOfRange(rowIndices, fromIndex, toIndex);
+        mergeSort(source, rowIndices, fromIndex, toIndex, -fromIndex, comparator);
+    }
+
+    /**
+     * Sorts the given row indices using the given {@link RowIndexComparator} on multiple threads. The row
+     * indices are split into contiguous chunks that are sorted in parallel and afterwards merged pairwise
+     * in parallel. As every merge prefers the left chunk on equal rows, the result is exactly the same as
+     * the one of {@link #sort(int[], RowIndexComparator)}. The calling thread takes part in the sorting and
+     * returns when the sorting is done. The given {@link RowIndexComparator} has to be thread safe.
+     *
+     * @param rowIndices
+     *         The row indices that shall be sorted.
+     * @param comparator
+     *         The {@link RowIndexComparator} that defines the order.
+     * @param executor
+     *         The {@link Executor} that runs the chunk sorts and merges besides the calling thread. It must
+     *         not be the executor of the calling thread, if this one is single threaded.
+     * @param parallelism
+     *         The maximum number of chunks that are sorted in parallel.
+     */
+    public static void parallelSort(final int[] rowIndices, final RowIndexComparator comparator, final Executor executor,
+                                    final int parallelism) {
+        final int chunkCount = Math.min(parallelism, rowIndices.length / MIN_PARALLEL_CHUNK_SIZE);
+        if (chunkCount < 2) {
+            sort(rowIndices, comparator);
+            return;
+        }
+
+        final int[] chunkBounds = new int[chunkCount + 1];
+        for (int chunk = 0; chunk <= chunkCount; chunk++) {
+            chunkBounds[chunk] = (int) ((long) rowIndices.length * chunk / chunkCount);
+        }
+
+        runInParallel(chunkCount, executor, new ParallelTask() {
+            @Override
+            public void run(final int taskIndex) {
+                sort(rowIndices, chunkBounds[taskIndex], chunkBounds[taskIndex + 1], comparator);
+            }
+        });
+
+        int[] source = rowIndices;
+        int[] destination = new int[rowIndices.length];
+        for (int width = 1; width < chunkCount; width *= 2) {
+            final int[] mergeSource = source;
+            final int[] mergeDestination = destination;
+            final int mergeWidth = width;
+            runInParallel((chunkCount + 2 * width - 1) / (2 * width), executor, new ParallelTask() {
+                @Override
+                public void run(final int taskIndex) {
+                    final int firstChunk = taskIndex * 2 * mergeWidth;
+                    final int low = chunkBounds[firstChunk];
+                    final int mid = chunkBounds[Math.min(firstChunk + mergeWidth, chunkCount)];
+                    final int high = chunkBounds[Math.min(firstChunk + 2 * mergeWidth, chunkCount)];
+                    merge(mergeSource, mergeDestination, low, mid, high, comparator);
+                }
+            });
+            source = mergeDestination;
+            destination = mergeSource;
+        }
+
+        if (source != rowIndices) {
+            System.arraycopy(source, 0, rowIndices, 0, rowIndices.length);
+        }
+    }
+
+    /**
+     * Sorts only the first rows of the given number of rows. The resulting row order starts with the
+     * given number of smallest rows in the order a full sort would produce. These are followed by all
+     * other rows in their data order. The smallest rows are selected using a bounded heap, so this needs
+     * only {@code O(n log k)} comparisons. Rows that are equal according to the given
+     * {@link RowIndexComparator} are ordered by their data index, like a stable sort would do.
+     *
+     * @param rowCount
+     *         The number of rows.
+     * @param sortedRowCount
+     *         The number of rows at the beginning of the row order that shall be sorted.
+     * @param comparator
+     *         The {@link RowIndexComparator} that defines the order.
+     * @return A new array containing the partially sorted row indices.
+     */
+    public static int[] partialSort(final int rowCount, final int sortedRowCount, final RowIndexComparator comparator) {
+        final int heapSize = Math.min(rowCount, sortedRowCount);
+        final RowIndexComparator stableComparator = new RowIndexComparator() {
+            @Override
+            public int compare(final int dataIndex1, final int dataIndex2) {
+                final int result = comparator.compare(dataIndex1, dataIndex2);
+                if (result == 0) {
+                    return dataIndex1 < dataIndex2 ? -1 : (dataIndex1 == dataIndex2 ? 0 : 1);
+                }
+                return result;
+            }
+        };
+
+        final int[] heap = new int[heapSize];
+        for (int dataIndex = 0; dataIndex < heapSize; dataIndex++) {
+            heap[dataIndex] = dataIndex;
+            siftUp(heap, dataIndex, stableComparator);
+        }
+        for (int dataIndex = heapSize; dataIndex < rowCount && heapSize > 0; dataIndex++) {
+            if (stableComparator.compare(dataIndex, heap[0]) < 0) {
+                heap[0] = dataIndex;
+                siftDown(heap, stableComparator);
+            }
+        }
+        sort(heap, stableComparator);
+
+        final boolean[] isSorted = new boolean[rowCount];
+        final int[] rowIndices = new int[rowCount];
+        System.arraycopy(heap, 0, rowIndices, 0, heapSize);
+        for (final int dataIndex : heap) {
+            isSorted[dataIndex] = true;
+        }
+        int writeIndex = heapSize;
+        for (int dataIndex = 0; dataIndex < rowCount; dataIndex++) {
+            if (!isSorted[dataIndex]) {
+                rowIndices[writeIndex++] = dataIndex;
+            }
+        }
+        return rowIndices;
+    }
+
+    /**
+     * Gives the descending order of the given ascending sorted row indices without sorting them again.
+     * Rows that are equal according to the given {@link RowIndexComparator} keep their relative order, so
+     * the result is exactly what a stable sort with the reversed comparator would produce. This needs
+     * only {@code n - 1} comparisons.
+     *
+     * @param ascendingRowIndices
+     *         The row indices sorted ascending using the given {@link RowIndexComparator}.
+     * @param comparator
+     *         The {@link RowIndexComparator} the given row indices are sorted with.
+     * @return A new array containing the row indices in descending order.
+     */
+    public static int[] reverse(final int[] ascendingRowIndices, final RowIndexComparator comparator) {
+        final int[] descendingRowIndices = new int[ascendingRowIndices.length];
+
+        int writeIndex = 0;
+        int runEnd = ascendingRowIndices.length;
+        while (runEnd > 0) {
+            int runStart = runEnd - 1;
+            while (runStart > 0 && comparator.compare(ascendingRowIndices[runStart - 1], ascendingRowIndices[runStart]) == 0) {
+                runStart--;
+            }
+            System.arraycopy(ascendingRowIndices, runStart, descendingRowIndices, writeIndex, runEnd - runStart);
+            writeIndex += runEnd - runStart;
+            runEnd = runStart;
+        }
+
+        return descendingRowIndices;
+    }
+
+    /**
+     * Searches the position at which the given row index has to be inserted into the given sorted range
+     * of row indices to keep it sorted. If the range contains rows equal to the given one, the position
+     * after the last equal row is returned.
+     *
+     * @param rowIndices
+     *         The sorted row indices.
+     * @param fromIndex
+     *         The index of the first element of the range to be searched (inclusive).
+     * @param toIndex
+     *         The index of the last element of the range to be searched (exclusive).
+     * @param rowIndex
+     *         The row index to search the insertion point for.
+     * @param comparator
+     *         The {@link RowIndexComparator} the given row indices are sorted with.
+     * @return The insertion point of the given row index.
+     */
+    public static int insertionPoint(final int[] rowIndices, final int fromIndex, final int toIndex, final int rowIndex,
+                                     final RowIndexComparator comparator) {
+        int low = fromIndex;
+        int high = toIndex;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (comparator.compare(rowIndices[mid], rowIndex) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Gives a copy of the given row indices with the given number of appended rows added at the end in
+     * their data order. The appended rows have the data indices following the length of the given row
+     * indices.
+     *
+     * @param rowIndices
+     *         The row indices the appended rows shall be added to.
+     * @param rowCount
+     *         The number of appended rows.
+     * @return The row indices including the appended rows.
+     */
+    public static int[] append(final int[] rowIndices, final int rowCount) {
+        final int[] newRowIndices = Arrays.copyOf(rowIndices, rowIndices.length + rowCount);
+        for (int index = rowIndices.length; index < newRowIndices.length; index++) {
+            newRowIndices[index] = index;
+        }
+        return newRowIndices;
+    }
+
+    /**
+     * Merges the given range of appended rows into the given sorted row indices. The appended rows are
+     * sorted on their own and then inserted using binary searches, so the given rows are not compared with
+     * each other again. If the given row indices are sorted stably, the result equals a stable sort of
+     * all rows.
+     *
+     * @param rowIndices
+     *         The sorted row indices.
+     * @param dataIndexStart
+     *         The data index of the first appended row.
+     * @param rowCount
+     *         The number of appended rows.
+     * @param insertedRowIndices
+     *         An array of the given row count, the positions the appended rows end up at are written to.
+     * @param comparator
+     *         The {@link RowIndexComparator} the given row indices are sorted with.
+     * @return The row indices including the merged appended rows.
+     */
+    public static int[] mergeAppended(final int[] rowIndices, final int dataIndexStart, final int rowCount,
+                                      final int[] insertedRowIndices, final RowIndexComparator comparator) {
+        final int[] appendedRowIndices = new int[rowCount];
+        for (int index = 0; index < rowCount; index++) {
+            appendedRowIndices[index] = dataIndexStart + index;
+        }
+        sort(appendedRowIndices, comparator);
+
+        final int[] newRowIndices = new int[rowIndices.length + rowCount];
+        int readIndex = 0;
+        int writeIndex = 0;
+        for (int index = 0; index < rowCount; index++) {
+            final int insertionPoint = insertionPoint(rowIndices, readIndex, rowIndices.length, appendedRowIndices[index], comparator);
+            System.arraycopy(rowIndices, readIndex, newRowIndices, writeIndex, insertionPoint - readIndex);
+            writeIndex += insertionPoint - readIndex;
+            readIndex = insertionPoint;
+            insertedRowIndices[index] = writeIndex;
+            newRowIndices[writeIndex++] = appendedRowIndices[index];
+        }
+        System.arraycopy(rowIndices, readIndex, newRowIndices, writeIndex, rowIndices.length - readIndex);
+
+        return newRowIndices;
+    }
+
+    /**
+     * Gives a {@link RowIndexComparator} that compares the rows of the given data list using the given
+     * {@link Comparator}.
+     *
+     * @param data
+     *         The data the row indices refer to.
+     * @param comparator
+     *         The {@link Comparator} that shall be used to compare the rows.
+     * @param <T>
+     *         The type of the data.
+     * @return A {@link RowIndexComparator} comparing the rows of the given data.
+     */
+    public static <T> RowIndexComparator forComparator(final List<T> data, final Comparator<? super T> comparator) {
+        return new RowIndexComparator() {
+            @Override
+            public int compare(final int dataIndex1, final int dataIndex2) {
+                return comparator.compare(data.get(dataIndex1), data.get(dataIndex2));
+            }
+        };
+    }
+
+    private static void mergeSort(final int[] source, final int[] destination, int low, int high, final int offset,
+                                  final RowIndexComparator comparator) {
+        final int length = high - low;
+
+        if (length < INSERTION_SORT_THRESHOLD) {
+            for (int i = low; i < high; i++) {
+                for (int j = i; j > low && comparator.compare(destination[j - 1], destination[j]) > 0; j--) {
+                    final int swap = destination[j];
+                    destination[j] = destination[j - 1];
+                    destination[j - 1] = swap;
+                }
+            }
+            return;
+        }
+
+        final int destinationLow = low;
+        final int destinationHigh = high;
+        low += offset;
+        high += offset;
+        final int mid = (low + high) >>> 1;
+        mergeSort(destination, source, low, mid, -offset, comparator);
+        mergeSort(destination, source, mid, high, -offset, comparator);
+
+        if (comparator.compare(source[mid - 1], source[mid]) <= 0) {
+            System.arraycopy(source, low, destination, destinationLow, length);
+            return;
+        }
+
+        for (int i = destinationLow, p = low, q = mid; i < destinationHigh; i++) {
+            if (q >= high || p < mid && comparator.compare(source[p], source[q]) <= 0) {
+                destination[i] = source[p++];
+            } else {
+                destination[i] = source[q++];
+            }
+        }
+    }
+
+    private static void merge(final int[] source, final int[] destination, final int low, final int mid, final int high,
+                              final RowIndexComparator comparator) {
+        if (mid >= high || comparator.compare(source[mid - 1], source[mid]) <= 0) {
+            System.arraycopy(source, low, destination, low, high - low);
+            return;
+        }
+
+        for (int i = low, p = low, q = mid; i < high; i++) {
+            if (q >= high || p < mid && comparator.compare(source[p], source[q]) <= 0) {
+                destination[i] = source[p++];
+            } else {
+                destination[i] = source[q++];
+            }
+        }
+    }
+
+    private static void siftUp(final int[] maxHeap, int index, final RowIndexComparator comparator) {
+        final int rowIndex = maxHeap[index];
+        while (index > 0) {
+            final int parent = (index - 1) >>> 1;
+            if (comparator.compare(maxHeap[parent], rowIndex) >= 0) {
+                break;
+            }
+            maxHeap[index] = maxHeap[parent];
+            index = parent;
+        }
+        maxHeap[index] = rowIndex;
+    }
+
+    private static void siftDown(final int[] maxHeap, final RowIndexComparator comparator) {
+        final int rowIndex = maxHeap[0];
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= maxHeap.length) {
+                break;
+            }
+            if (child + 1 < maxHeap.length && comparator.compare(maxHeap[child + 1], maxHeap[child]) > 0) {
+                child++;
+            }
+            if (comparator.compare(rowIndex, maxHeap[child]) >= 0) {
+                break;
+            }
+            maxHeap[index] = maxHeap[child];
+            index = child;
+        }
+        maxHeap[index] = rowIndex;
+    }
+
+    /**
+     * Runs the given number of tasks, all but the first one using the given {@link Executor}. The first
+     * task is run by the calling thread. Returns when all tasks are done and rethrows the first
+     * {@link RuntimeException} or {@link Error} one of the tasks has thrown.
+     */
+    private static void runInParallel(final int taskCount, final Executor executor, final ParallelTask task) {
+        final CountDownLatch doneSignal = new CountDownLatch(taskCount - 1);
+        final Throwable[] failure = new Throwable[1];
+
+        for (int taskIndex = 1; taskIndex < taskCount; taskIndex++) {
+            final int executedTaskIndex = taskIndex;
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        task.run(executedTaskIndex);
+                    } catch (final RuntimeException | Error e) {
+                        synchronized (failure) {
+                            if (failure[0] == null) {
+                                failure[0] = e;
+                            }
+                        }
+                    } finally {
+                        doneSignal.countDown();
+                    }
+                }
+            });
+        }
+
+        try {
+            task.run(0);
+        } finally {
+            try {
+                doneSignal.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException();
+            }
+        }
+
+        synchronized (failure) {
+            if (failure[0] instanceof RuntimeException) {
+                throw (RuntimeException) failure[0];
+            } else if (failure[0] instanceof Error) {
+                throw (Error) failure[0];
+            }
+        }
+    }
+
+
+    /**
+     * A task that is run in parallel to other tasks of the same kind.
+     *
+     * @author ISchwarz
+     */
+    private interface ParallelTask {
+
+        void run(final int taskIndex);
+
+    }
+
+}
@@ -0,0 +1,43 @@
+package de.codecrafters.tableview;
+
+
+/**
+ * Listener interface to listen for mutations of the data of a {@link TableDataAdapter} that were made
+ * using its mutation methods ({@code addRow()}, {@code updateRow()} and {@code removeRow()}). A registered
+ * listener is responsible to notify the views about the mutation.
+ *
+ * @author ISchwarz
+ */
+interface RowMutationListener {
+
+    /**
+     * This method is called after the given range of data objects has been appended to the data.
+     *
+     * @param dataIndexStart
+     *         The data index of the first appended data object.
+     * @param rowCount
+     *         The number of appended data objects.
+     */
+    void onRowsAppended(final int dataIndexStart, final int rowCount);
+
+    /**
+     * This method is called after the data object displayed in the given row has been replaced.
+     *
+     * @param rowIndex
+     *         The index of the row that displayed the data object before the change.
+     * @param dataIndex
+     *         The data index of the changed data object.
+     */
+    void onRowChanged(final int rowIndex, final int dataIndex);
+
+    /**
+     * This method is called after the data object displayed in the given row has been removed.
+     *
+     * @param rowIndex
+     *         The index of the row that displayed the removed data object.
+     * @param dataIndex
+     *         The data index the removed data object had.
+     */
+    void onRowRemoved(final int rowIndex, final int dataIndex);
+
+}
@@ -11,6 +11,7 @@ public enum SortState {
     NOT_SORTABLE,
     SORTABLE,
     SORTED_ASC,
-    SORTED_DESC
+    SORTED_DESC,
+    SORTING
 
 }
@@ -1,6 +1,8 @@
 package de.codecrafters.tableview;
 
 import android.content.Context;
+import android.graphics.drawable.Drawable;
+import android.support.v4.content.ContextCompat;
 import android.util.Log;
 import android.view.View;
 import android.widget.FrameLayout;
@@ -8,8 +10,11 @@ import android.widget.ImageView;
 import android.widget.LinearLayout;
 import android.widget.TextView;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 import de.codecrafters.tableview.providers.SortStateViewProvider;
 import de.codecrafters.tableview.toolkit.SortStateViewProviders;
@@ -17,15 +22,23 @@ import de.codecrafters.tableview.toolkit.SortStateViewProviders;
 
 /**
  * Extension of the {@link TableHeaderView} that will show sorting indicators at the start of the header.
+ * Only the sort views of columns whose sort state changes are updated, and every sort state drawable is
+ * loaded only once and then shared by all sort views.
  *
  * @author ISchwarz
  */
 class SortableTableHeaderView extends TableHeaderView {
 
     private static final String LOG_TAG = SortableTableHeaderView.class.toString();
+    private static final float SORT_VIEW_ALPHA_SORTING = 0.4f;
+    private static final float SORT_VIEW_ALPHA_DEFAULT = 1.0f;
 
     private final Map<Integer, ImageView> sortViews = new HashMap<>();
     private final Map<Integer, SortState> sortStates = new HashMap<>();
+    private final Map<Integer, TextView> sortPriorityViews = new HashMap<>();
+    private final Set<Integer> sortedColumns = new HashSet<>();
+    private final Map<Integer, Integer> sortPriorities = new HashMap<>();
+    private final Map<Integer, Drawable.ConstantState> sortDrawableStates = new HashMap<>();
     private SortStateViewProvider sortStateViewProvider = SortStateViewProviders.darkArrows();
 
 
@@ -40,27 +53,55 @@ class SortableTableHeaderView extends TableHeaderView {
     }
 
     /**
-     * Will set all sort views to state "sortable".
+     * Will set all sort views to state "sortable" and hide all sort priorities. Only the columns that are
+     * currently sorted or shown with a priority are touched.
      */
     public void resetSortViews() {
-        for (final int column : sortStates.keySet()) {
-            SortState columnSortState = sortStates.get(column);
-            if (columnSortState != SortState.NOT_SORTABLE) {
-                columnSortState = SortState.SORTABLE;
+        for (final int column : sortPriorities.keySet()) {
+            final TextView sortPriorityView = sortPriorityViews.get(column);
+            if (sortPriorityView != null) {
+                sortPriorityView.setVisibility(GONE);
             }
-            sortStates.put(column, columnSortState);
         }
-        for (final int column : sortStates.keySet()) {
+        sortPriorities.clear();
+
+        for (final int column : sortedColumns) {
+            sortStates.put(column, SortState.SORTABLE);
             final ImageView sortView = sortViews.get(column);
-            final SortState sortState = sortStates.get(column);
-            final int imageRes = sortStateViewProvider.getSortStateViewResource(sortState);
-            sortView.setImageResource(imageRes);
-            if (imageRes == 0) {
-                sortView.setVisibility(GONE);
-            } else {
-                sortView.setVisibility(VISIBLE);
+            if (sortView != null) {
+                renderSortView(sortView, SortState.SORTABLE);
+            }
+        }
+        sortedColumns.clear();
+    }
+
+    /**
+     * Shows the given sort states and sort priorities. All other sorted columns are set to state "sortable"
+     * and all other priorities are hidden. Only the views whose state or priority changes are touched.
+     *
+     * @param states
+     *         The {@link SortState}s of the sorted columns by column index.
+     * @param priorities
+     *         The priorities of the sorted columns by column index.
+     */
+    public void updateSortViews(final Map<Integer, SortState> states, final Map<Integer, Integer> priorities) {
+        for (final int column : new ArrayList<>(sortPriorities.keySet())) {
+            if (!priorities.containsKey(column)) {
+                setSortPriority(column, 0);
+            }
+        }
+        for (final Map.Entry<Integer, Integer> priority : priorities.entrySet()) {
+            setSortPriority(priority.getKey(), priority.getValue());
+        }
+
+        for (final int column : new ArrayList<>(sortedColumns)) {
+            if (!states.containsKey(column)) {
+                setSortState(column, SortState.SORTABLE);
             }
         }
+        for (final Map.Entry<Integer, SortState> state : states.entrySet()) {
+            setSortState(state.getKey(), state.getValue());
+        }
     }
 
     /**
@@ -81,14 +122,94 @@ class SortableTableHeaderView extends TableHeaderView {
             return;
         }
 
+        if (sortStates.get(columnIndex) == state) {
+            return;
+        }
         sortStates.put(columnIndex, state);
+        if (state == SortState.SORTABLE || state == SortState.NOT_SORTABLE) {
+            sortedColumns.remove(columnIndex);
+        } else {
+            sortedColumns.add(columnIndex);
+        }
+        renderSortView(sortView, state);
+    }
+
+    /**
+     * Sets the priority of the column with the given index in a sorting by multiple columns. The priority
+     * is shown next to the sort view.
+     *
+     * @param columnIndex
+     *         The index of the column for which the given priority will be shown.
+     * @param priority
+     *         The priority (starting at 1) that shall be shown or 0 to hide the priority.
+     */
+    public void setSortPriority(final int columnIndex, final int priority) {
+        final TextView sortPriorityView = sortPriorityViews.get(columnIndex);
+
+        if (sortPriorityView == null) {
+            Log.e(LOG_TAG, "SortPriorityView not found for columnIndex with index " + columnIndex);
+            return;
+        }
+
+        final Integer shownPriority = sortPriorities.get(columnIndex);
+        if (priority == (shownPriority != null ? shownPriority : 0)) {
+            return;
+        }
+        if (priority > 0) {
+            sortPriorities.put(columnIndex, priority);
+        } else {
+            sortPriorities.remove(columnIndex);
+        }
+        renderSortPriorityView(sortPriorityView, priority);
+    }
+
+    private void renderSortPriorityView(final TextView sortPriorityView, final int priority) {
+        if (priority > 0) {
+            sortPriorityView.setText(String.valueOf(priority));
+            sortPriorityView.setVisibility(VISIBLE);
+        } else {
+            sortPriorityView.setVisibility(GONE);
+        }
+    }
+
+    private void renderSortView(final ImageView sortView, final SortState state) {
         final int imageRes = sortStateViewProvider.getSortStateViewResource(state);
-        sortView.setImageResource(imageRes);
+        final Object renderedImageRes = sortView.getTag(R.id.sort_view);
+        if (renderedImageRes == null || (Integer) renderedImageRes != imageRes) {
+            sortView.setImageDrawable(getSortStateDrawable(imageRes));
+            sortView.setTag(R.id.sort_view, imageRes);
+        }
         if (imageRes == 0) {
             sortView.setVisibility(GONE);
         } else {
             sortView.setVisibility(VISIBLE);
         }
+        if (state == SortState.SORTING) {
+            sortView.setAlpha(SORT_VIEW_ALPHA_SORTING);
+        } else {
+            sortView.setAlpha(SORT_VIEW_ALPHA_DEFAULT);
+        }
+    }
+
+    /**
+     * Gives a drawable of the given resource. Every resource is decoded only once, afterwards new drawables
+     * sharing the decoded image are created from the cached constant state.
+     */
+    private Drawable getSortStateDrawable(final int imageRes) {
+        if (imageRes == 0) {
+            return null;
+        }
+
+        final Drawable.ConstantState drawableState = sortDrawableStates.get(imageRes);
+        if (drawableState != null) {
+            return drawableState.newDrawable(getResources());
+        }
+
+        final Drawable drawable = ContextCompat.getDrawable(getContext(), imageRes);
+        if (drawable != null && drawable.getConstantState() != null) {
+            sortDrawableStates.put(imageRes, drawable.getConstantState());
+        }
+        return drawable;
     }
 
     /**
@@ -109,41 +230,49 @@ class SortableTableHeaderView extends TableHeaderView {
     public void setSortStateViewProvider(final SortStateViewProvider provider) {
         sortStateViewProvider = provider;
         resetSortViews();
+        for (final int column : sortViews.keySet()) {
+            final SortState sortState = sortStates.get(column);
+            renderSortView(sortViews.get(column), sortState != null ? sortState : SortState.NOT_SORTABLE);
+        }
     }
 
     @Override
     protected void renderHeaderViews() {
-        removeAllViews();
-
-        for (int columnIndex = 0; columnIndex < adapter.getColumnCount(); columnIndex++) {
-            final LinearLayout headerContainerLayout = (LinearLayout) adapter.getLayoutInflater().inflate(R.layout.sortable_header, this, false);
-            headerContainerLayout.setOnClickListener(new InternalHeaderClickListener(columnIndex, getHeaderClickListeners()));
+        sortViews.clear();
+        sortPriorityViews.clear();
+        super.renderHeaderViews();
+        resetSortViews();
+    }
 
-            View headerView = adapter.getHeaderView(columnIndex, headerContainerLayout);
-            if (headerView == null) {
-                headerView = new TextView(getContext());
-            }
-            final FrameLayout headerContainer = (FrameLayout) headerContainerLayout.findViewById(R.id.container);
-            headerContainer.addView(headerView);
-
-            final int imageRes = sortStateViewProvider.getSortStateViewResource(SortState.NOT_SORTABLE);
-            final ImageView sortView = (ImageView) headerContainerLayout.findViewById(R.id.sort_view);
-            sortView.setImageResource(imageRes);
-            if (imageRes == 0) {
-                sortView.setVisibility(GONE);
-            } else {
-                sortView.setVisibility(VISIBLE);
-            }
-            sortViews.put(columnIndex, sortView);
+    @Override
+    protected View createHeaderView(final int columnIndex) {
+        final LinearLayout headerContainerLayout = (LinearLayout) adapter.getLayoutInflater().inflate(R.layout.sortable_header, this, false);
+        headerContainerLayout.setOnClickListener(new InternalHeaderClickListener(columnIndex, getHeaderClickListeners()));
 
-            final int width = 0;
-            final int height = LayoutParams.WRAP_CONTENT;
-            final int weight = adapter.getColumnWeight(columnIndex);
-            final LayoutParams headerLayoutParams = new LayoutParams(width, height, weight);
-            addView(headerContainerLayout, headerLayoutParams);
+        View headerView = adapter.getHeaderView(columnIndex, headerContainerLayout);
+        if (headerView == null) {
+            headerView = new TextView(getContext());
         }
+        final FrameLayout headerContainer = (FrameLayout) headerContainerLayout.findViewById(R.id.container);
+        headerContainer.addView(headerView);
 
-        resetSortViews();
+        final SortState sortState = sortStates.get(columnIndex);
+        final ImageView sortView = (ImageView) headerContainerLayout.findViewById(R.id.sort_view);
+        renderSortView(sortView, sortState != null ? sortState : SortState.NOT_SORTABLE);
+        sortViews.put(columnIndex, sortView);
+        final Integer sortPriority = sortPriorities.get(columnIndex);
+        final TextView sortPriorityView = (TextView) headerContainerLayout.findViewById(R.id.sort_priority);
+        renderSortPriorityView(sortPriorityView, sortPriority != null ? sortPriority : 0);
+        sortPriorityViews.put(columnIndex, sortPriorityView);
+
+        return headerContainerLayout;
+    }
+
+    @Override
+    protected void removeHeaderView(final int columnIndex) {
+        super.removeHeaderView(columnIndex);
+        sortViews.remove(columnIndex);
+        sortPriorityViews.remove(columnIndex);
     }
 
 }
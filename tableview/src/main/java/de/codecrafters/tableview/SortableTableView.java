@@ -2,21 +2,37 @@ package de.codecrafters.tableview;
 
 import android.content.Context;
 import android.database.DataSetObserver;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
 import android.util.AttributeSet;
 import android.util.Log;
 
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+import de.codecrafters.tableview.extractors.DoubleKeyExtractor;
+import de.codecrafters.tableview.extractors.IntKeyExtractor;
+import de.codecrafters.tableview.extractors.KeyExtractor;
+import de.codecrafters.tableview.extractors.LongKeyExtractor;
 import de.codecrafters.tableview.listeners.TableHeaderClickListener;
 import de.codecrafters.tableview.providers.SortStateViewProvider;
 
 /**
  * Extension of the {@link TableView} that gives the possibility to sort the table by every single
- * column. For this purpose implementations of {@link Comparator} are used. If there is a comparator
+ * column. For this purpose implementations of {@link Comparator} are used. The sorting never reorders
+ * the data list of the {@link TableDataAdapter}, so the same list can be shared between several tables. If there is a comparator
  * set for a column the {@link SortableTableView} will automatically display an ImageView at the start
  * of the header indicating to the user, that this column is sortable.
  * If the user clicks this header the given comparator will used to sort the table ascending by the
@@ -29,6 +45,14 @@ public class SortableTableView<T> extends TableView<T> {
 
     private static final String LOG_TAG = SortableTableView.class.getName();
 
+    private static final int DEFAULT_PARALLEL_SORTING_THRESHOLD = 100000;
+    private static final int SORTING_PARALLELISM = Runtime.getRuntime().availableProcessors();
+    private static final long PARALLEL_SORTING_THREAD_KEEP_ALIVE_SECONDS = 10;
+    private static final int MIN_PARTIAL_SORTING_ROW_COUNT = 50;
+
+    private static Executor defaultSortingExecutor;
+    private static Executor parallelSortingExecutor;
+
     private final SortableTableHeaderView sortableTableHeaderView;
     private final SortingController sortingController;
 
@@ -81,6 +105,7 @@ public class SortableTableView<T> extends TableView<T> {
     @Override
     public void setDataAdapter(final TableDataAdapter<T> dataAdapter) {
         dataAdapter.registerDataSetObserver(new RecapSortingDataSetObserver());
+        dataAdapter.setRowMutationListener(sortingController);
         super.setDataAdapter(dataAdapter);
     }
 
@@ -97,6 +122,84 @@ public class SortableTableView<T> extends TableView<T> {
         sortingController.setComparator(columnIndex, columnComparator);
     }
 
+    /**
+     * Sets the given {@link KeyExtractor} for the column at the given index. The column will be sorted by the
+     * extracted keys. In contrast to a {@link Comparator}, the key of every row is extracted only once per sorting.
+     *
+     * @param columnIndex
+     *         The index of the column the given {@link KeyExtractor} shall be set to.
+     * @param keyExtractor
+     *         The {@link KeyExtractor} that extracts the sort key of a row.
+     */
+    public <K extends Comparable<? super K>> void setColumnSortKey(final int columnIndex, final KeyExtractor<T, K> keyExtractor) {
+        sortingController.setComparator(columnIndex, ColumnSortKey.forKeyExtractor(keyExtractor));
+    }
+
+    /**
+     * Sets the given {@link IntKeyExtractor} for the column at the given index. The column will be sorted by the
+     * extracted keys, which are kept in an {@code int} array while sorting.
+     *
+     * @param columnIndex
+     *         The index of the column the given {@link IntKeyExtractor} shall be set to.
+     * @param keyExtractor
+     *         The {@link IntKeyExtractor} that extracts the sort key of a row.
+     */
+    public void setColumnSortKey(final int columnIndex, final IntKeyExtractor<T> keyExtractor) {
+        sortingController.setComparator(columnIndex, ColumnSortKey.forIntKeyExtractor(keyExtractor));
+    }
+
+    /**
+     * Sets the given {@link LongKeyExtractor} for the column at the given index. The column will be sorted by the
+     * extracted keys, which are kept in a {@code long} array while sorting.
+     *
+     * @param columnIndex
+     *         The index of the column the given {@link LongKeyExtractor} shall be set to.
+     * @param keyExtractor
+     *         The {@link LongKeyExtractor} that extracts the sort key of a row.
+     */
+    public void setColumnSortKey(final int columnIndex, final LongKeyExtractor<T> keyExtractor) {
+        sortingController.setComparator(columnIndex, ColumnSortKey.forLongKeyExtractor(keyExtractor));
+    }
+
+    /**
+     * Sets the given {@link DoubleKeyExtractor} for the column at the given index. The column will be sorted by the
+     * extracted keys, which are kept in a {@code double} array while sorting.
+     *
+     * @param columnIndex
+     *         The index of the column the given {@link DoubleKeyExtractor} shall be set to.
+     * @param keyExtractor
+     *         The {@link DoubleKeyExtractor} that extracts the sort key of a row.
+     */
+    public void setColumnSortKey(final int columnIndex, final DoubleKeyExtractor<T> keyExtractor) {
+        sortingController.setComparator(columnIndex, ColumnSortKey.forDoubleKeyExtractor(keyExtractor));
+    }
+
+    /**
+     * Sets the given SQL ORDER BY term (e.g. the name of a database column) for the column at the given index.
+     * The column will then be sorted by the database, which requires a {@link CursorTableDataAdapter}. A click
+     * on the header of this column queries the rows again ordered by the given term on a background thread.
+     *
+     * @param columnIndex
+     *         The index of the column the given ORDER BY term shall be set to.
+     * @param orderByTerm
+     *         The SQL ORDER BY term of the column, without a sort direction.
+     */
+    public void setColumnOrderBy(final int columnIndex, final String orderByTerm) {
+        sortingController.setOrderByTerm(columnIndex, orderByTerm);
+    }
+
+    /**
+     * Gives the SQL ORDER BY term of the column at the given index.
+     *
+     * @param columnIndex
+     *         The index of the column to receive the ORDER BY term of.
+     * @return The ORDER BY term of the column at the given index or null if the column is not sorted by the
+     * database.
+     */
+    public String getColumnOrderBy(final int columnIndex) {
+        return sortingController.getOrderByTerm(columnIndex);
+    }
+
     /**
      * Gives the current {@link SortStateViewProvider}.
      *
@@ -121,7 +224,8 @@ public class SortableTableView<T> extends TableView<T> {
      *
      * @param columnIndex
      *         The index of the column to receive the applied {@link Comparator}.
-     * @return The {@link Comparator} of the column at the given index.
+     * @return The {@link Comparator} of the column at the given index or null if the column has none, e.g.
+     * because it is sorted by the database (see {@link #setColumnOrderBy(int, String)}).
      */
     public Comparator<T> getColumnComparator(final int columnIndex) {
         return sortingController.getRawComparator(columnIndex);
@@ -140,6 +244,21 @@ public class SortableTableView<T> extends TableView<T> {
         sortingController.onHeaderClicked(columnIndex);
     }
 
+    /**
+     * Adds the column with the given index as additional sort key to the current sorting. Rows that are
+     * equal in all previous sort keys are then ordered by the content of this column. Only these runs
+     * of equal rows are sorted, the rest of the order is kept. Calling this method again with the same
+     * column index toggles the sort direction of this column. The priority of every sort key is shown
+     * in the table header.
+     * If the table is not sorted by a column yet, this method has the same effect like {@code sort(columnIndex)}.
+     *
+     * @param columnIndex
+     *         The index of the column that shall be added as sort key.
+     */
+    public void sortAdditionally(final int columnIndex) {
+        sortingController.addSortKey(columnIndex);
+    }
+
     /**
      * Sorts the table using the given {@link Comparator}.
      *
@@ -147,54 +266,758 @@ public class SortableTableView<T> extends TableView<T> {
      *         The {@link Comparator} that shall be used to sort the table.
      */
     public void sort(final Comparator<T> comparator) {
-        sortingController.sortDataSFCT(comparator);
+        sortingController.sortCustom(comparator);
+    }
+
+    /**
+     * Enables or disables the asynchronous sorting. If enabled, a snapshot of the data is sorted on a
+     * background thread and the sorted result is swapped into the adapter on the main thread. While the
+     * sorting is pending, the header of the sorted column shows the {@link SortState#SORTING} state. A new
+     * sort request cancels the sorting that is still in progress.
+     * By default the asynchronous sorting is disabled. Tables using a {@link PagedTableDataAdapter} are
+     * always sorted asynchronously.
+     *
+     * @param asyncSortingEnabled
+     *         True if the data shall be sorted on a background thread, else false.
+     */
+    public void setAsyncSortingEnabled(final boolean asyncSortingEnabled) {
+        sortingController.asyncSortingEnabled = asyncSortingEnabled;
+    }
+
+    /**
+     * Gives the information whether the asynchronous sorting is enabled.
+     *
+     * @return True if the data is sorted on a background thread, else false.
+     */
+    public boolean isAsyncSortingEnabled() {
+        return sortingController.asyncSortingEnabled;
     }
 
+    /**
+     * Enables or disables the partial sorting. If enabled, the rows that fill the visible part of the table
+     * are sorted and displayed right away, before the asynchronous sorting of all rows is done. Until then
+     * the rows below the visible part are shown in their data order. The partial sorting only has an effect
+     * if the asynchronous sorting is enabled.
+     * By default the partial sorting is disabled.
+     *
+     * @param partialSortingEnabled
+     *         True if the visible rows shall be sorted in advance, else false.
+     */
+    public void setPartialSortingEnabled(final boolean partialSortingEnabled) {
+        sortingController.partialSortingEnabled = partialSortingEnabled;
+    }
+
+    /**
+     * Gives the information whether the partial sorting is enabled.
+     *
+     * @return True if the visible rows are sorted in advance, else false.
+     */
+    public boolean isPartialSortingEnabled() {
+        return sortingController.partialSortingEnabled;
+    }
+
+    /**
+     * Sets the {@link Executor} that shall be used for the asynchronous sorting. By default a single
+     * background thread shared by all SortableTableViews is used.
+     *
+     * @param sortingExecutor
+     *         The {@link Executor} that shall be used for the asynchronous sorting.
+     */
+    public void setSortingExecutor(final Executor sortingExecutor) {
+        sortingController.sortingExecutor = sortingExecutor;
+    }
 
     /**
-     * A controller managing all actions that are in the context of sorting.
+     * Sets the number of rows from which on the table is sorted using all cores of the device. The rows are
+     * then split into chunks that are sorted and merged in parallel. The result is the same as the one of
+     * a sorting on a single thread, but the used {@link Comparator}s have to be thread safe.
+     * Columns that are sorted by primitive sort keys are always sorted on a single thread.
+     * By default tables with 100000 rows or more are sorted in parallel.
+     *
+     * @param parallelSortingThreshold
+     *         The number of rows from which on the table shall be sorted in parallel. Use
+     *         {@link Integer#MAX_VALUE} to disable the parallel sorting.
+     */
+    public void setParallelSortingThreshold(final int parallelSortingThreshold) {
+        sortingController.parallelSortingThreshold = parallelSortingThreshold;
+    }
+
+    /**
+     * Gives the number of rows from which on the table is sorted using all cores of the device.
+     *
+     * @return The number of rows from which on the table is sorted in parallel.
+     */
+    public int getParallelSortingThreshold() {
+        return sortingController.parallelSortingThreshold;
+    }
+
+    private static synchronized Executor getDefaultSortingExecutor() {
+        if (defaultSortingExecutor == null) {
+            defaultSortingExecutor = Executors.newSingleThreadExecutor(new SortingThreadFactory());
+        }
+        return defaultSortingExecutor;
+    }
+
+    private static synchronized Executor getParallelSortingExecutor() {
+        if (parallelSortingExecutor == null) {
+            final ThreadPoolExecutor executor = new ThreadPoolExecutor(SORTING_PARALLELISM, SORTING_PARALLELISM,
+                    PARALLEL_SORTING_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new SortingThreadFactory());
+            executor.allowCoreThreadTimeOut(true);
+            parallelSortingExecutor = executor;
+        }
+        return parallelSortingExecutor;
+    }
+
+
+    /**
+     * A controller managing all actions that are in the context of sorting. The data list of the adapter
+     * is never reordered, instead the controller sorts a permutation of the row indices and hands it
+     * to the {@link TableDataAdapter}. The ascending permutation of every sorted column is cached until
+     * the data changes. The descending permutation is derived from the ascending one without sorting.
+     * Rows that are added, updated or removed using the mutation methods of the {@link TableDataAdapter}
+     * are placed into the current order using binary search instead of sorting all rows again.
+     * Additional sort keys are applied by sorting only the runs of rows that are equal in all previous keys.
      *
      * @author ISchwarz
      */
-    private class SortingController implements TableHeaderClickListener {
+    private class SortingController implements TableHeaderClickListener, RowMutationListener {
 
         private final Map<Integer, Comparator<T>> comparators = new HashMap<>();
+        private final Map<Integer, String> orderByTerms = new HashMap<>();
+        private final Map<Integer, int[]> ascendingRowOrders = new HashMap<>();
+        private final List<SortKey> secondarySortKeys = new ArrayList<>();
+        private final Handler mainHandler = new Handler(Looper.getMainLooper());
         private int sortedColumnIndex = -1;
-        private Comparator<T> sortedColumnComparator;
+        private Comparator<T> customComparator;
         private boolean isSortedUp;
+        private boolean asyncSortingEnabled = false;
+        private boolean partialSortingEnabled = false;
+        private Executor sortingExecutor = getDefaultSortingExecutor();
+        private int parallelSortingThreshold = DEFAULT_PARALLEL_SORTING_THRESHOLD;
+        private AsyncSortTask pendingSortTask;
+        private boolean isNotifyingSortedData = false;
 
         @Override
         public void onHeaderClicked(final int columnIndex) {
-            if (!comparators.containsKey(columnIndex)) {
+            if (!isSortable(columnIndex)) {
                 Log.i(LOG_TAG, "Unable to sort column with index " + columnIndex + ". Reason: no comparator set for this column.");
                 return;
             }
 
-            sortedColumnComparator = getComparator(columnIndex);
-            sortDataSFCT(sortedColumnComparator);
-            setSortView(columnIndex);
-
+            updateSortDirection(columnIndex);
             sortedColumnIndex = columnIndex;
+            customComparator = null;
+            secondarySortKeys.clear();
+            sortColumn(columnIndex);
         }
 
-        private void setSortView(final int columnIndex) {
-            sortableTableHeaderView.resetSortViews();
-            if (isSortedUp) {
-                sortableTableHeaderView.setSortState(columnIndex, SortState.SORTED_ASC);
+        private void addSortKey(final int columnIndex) {
+            if (!isSortable(columnIndex)) {
+                Log.i(LOG_TAG, "Unable to sort column with index " + columnIndex + ". Reason: no comparator set for this column.");
+                return;
+            }
+            if (sortedColumnIndex < 0) {
+                onHeaderClicked(columnIndex);
+                return;
+            }
+            if (sortedColumnIndex == columnIndex) {
+                isSortedUp = !isSortedUp;
+                sortDataSFCT(createSortKeyComparator(secondarySortKeys.size()));
+                return;
+            }
+
+            int keyIndex = -1;
+            for (int index = 0; index < secondarySortKeys.size(); index++) {
+                if (secondarySortKeys.get(index).columnIndex == columnIndex) {
+                    keyIndex = index;
+                }
+            }
+
+            final int[] rowOrder = comparators.containsKey(columnIndex) ? getMaintainableRowOrder(tableDataAdapter.getData().size()) : null;
+            if (keyIndex < 0) {
+                secondarySortKeys.add(new SortKey(columnIndex, true));
+                if (rowOrder != null) {
+                    refineRowOrder(rowOrder, secondarySortKeys.size() - 1, false);
+                } else {
+                    sortDataSFCT(createSortKeyComparator(secondarySortKeys.size()));
+                }
+            } else if (keyIndex == secondarySortKeys.size() - 1 && rowOrder != null) {
+                refineRowOrder(rowOrder, keyIndex, true);
             } else {
-                sortableTableHeaderView.setSortState(columnIndex, SortState.SORTED_DESC);
+                secondarySortKeys.get(keyIndex).ascending = !secondarySortKeys.get(keyIndex).ascending;
+                sortDataSFCT(createSortKeyComparator(secondarySortKeys.size()));
+            }
+        }
+
+        /**
+         * Orders the runs of rows that are equal in the primary and all secondary sort keys before the one
+         * at the given index, by the secondary sort key at the given index. If reverse is true, the runs are
+         * expected to be sorted by this key already, so they are only reversed and the direction of the key
+         * is toggled. If asynchronous sorting is enabled, the runs are ordered in the background.
+         */
+        private void refineRowOrder(final int[] rowOrder, final int keyIndex, final boolean reverse) {
+            final SortKey sortKey = secondarySortKeys.get(keyIndex);
+            final Comparator<T> prefixComparator = createSortKeyComparator(keyIndex);
+            final Comparator<T> keyComparator = sortKey.getComparator();
+            if (reverse) {
+                sortKey.ascending = !sortKey.ascending;
+            }
+
+            if (asyncSortingEnabled) {
+                cancelPendingSorting();
+                sortableTableHeaderView.setSortState(sortKey.columnIndex, SortState.SORTING);
+                pendingSortTask = new RefinementSortTask(tableDataAdapter.createDataSnapshot(), rowOrder, prefixComparator, keyComparator, reverse);
+                sortingExecutor.execute(pendingSortTask);
+                return;
+            }
+
+            final List<T> data = tableDataAdapter.getData();
+            updateMaintainedRowOrder(refineRuns(rowOrder, createRowIndexComparator(data, prefixComparator),
+                    createRowIndexComparator(data, keyComparator), reverse));
+            notifySortedDataChanged();
+            updateSortViews();
+        }
+
+        /**
+         * Gives a copy of the given row order in which every run of rows that are equal according to the prefix
+         * comparator is sorted by the key comparator, or only reversed if reverse is true.
+         */
+        private int[] refineRuns(final int[] rowOrder, final RowIndexComparator prefixComparator,
+                                 final RowIndexComparator keyComparator, final boolean reverse) {
+            final int[] newRowOrder = rowOrder.clone();
+            int runStart = 0;
+            for (int index = 1; index <= newRowOrder.length; index++) {
+                if (index == newRowOrder.length || prefixComparator.compare(newRowOrder[index - 1], newRowOrder[index]) != 0) {
+                    if (index - runStart > 1) {
+                        if (reverse) {
+                            final int[] run = Arrays.copyOfRange(newRowOrder, runStart, index);
+                            System.arraycopy(RowIndexSorter.reverse(run, keyComparator), 0, newRowOrder, runStart, run.length);
+                        } else {
+                            RowIndexSorter.sort(newRowOrder, runStart, index, keyComparator);
+                        }
+                    }
+                    runStart = index;
+                }
             }
+            return newRowOrder;
+        }
+
+        private void updateSortViews() {
+            final Map<Integer, SortState> sortStates = new HashMap<>();
+            final Map<Integer, Integer> sortPriorities = new HashMap<>();
+            if (sortedColumnIndex >= 0) {
+                sortStates.put(sortedColumnIndex, isSortedUp ? SortState.SORTED_ASC : SortState.SORTED_DESC);
+                if (!secondarySortKeys.isEmpty()) {
+                    sortPriorities.put(sortedColumnIndex, 1);
+                    for (int index = 0; index < secondarySortKeys.size(); index++) {
+                        final SortKey sortKey = secondarySortKeys.get(index);
+                        sortStates.put(sortKey.columnIndex, sortKey.ascending ? SortState.SORTED_ASC : SortState.SORTED_DESC);
+                        sortPriorities.put(sortKey.columnIndex, index + 2);
+                    }
+                }
+            }
+            sortableTableHeaderView.updateSortViews(sortStates, sortPriorities);
+        }
+
+        /**
+         * Creates a {@link Comparator} that compares by the primary sort key and the given number of
+         * secondary sort keys, each in its current direction. The keys of every sort key column are
+         * extracted separately when sorting.
+         */
+        private Comparator<T> createSortKeyComparator(final int secondaryKeyCount) {
+            final List<Comparator<T>> keyComparators = new ArrayList<>();
+            keyComparators.add(new SortKey(sortedColumnIndex, isSortedUp).getComparator());
+            for (int index = 0; index < secondaryKeyCount; index++) {
+                keyComparators.add(secondarySortKeys.get(index).getComparator());
+            }
+            return ColumnSortKey.forComparators(keyComparators);
         }
 
         private void recapSorting() {
-            sortDataSFCT(sortedColumnComparator);
+            ascendingRowOrders.clear();
+            if (sortedColumnIndex >= 0 && !secondarySortKeys.isEmpty()) {
+                sortDataSFCT(createSortKeyComparator(secondarySortKeys.size()));
+            } else if (sortedColumnIndex >= 0) {
+                sortColumn(sortedColumnIndex);
+            } else {
+                sortDataSFCT(customComparator);
+            }
+        }
+
+        private void sortColumn(final int columnIndex) {
+            if (!isSortable(columnIndex)) {
+                return;
+            }
+
+            if (isDataOrderedByDatabase()) {
+                orderByDatabase(columnIndex);
+                return;
+            }
+            if (hasOrderByTerms()) {
+                Log.i(LOG_TAG, "Unable to sort column with index " + columnIndex + ". Reason: ORDER BY terms require a CursorTableDataAdapter.");
+                return;
+            }
+
+            cancelPendingSorting();
+            final Comparator<T> comparator = comparators.get(columnIndex);
+            final List<T> data = tableDataAdapter.getData();
+            int[] ascendingRowOrder = ascendingRowOrders.get(columnIndex);
+            if (ascendingRowOrder != null && ascendingRowOrder.length != data.size()) {
+                ascendingRowOrder = null;
+            }
+
+            if (isSortedUp && ascendingRowOrder != null) {
+                applyRowOrder(ascendingRowOrder, columnIndex);
+            } else if (asyncSortingEnabled || isDataPaged()) {
+                sortableTableHeaderView.resetSortViews();
+                sortableTableHeaderView.setSortState(columnIndex, SortState.SORTING);
+                final int partialRowCount = ascendingRowOrder == null ? getPartialRowCount() : 0;
+                pendingSortTask = new ColumnSortTask(tableDataAdapter.createDataSnapshot(), comparator, columnIndex, isSortedUp, ascendingRowOrder, partialRowCount);
+                sortingExecutor.execute(pendingSortTask);
+            } else {
+                final RowIndexComparator rowComparator = createRowIndexComparator(data, comparator);
+                if (ascendingRowOrder == null) {
+                    ascendingRowOrder = sortAscending(rowComparator);
+                    ascendingRowOrders.put(columnIndex, ascendingRowOrder);
+                }
+                if (isSortedUp) {
+                    applyRowOrder(ascendingRowOrder, columnIndex);
+                } else {
+                    applyRowOrder(RowIndexSorter.reverse(ascendingRowOrder, rowComparator), columnIndex);
+                }
+            }
         }
 
         private void sortDataSFCT(final Comparator<T> comparator) {
-            if (comparator != null) {
-                final List<T> data = tableDataAdapter.getData();
-                Collections.sort(data, comparator);
+            if (comparator == null) {
+                return;
+            }
+            if (isDataOrderedByDatabase()) {
+                orderByDatabase(-1);
+                return;
+            }
+            if (hasOrderByTerms()) {
+                Log.i(LOG_TAG, "Unable to sort the table. Reason: ORDER BY terms require a CursorTableDataAdapter.");
+                return;
+            }
+
+            cancelPendingSorting();
+            final List<T> data = tableDataAdapter.getData();
+            if (asyncSortingEnabled || isDataPaged()) {
+                pendingSortTask = new ColumnSortTask(tableDataAdapter.createDataSnapshot(), comparator, -1, true, null, getPartialRowCount());
+                sortingExecutor.execute(pendingSortTask);
+            } else {
+                applyRowOrder(sortAscending(createRowIndexComparator(data, comparator)), -1);
+            }
+        }
+
+        private void sortCustom(final Comparator<T> comparator) {
+            sortedColumnIndex = -1;
+            customComparator = comparator;
+            secondarySortKeys.clear();
+            sortableTableHeaderView.resetSortViews();
+            sortDataSFCT(comparator);
+        }
+
+        /**
+         * Queries the rows of the {@link CursorTableDataAdapter} again, ordered by the ORDER BY terms of the
+         * current sort keys. The database delivers the rows in this order, so no row order is needed. If the
+         * rows are ordered this way already, the order is only applied.
+         */
+        private void orderByDatabase(final int columnIndex) {
+            final String orderBy = createOrderByClause();
+            if (orderBy == null) {
+                Log.i(LOG_TAG, "Unable to sort the table. Reason: not all sort keys have an ORDER BY term.");
+                return;
+            }
+
+            cancelPendingSorting();
+            final CursorTableDataAdapter cursorAdapter = (CursorTableDataAdapter) tableDataAdapter;
+            if (cursorAdapter.isOrderedBy(orderBy)) {
+                applyRowOrder(null, columnIndex);
+                return;
+            }
+
+            sortableTableHeaderView.resetSortViews();
+            if (sortedColumnIndex >= 0) {
+                sortableTableHeaderView.setSortState(sortedColumnIndex, SortState.SORTING);
+            }
+            cursorAdapter.query(orderBy, new Runnable() {
+                @Override
+                public void run() {
+                    if (cursorAdapter.isOrderedBy(orderBy)) {
+                        applyRowOrder(null, columnIndex);
+                    } else {
+                        Log.w(LOG_TAG, "Unable to sort the table. Reason: the rows could not be queried.");
+                        sortableTableHeaderView.resetSortViews();
+                    }
+                }
+            });
+        }
+
+        /**
+         * Creates the SQL ORDER BY clause of the current sort keys.
+         *
+         * @return The ORDER BY clause or null if not all sort keys have an ORDER BY term.
+         */
+        private String createOrderByClause() {
+            if (sortedColumnIndex < 0) {
+                return null;
+            }
+
+            final StringBuilder orderBy = new StringBuilder();
+            if (!appendOrderByTerm(orderBy, sortedColumnIndex, isSortedUp)) {
+                return null;
+            }
+            for (final SortKey sortKey : secondarySortKeys) {
+                if (!appendOrderByTerm(orderBy, sortKey.columnIndex, sortKey.ascending)) {
+                    return null;
+                }
+            }
+            return orderBy.toString();
+        }
+
+        private boolean appendOrderByTerm(final StringBuilder orderBy, final int columnIndex, final boolean ascending) {
+            final String orderByTerm = orderByTerms.get(columnIndex);
+            if (orderByTerm == null) {
+                return false;
+            }
+            if (orderBy.length() > 0) {
+                orderBy.append(", ");
+            }
+            orderBy.append(orderByTerm).append(ascending ? " ASC" : " DESC");
+            return true;
+        }
+
+        /**
+         * Checks whether one of the current sort keys is an ORDER BY term, which can not be sorted in memory.
+         */
+        private boolean hasOrderByTerms() {
+            if (sortedColumnIndex < 0) {
+                return false;
+            }
+            if (orderByTerms.containsKey(sortedColumnIndex)) {
+                return true;
+            }
+            for (final SortKey sortKey : secondarySortKeys) {
+                if (orderByTerms.containsKey(sortKey.columnIndex)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Gives the number of rows that fill the visible part of the table (plus the same number of rows
+         * below). An asynchronous sorting sorts these rows first and displays them in advance. Gives 0 if
+         * partial sorting is disabled or would not pay off.
+         */
+        private int getPartialRowCount() {
+            if (!partialSortingEnabled || isDataPaged()) {
+                return 0;
+            }
+            final int partialRowCount = Math.max(MIN_PARTIAL_SORTING_ROW_COUNT, 2 * getVisibleRowCount());
+            return tableDataAdapter.getData().size() > partialRowCount ? partialRowCount : 0;
+        }
+
+        /**
+         * Displays the partially sorted row order of the given pending sort task in advance of its full
+         * row order.
+         */
+        private void applyPartialRowOrder(final AsyncSortTask sortTask, final int[] partialRowOrder) {
+            if (sortTask != pendingSortTask || partialRowOrder.length != tableDataAdapter.getData().size()) {
+                return;
+            }
+            tableDataAdapter.setRowOrder(partialRowOrder);
+            notifySortedDataChanged();
+        }
+
+        private void cancelPendingSorting() {
+            if (pendingSortTask != null) {
+                pendingSortTask.cancel();
+                pendingSortTask = null;
+            }
+        }
+
+        private void applySortedRowOrder(final AsyncSortTask sortTask) {
+            if (sortTask != pendingSortTask) {
+                return;
+            }
+            pendingSortTask = null;
+
+            final int sortedRowCount = sortTask.data.size();
+            final int rowCount = tableDataAdapter.getData().size();
+            if (rowCount < sortedRowCount) {
+                Log.w(LOG_TAG, "Unable to apply sorted row order. Reason: the data has changed while sorting. Restarting the sorting.");
+                recapSorting();
+                if (pendingSortTask == null) {
+                    // the sorting has been done synchronously or not at all, so the sorting state has to be cleared
+                    updateSortViews();
+                }
+                return;
+            }
+            if (rowCount > sortedRowCount) {
+                // rows have only been appended while sorting (other mutations restart the sorting), so the
+                // sorted rows are displayed in advance and the appended rows are merged in the background
+                ascendingRowOrders.clear();
+                tableDataAdapter.setRowOrder(RowIndexSorter.append(sortTask.rowOrder, rowCount - sortedRowCount));
+                notifySortedDataChanged();
+                pendingSortTask = new MergeSortTask(tableDataAdapter.createDataSnapshot(), sortTask.rowOrder,
+                        getSortingComparator(), sortedColumnIndex >= 0 && isSortedUp && secondarySortKeys.isEmpty());
+                sortingExecutor.execute(pendingSortTask);
+                return;
+            }
+            if (sortTask.columnIndex >= 0) {
+                ascendingRowOrders.put(sortTask.columnIndex, sortTask.ascendingRowOrder);
+            }
+            tableDataAdapter.onDataSnapshotSorted(sortTask.data, sortTask.rowOrder);
+            applyRowOrder(sortTask.rowOrder, sortTask.columnIndex);
+        }
+
+        private void applyRowOrder(final int[] rowOrder, final int columnIndex) {
+            tableDataAdapter.setRowOrder(rowOrder);
+            notifySortedDataChanged();
+            updateSortViews();
+        }
+
+        private void notifySortedDataChanged() {
+            isNotifyingSortedData = true;
+            try {
                 tableDataAdapter.notifyDataSetChanged();
+            } finally {
+                isNotifyingSortedData = false;
+            }
+        }
+
+        @Override
+        public void onRowsAppended(final int dataIndexStart, final int rowCount) {
+            if (pendingSortTask != null && pendingSortTask.data.size() <= dataIndexStart) {
+                appendWhileSorting(dataIndexStart, rowCount);
+                return;
+            }
+
+            final int[] rowOrder = getMaintainableRowOrder(dataIndexStart);
+            if (rowOrder == null) {
+                recapOrNotifyRowRangeInserted(dataIndexStart, rowCount);
+                return;
+            }
+
+            final int[] insertedRowIndices = new int[rowCount];
+            final int[] newRowOrder = RowIndexSorter.mergeAppended(rowOrder, dataIndexStart, rowCount, insertedRowIndices,
+                    createRowOrderComparator());
+            updateMaintainedRowOrder(newRowOrder);
+            isNotifyingSortedData = true;
+            try {
+                int rangeStart = 0;
+                for (int index = 1; index <= rowCount; index++) {
+                    if (index == rowCount || insertedRowIndices[index] != insertedRowIndices[index - 1] + 1) {
+                        tableDataAdapter.notifyRowRangeInserted(insertedRowIndices[rangeStart], index - rangeStart);
+                        rangeStart = index;
+                    }
+                }
+            } finally {
+                isNotifyingSortedData = false;
+            }
+        }
+
+        /**
+         * Shows the rows that have been appended while an asynchronous sorting is pending at the end of the
+         * displayed rows. They are merged into the sorted order in the background as soon as the sorting is
+         * done, so a stream of appended rows does not restart the sorting again and again.
+         */
+        private void appendWhileSorting(final int dataIndexStart, final int rowCount) {
+            final int[] rowOrder = tableDataAdapter.getRowOrder();
+            if (rowOrder != null && rowOrder.length == dataIndexStart) {
+                tableDataAdapter.setRowOrder(RowIndexSorter.append(rowOrder, rowCount));
+            }
+            isNotifyingSortedData = true;
+            try {
+                tableDataAdapter.notifyRowRangeInserted(dataIndexStart, rowCount);
+            } finally {
+                isNotifyingSortedData = false;
+            }
+        }
+
+        @Override
+        public void onRowChanged(final int rowIndex, final int dataIndex) {
+            final int[] rowOrder = getMaintainableRowOrder(tableDataAdapter.getData().size());
+            if (rowOrder == null || rowOrder[rowIndex] != dataIndex) {
+                recapOrNotify(rowIndex, dataIndex, false);
+                return;
+            }
+
+            final int[] newRowOrder = new int[rowOrder.length];
+            System.arraycopy(rowOrder, 0, newRowOrder, 0, rowIndex);
+            System.arraycopy(rowOrder, rowIndex + 1, newRowOrder, rowIndex, rowOrder.length - rowIndex - 1);
+            final int newRowIndex = RowIndexSorter.insertionPoint(newRowOrder, 0, newRowOrder.length - 1, dataIndex, createRowOrderComparator());
+            System.arraycopy(newRowOrder, newRowIndex, newRowOrder, newRowIndex + 1, newRowOrder.length - newRowIndex - 1);
+            newRowOrder[newRowIndex] = dataIndex;
+
+            updateMaintainedRowOrder(newRowOrder);
+            isNotifyingSortedData = true;
+            try {
+                if (newRowIndex == rowIndex) {
+                    tableDataAdapter.notifyRowRangeChanged(rowIndex, 1);
+                } else {
+                    tableDataAdapter.notifyRowRangeRemoved(rowIndex, 1);
+                    tableDataAdapter.notifyRowRangeInserted(newRowIndex, 1);
+                }
+            } finally {
+                isNotifyingSortedData = false;
+            }
+        }
+
+        @Override
+        public void onRowRemoved(final int rowIndex, final int dataIndex) {
+            final int[] rowOrder = getMaintainableRowOrder(tableDataAdapter.getData().size() + 1);
+            if (rowOrder == null || rowOrder[rowIndex] != dataIndex) {
+                recapOrNotify(rowIndex, dataIndex, true);
+                return;
+            }
+
+            final int[] newRowOrder = new int[rowOrder.length - 1];
+            int writeIndex = 0;
+            for (int readIndex = 0; readIndex < rowOrder.length; readIndex++) {
+                final int rowDataIndex = rowOrder[readIndex];
+                if (readIndex != rowIndex) {
+                    newRowOrder[writeIndex++] = rowDataIndex > dataIndex ? rowDataIndex - 1 : rowDataIndex;
+                }
+            }
+
+            updateMaintainedRowOrder(newRowOrder);
+            isNotifyingSortedData = true;
+            try {
+                tableDataAdapter.notifyRowRangeRemoved(rowIndex, 1);
+            } finally {
+                isNotifyingSortedData = false;
+            }
+        }
+
+        private boolean isSorted() {
+            return sortedColumnIndex >= 0 || customComparator != null;
+        }
+
+        /**
+         * Gives the information whether the data is loaded page by page. Paged data is only complete in a
+         * snapshot, so it is always sorted asynchronously and the row order is never maintained in place.
+         */
+        private boolean isDataPaged() {
+            return tableDataAdapter instanceof PagedTableDataAdapter;
+        }
+
+        /**
+         * Gives the information whether the rows are ordered by the database of a {@link CursorTableDataAdapter}
+         * instead of in memory.
+         */
+        private boolean isDataOrderedByDatabase() {
+            return tableDataAdapter instanceof CursorTableDataAdapter;
+        }
+
+        private int[] getMaintainableRowOrder(final int expectedRowCount) {
+            final int[] rowOrder = tableDataAdapter.getRowOrder();
+            if (!isSorted() || pendingSortTask != null || isDataPaged() || isDataOrderedByDatabase() || hasOrderByTerms()
+                    || rowOrder == null || rowOrder.length != expectedRowCount) {
+                return null;
+            }
+            return rowOrder;
+        }
+
+        private void recapOrNotifyRowRangeInserted(final int dataIndexStart, final int rowCount) {
+            if (isSorted()) {
+                recapSorting();
+            } else {
+                tableDataAdapter.notifyRowRangeInserted(dataIndexStart, rowCount);
+            }
+        }
+
+        private void recapOrNotify(final int rowIndex, final int dataIndex, final boolean removed) {
+            if (isSorted()) {
+                recapSorting();
+            } else if (removed) {
+                tableDataAdapter.notifyRowRangeRemoved(rowIndex, 1);
+            } else {
+                tableDataAdapter.notifyRowRangeChanged(rowIndex, 1);
+            }
+        }
+
+        private void updateMaintainedRowOrder(final int[] rowOrder) {
+            ascendingRowOrders.clear();
+            if (sortedColumnIndex >= 0 && isSortedUp && secondarySortKeys.isEmpty()) {
+                ascendingRowOrders.put(sortedColumnIndex, rowOrder);
+            }
+            tableDataAdapter.setRowOrder(rowOrder);
+        }
+
+        /**
+         * Creates a {@link RowIndexComparator} that reflects the order that is currently displayed. Rows that
+         * are equal according to the sorting comparator are ordered by their data index, which is exactly
+         * the order a full sort produces. The sort keys are not extracted up front, as only a few rows are
+         * compared.
+         */
+        private RowIndexComparator createRowOrderComparator() {
+            return createRowOrderComparator(tableDataAdapter.getData(), getSortingComparator());
+        }
+
+        /**
+         * Gives the {@link Comparator} the currently displayed rows are sorted with.
+         */
+        private Comparator<T> getSortingComparator() {
+            return sortedColumnIndex >= 0 ? createSortKeyComparator(secondarySortKeys.size()) : customComparator;
+        }
+
+        /**
+         * Creates a {@link RowIndexComparator} that compares the rows of the given data using the given
+         * {@link Comparator} and orders equal rows by their data index.
+         */
+        private RowIndexComparator createRowOrderComparator(final List<T> data, final Comparator<T> comparator) {
+            final RowIndexComparator rowComparator = RowIndexSorter.forComparator(data, comparator);
+
+            return new RowIndexComparator() {
+                @Override
+                public int compare(final int dataIndex1, final int dataIndex2) {
+                    int result = rowComparator.compare(dataIndex1, dataIndex2);
+                    if (result == 0) {
+                        result = dataIndex1 < dataIndex2 ? -1 : (dataIndex1 == dataIndex2 ? 0 : 1);
+                    }
+                    return result;
+                }
+            };
+        }
+
+        /**
+         * Creates a {@link RowIndexComparator} for sorting the given data with the given {@link Comparator}.
+         * If the comparator is a {@link ColumnSortKey}, the sort keys of all rows are extracted up front.
+         */
+        @SuppressWarnings("unchecked")
+        private RowIndexComparator createRowIndexComparator(final List<T> data, final Comparator<T> comparator) {
+            if (comparator instanceof ColumnSortKey) {
+                return ((ColumnSortKey<T>) comparator).extractKeys(data);
+            }
+            return RowIndexSorter.forComparator(data, comparator);
+        }
+
+        /**
+         * Sorts the row indices of the data the given {@link RowIndexComparator} refers to. Extracted
+         * primitive sort keys are sorted directly, without calling the comparator.
+         */
+        private int[] sortAscending(final RowIndexComparator rowComparator) {
+            if (rowComparator instanceof ColumnSortKey.PrimitiveKeys) {
+                return ((ColumnSortKey.PrimitiveKeys) rowComparator).sortRowIndices();
+            }
+            final int[] rowOrder = RowIndexSorter.identity(tableDataAdapter.getData().size());
+            sortRowOrder(rowOrder, rowComparator);
+            return rowOrder;
+        }
+
+        /**
+         * Sorts the given row order using the given {@link RowIndexComparator}. If the row count reaches
+         * the parallel sorting threshold, the sorting is done on all cores.
+         */
+        private void sortRowOrder(final int[] rowOrder, final RowIndexComparator rowComparator) {
+            if (SORTING_PARALLELISM > 1 && rowOrder.length >= parallelSortingThreshold) {
+                RowIndexSorter.parallelSort(rowOrder, rowComparator, getParallelSortingExecutor(), SORTING_PARALLELISM);
+            } else {
+                RowIndexSorter.sort(rowOrder, rowComparator);
             }
         }
 
@@ -202,26 +1025,21 @@ public class SortableTableView<T> extends TableView<T> {
             return comparators.get(columnIndex);
         }
 
-        private Comparator<T> getComparator(final int columnIndex) {
-            final Comparator<T> columnComparator = comparators.get(columnIndex);
+        private String getOrderByTerm(final int columnIndex) {
+            return orderByTerms.get(columnIndex);
+        }
 
-            final Comparator<T> comparator;
+        private void updateSortDirection(final int columnIndex) {
             if (sortedColumnIndex == columnIndex) {
-                if (isSortedUp) {
-                    comparator = Collections.reverseOrder(columnComparator);
-                } else {
-                    comparator = columnComparator;
-                }
                 isSortedUp = !isSortedUp;
             } else {
-                comparator = columnComparator;
                 isSortedUp = true;
             }
-
-            return comparator;
         }
 
         public void setComparator(final int columnIndex, final Comparator<T> columnComparator) {
+            ascendingRowOrders.remove(columnIndex);
+            orderByTerms.remove(columnIndex);
             if (columnComparator == null) {
                 comparators.remove(columnIndex);
                 sortableTableHeaderView.setSortState(columnIndex, SortState.NOT_SORTABLE);
@@ -231,28 +1049,285 @@ public class SortableTableView<T> extends TableView<T> {
             }
         }
 
+        /**
+         * Sets the ORDER BY term of the column at the given index, which replaces its {@link Comparator}.
+         * The column can then only be sorted by the database.
+         */
+        public void setOrderByTerm(final int columnIndex, final String orderByTerm) {
+            setComparator(columnIndex, null);
+            if (orderByTerm != null) {
+                orderByTerms.put(columnIndex, orderByTerm);
+                sortableTableHeaderView.setSortState(columnIndex, SortState.SORTABLE);
+            }
+        }
+
+        private boolean isSortable(final int columnIndex) {
+            return comparators.containsKey(columnIndex) || orderByTerms.containsKey(columnIndex);
+        }
+
+
+        /**
+         * A sort key consisting of a column and its sort direction.
+         *
+         * @author ISchwarz
+         */
+        private class SortKey {
+
+            private final int columnIndex;
+            private boolean ascending;
+
+            public SortKey(final int columnIndex, final boolean ascending) {
+                this.columnIndex = columnIndex;
+                this.ascending = ascending;
+            }
+
+            public Comparator<T> getComparator() {
+                final Comparator<T> columnComparator = comparators.get(columnIndex);
+                if (ascending) {
+                    return columnComparator;
+                }
+                return ColumnSortKey.reverse(columnComparator);
+            }
+        }
+
+        /**
+         * A task that creates a row order for a snapshot of the table data in the background and hands it
+         * back to the main thread. A cancelled task stops at the next comparison and drops its result.
+         *
+         * @author ISchwarz
+         */
+        private abstract class AsyncSortTask implements Runnable {
+
+            protected final List<T> data;
+            private final int columnIndex;
+            protected int[] ascendingRowOrder;
+            private int[] rowOrder;
+            private volatile boolean cancelled = false;
+
+            public AsyncSortTask(final List<T> data, final int columnIndex, final int[] ascendingRowOrder) {
+                this.data = data;
+                this.columnIndex = columnIndex;
+                this.ascendingRowOrder = ascendingRowOrder;
+            }
+
+            public void cancel() {
+                cancelled = true;
+            }
+
+            @Override
+            public void run() {
+                if (cancelled) {
+                    return;
+                }
+                try {
+                    rowOrder = createRowOrder();
+                } catch (final CancellationException e) {
+                    return;
+                }
+                mainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        applySortedRowOrder(AsyncSortTask.this);
+                    }
+                });
+            }
+
+            /**
+             * Hands the given partially sorted row order to the main thread, which displays it until the full
+             * row order is created.
+             */
+            protected void postPartialRowOrder(final int[] partialRowOrder) {
+                mainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        applyPartialRowOrder(AsyncSortTask.this, partialRowOrder);
+                    }
+                });
+            }
+
+            /**
+             * Creates the row order of the snapshot. This method is called on a background thread.
+             *
+             * @return The created row order.
+             */
+            protected abstract int[] createRowOrder();
+
+            /**
+             * Wraps the given {@link RowIndexComparator}, so the sorting stops with a {@link CancellationException}
+             * at the next comparison after this task has been cancelled.
+             */
+            protected RowIndexComparator cancellable(final RowIndexComparator rowComparator) {
+                return new RowIndexComparator() {
+                    @Override
+                    public int compare(final int dataIndex1, final int dataIndex2) {
+                        if (cancelled) {
+                            throw new CancellationException();
+                        }
+                        return rowComparator.compare(dataIndex1, dataIndex2);
+                    }
+                };
+            }
+        }
+
+        /**
+         * A task that sorts the rows by a column or by a custom comparator. If an ascending row order is
+         * given, the task only derives the descending row order from it. If a partial row count is given,
+         * the task sorts this number of rows first and hands them to the main thread in advance.
+         *
+         * @author ISchwarz
+         */
+        private class ColumnSortTask extends AsyncSortTask {
+
+            private final Comparator<T> comparator;
+            private final boolean ascending;
+            private final int partialRowCount;
+
+            public ColumnSortTask(final List<T> data, final Comparator<T> comparator, final int columnIndex,
+                                  final boolean ascending, final int[] ascendingRowOrder, final int partialRowCount) {
+                super(data, columnIndex, ascendingRowOrder);
+                this.comparator = comparator;
+                this.ascending = ascending;
+                this.partialRowCount = partialRowCount;
+            }
+
+            @Override
+            protected int[] createRowOrder() {
+                final RowIndexComparator rowComparator = createRowIndexComparator(data, comparator);
+                final RowIndexComparator cancellableComparator = cancellable(rowComparator);
+                if (ascendingRowOrder == null && partialRowCount > 0) {
+                    postPartialRowOrder(RowIndexSorter.partialSort(data.size(), partialRowCount,
+                            ascending ? cancellableComparator : descending(cancellableComparator)));
+                }
+                if (ascendingRowOrder == null && rowComparator instanceof ColumnSortKey.PrimitiveKeys) {
+                    ascendingRowOrder = ((ColumnSortKey.PrimitiveKeys) rowComparator).sortRowIndices();
+                } else if (ascendingRowOrder == null) {
+                    final int[] sortedRowOrder = RowIndexSorter.identity(data.size());
+                    sortRowOrder(sortedRowOrder, cancellableComparator);
+                    ascendingRowOrder = sortedRowOrder;
+                }
+                if (ascending) {
+                    return ascendingRowOrder;
+                }
+                return RowIndexSorter.reverse(ascendingRowOrder, cancellableComparator);
+            }
+
+            private RowIndexComparator descending(final RowIndexComparator rowComparator) {
+                return new RowIndexComparator() {
+                    @Override
+                    public int compare(final int dataIndex1, final int dataIndex2) {
+                        return rowComparator.compare(dataIndex2, dataIndex1);
+                    }
+                };
+            }
+        }
+
+        /**
+         * A task that orders the runs of equal rows of a row order by an additional sort key, like
+         * {@code refineRowOrder()} does on the main thread.
+         *
+         * @author ISchwarz
+         */
+        private class RefinementSortTask extends AsyncSortTask {
+
+            private final int[] baseRowOrder;
+            private final Comparator<T> prefixComparator;
+            private final Comparator<T> keyComparator;
+            private final boolean reverse;
+
+            public RefinementSortTask(final List<T> data, final int[] baseRowOrder, final Comparator<T> prefixComparator,
+                                      final Comparator<T> keyComparator, final boolean reverse) {
+                super(data, -1, null);
+                this.baseRowOrder = baseRowOrder;
+                this.prefixComparator = prefixComparator;
+                this.keyComparator = keyComparator;
+                this.reverse = reverse;
+            }
+
+            @Override
+            protected int[] createRowOrder() {
+                return refineRuns(baseRowOrder, cancellable(createRowIndexComparator(data, prefixComparator)),
+                        cancellable(createRowIndexComparator(data, keyComparator)), reverse);
+            }
+        }
+
+        /**
+         * A task that merges the rows appended while sorting into the sorted row order, like
+         * {@code onRowsAppended()} does on the main thread. If the merged row order is the ascending row order
+         * of the sorted column, it is kept for a later change of the sorting direction.
+         *
+         * @author ISchwarz
+         */
+        private class MergeSortTask extends AsyncSortTask {
+
+            private final int[] sortedRowOrder;
+            private final Comparator<T> comparator;
+            private final boolean maintainsAscendingRowOrder;
+
+            public MergeSortTask(final List<T> data, final int[] sortedRowOrder, final Comparator<T> comparator,
+                                 final boolean maintainsAscendingRowOrder) {
+                super(data, maintainsAscendingRowOrder ? sortedColumnIndex : -1, null);
+                this.sortedRowOrder = sortedRowOrder;
+                this.comparator = comparator;
+                this.maintainsAscendingRowOrder = maintainsAscendingRowOrder;
+            }
+
+            @Override
+            protected int[] createRowOrder() {
+                final int appendedRowCount = data.size() - sortedRowOrder.length;
+                final int[] rowOrder = RowIndexSorter.mergeAppended(sortedRowOrder, sortedRowOrder.length, appendedRowCount,
+                        new int[appendedRowCount], cancellable(createRowOrderComparator(data, comparator)));
+                if (maintainsAscendingRowOrder) {
+                    ascendingRowOrder = rowOrder;
+                }
+                return rowOrder;
+            }
+        }
+
     }
 
 
     /**
-     * Implementation of {@link DataSetObserver} that will trigger the sorting of the data if the data has changed.
+     * A {@link ThreadFactory} creating the background threads that are used for the asynchronous sorting.
      *
      * @author ISchwarz
      */
-    private class RecapSortingDataSetObserver extends DataSetObserver {
+    private static class SortingThreadFactory implements ThreadFactory {
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                    runnable.run();
+                }
+            }, "SortableTableView-Sorting");
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
 
-        private boolean initializedByMyself = false;
+
+    /**
+     * Implementation of {@link DataSetObserver} that will trigger the sorting of the data if the data has changed.
+     * Rows that have only been loaded did not change, so they do not trigger the sorting.
+     *
+     * @author ISchwarz
+     */
+    private class RecapSortingDataSetObserver extends TableDataObserver {
 
         @Override
         public void onChanged() {
-            if (initializedByMyself) {
-                initializedByMyself = false;
-            } else {
-                initializedByMyself = true;
+            if (!sortingController.isNotifyingSortedData) {
                 sortingController.recapSorting();
             }
         }
 
+        @Override
+        public void onRowRangeLoaded(final int rowIndexStart, final int rowCount) {
+            // the loaded rows are sorted already
+        }
+
     }
 
 }
@@ -1,13 +1,18 @@
 package de.codecrafters.tableview;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import de.codecrafters.tableview.listeners.TableColumnModelListener;
 
 
 /**
  * A model holding the column information of a {@link TableView}.
  * Such column information is the relative column width (alias ColumnWeight) and the number of columns
- * (alias ColumnCount).
+ * (alias ColumnCount). The sum of all column weights and the offset of every column are cached until
+ * the column count or a column weight changes. Every change increases the version of the model and
+ * is reported to the registered {@link TableColumnModelListener}s.
  *
  * @author ISchwarz
  */
@@ -15,8 +20,11 @@ public class TableColumnModel {
 
     private static final int DEFAULT_COLUMN_WEIGHT = 1;
 
-    private final Map<Integer, Integer> columnWeights;
+    private final Set<TableColumnModelListener> listeners = new HashSet<>();
+    private int[] columnWeights;
     private int columnCount;
+    private int[] columnOffsets;
+    private int version;
 
 
     /**
@@ -27,7 +35,7 @@ public class TableColumnModel {
      *         The number of columns.
      */
     public TableColumnModel(final int columnCount) {
-        this.columnWeights = new HashMap<>();
+        this.columnWeights = new int[0];
         this.columnCount = columnCount;
     }
 
@@ -38,7 +46,10 @@ public class TableColumnModel {
      *         The number of columns that shall be set.
      */
     public void setColumnCount(final int columnCount) {
-        this.columnCount = columnCount;
+        if (this.columnCount != columnCount) {
+            this.columnCount = columnCount;
+            notifyColumnModelChanged();
+        }
     }
 
     /**
@@ -59,7 +70,16 @@ public class TableColumnModel {
      *         The weight that should be set to the column at the given index.
      */
     public void setColumnWeight(final int columnIndex, final int columnWeight) {
-        columnWeights.put(columnIndex, columnWeight);
+        if (getColumnWeight(columnIndex) == columnWeight) {
+            return;
+        }
+        if (columnIndex >= columnWeights.length) {
+            final int oldLength = columnWeights.length;
+            columnWeights = Arrays.copyOf(columnWeights, columnIndex + 1);
+            Arrays.fill(columnWeights, oldLength, columnWeights.length, DEFAULT_COLUMN_WEIGHT);
+        }
+        columnWeights[columnIndex] = columnWeight;
+        notifyColumnModelChanged();
     }
 
     /**
@@ -70,11 +90,10 @@ public class TableColumnModel {
      * @return The column weight of the column at the given index.
      */
     public int getColumnWeight(final int columnIndex) {
-        Integer columnWeight = columnWeights.get(columnIndex);
-        if (columnWeight == null) {
-            columnWeight = DEFAULT_COLUMN_WEIGHT;
+        if (columnIndex < columnWeights.length) {
+            return columnWeights[columnIndex];
         }
-        return columnWeight;
+        return DEFAULT_COLUMN_WEIGHT;
     }
 
     /**
@@ -83,13 +102,66 @@ public class TableColumnModel {
      * @return The collumn weight sum.
      */
     public int getColumnWeightSum() {
-        int weightSum = 0;
+        return getColumnOffsets()[columnCount];
+    }
 
-        for (int columnIndex = 0; columnIndex < columnCount; columnIndex++) {
-            weightSum += getColumnWeight(columnIndex);
+    /**
+     * Gives the sum of the column weights of all columns before the column at the given index.
+     *
+     * @param columnIndex
+     *         The index of the column to receive the offset. The column count gives the column weight sum.
+     * @return The sum of the column weights of all columns before the column at the given index.
+     */
+    public int getColumnOffset(final int columnIndex) {
+        return getColumnOffsets()[columnIndex];
+    }
+
+    /**
+     * Gives the version of this model. The version is increased on every change of the column count
+     * or a column weight, so it can be used to validate values that are derived from this model.
+     *
+     * @return The current version of this model.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Adds the given {@link TableColumnModelListener} to this model.
+     *
+     * @param listener
+     *         The {@link TableColumnModelListener} that shall be added.
+     */
+    public void addColumnModelListener(final TableColumnModelListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes the given {@link TableColumnModelListener} from this model.
+     *
+     * @param listener
+     *         The {@link TableColumnModelListener} that shall be removed.
+     */
+    public void removeColumnModelListener(final TableColumnModelListener listener) {
+        listeners.remove(listener);
+    }
+
+    private int[] getColumnOffsets() {
+        if (columnOffsets == null) {
+            columnOffsets = new int[columnCount + 1];
+            for (int columnIndex = 0; columnIndex < columnCount; columnIndex++) {
+                columnOffsets[columnIndex + 1] = columnOffsets[columnIndex] + getColumnWeight(columnIndex);
+            }
         }
+        return columnOffsets;
+    }
 
-        return weightSum;
+    private void notifyColumnModelChanged() {
+        columnOffsets = null;
+        version++;
+        for (final TableColumnModelListener listener : listeners) {
+            listener.onColumnModelChanged(this);
+        }
     }
 
 }
@@ -1,24 +1,24 @@
 package de.codecrafters.tableview;
 
-import static android.widget.LinearLayout.LayoutParams;
-
 import android.content.Context;
 import android.content.res.Resources;
+import android.database.DataSetObserver;
 import android.util.Log;
-import android.view.Gravity;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
-import android.widget.AbsListView;
 import android.widget.ArrayAdapter;
 import android.widget.LinearLayout;
 import android.widget.TextView;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import de.codecrafters.tableview.colorizers.TableDataRowColorizer;
+import de.codecrafters.tableview.colorizers.TableDataRowIndexColorizer;
 
 
 /**
@@ -30,8 +30,20 @@ public abstract class TableDataAdapter<T> extends ArrayAdapter<T> {
 
     private static final String LOG_TAG = TableDataAdapter.class.getName();
 
+    private static final int DEFAULT_CELL_VIEW_POOL_SIZE = 4;
+
+    static final int ROW_VIEW_TYPE_CELLS = 0;
+    static final int ROW_VIEW_TYPE_TEXT = 1;
+
     private TableColumnModel columnModel;
     private final List<T> data;
+    private final CellViewPool cellViewPool = new CellViewPool(1, DEFAULT_CELL_VIEW_POOL_SIZE);
+    private final List<DataSetObserver> dataSetObservers = new ArrayList<>();
+    private int[] rowOrder;
+    private ColumnLayout columnLayout;
+    private ColumnViewport columnViewport = new ColumnViewport(0);
+    private RowMutationListener rowMutationListener;
+    private TextRowRenderer textRowRenderer;
     private TableDataRowColorizer<? super T> rowColoriser;
 
 
@@ -92,8 +104,187 @@ public abstract class TableDataAdapter<T> extends ArrayAdapter<T> {
         return getItem(rowIndex);
     }
 
+    @Override
+    public T getItem(final int rowIndex) {
+        return super.getItem(getDataIndex(rowIndex));
+    }
+
+    @Override
+    public int getPosition(final T item) {
+        final int dataIndex = super.getPosition(item);
+        if (dataIndex < 0 || !hasValidRowOrder()) {
+            return dataIndex;
+        }
+        for (int rowIndex = 0; rowIndex < rowOrder.length; rowIndex++) {
+            if (rowOrder[rowIndex] == dataIndex) {
+                return rowIndex;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gives the index in the data list (see {@code getData()}) of the data object that is displayed in the
+     * row with the given index. If the table is not sorted, the data index equals the row index.
+     *
+     * @param rowIndex
+     *         The index of the row to get the data index for.
+     * @return The index of the data object in the data list.
+     */
+    public int getDataIndex(final int rowIndex) {
+        if (hasValidRowOrder() && rowIndex >= 0 && rowIndex < rowOrder.length) {
+            return rowOrder[rowIndex];
+        }
+        return rowIndex;
+    }
+
+    /**
+     * Sets the order in which the data objects are displayed. The given array contains for every row
+     * index the index of the data object in the data list. The data list itself is never reordered.
+     *
+     * @param rowOrder
+     *         The permutation of data indices that shall be displayed or null to display the data in
+     *         its natural order.
+     */
+    void setRowOrder(final int[] rowOrder) {
+        this.rowOrder = rowOrder;
+    }
+
+    /**
+     * Gives the order in which the data objects are currently displayed.
+     *
+     * @return The permutation of data indices that is displayed or null if the data is displayed in its
+     * natural order.
+     */
+    int[] getRowOrder() {
+        return rowOrder;
+    }
+
+    /**
+     * Appends the given data object to the data of this adapter and notifies the views about the inserted
+     * row. If the table is sorted, only the new row is placed into the sorted order instead of sorting
+     * all rows again.
+     *
+     * @param rowData
+     *         The data object that shall be appended.
+     */
+    public void addRow(final T rowData) {
+        addRows(Collections.singletonList(rowData));
+    }
+
+    /**
+     * Appends the given data objects to the data of this adapter and notifies the views about the inserted
+     * rows. If the table is sorted, only the new rows are sorted and merged into the sorted order instead
+     * of sorting all rows again.
+     *
+     * @param rowData
+     *         The data objects that shall be appended.
+     */
+    public void addRows(final Collection<? extends T> rowData) {
+        if (rowData.isEmpty()) {
+            return;
+        }
+
+        final int dataIndexStart = data.size();
+        data.addAll(rowData);
+        if (rowMutationListener != null) {
+            rowMutationListener.onRowsAppended(dataIndexStart, rowData.size());
+        } else {
+            notifyRowRangeInserted(dataIndexStart, rowData.size());
+        }
+    }
+
+    /**
+     * Replaces the data object that is displayed in the row with the given index and notifies the views
+     * about the changed row. If the table is sorted, only the changed row is moved to its new position.
+     *
+     * @param rowIndex
+     *         The index of the row whose data object shall be replaced.
+     * @param rowData
+     *         The new data object of the row.
+     */
+    public void updateRow(final int rowIndex, final T rowData) {
+        final int dataIndex = getDataIndex(rowIndex);
+        data.set(dataIndex, rowData);
+        if (rowMutationListener != null) {
+            rowMutationListener.onRowChanged(rowIndex, dataIndex);
+        } else {
+            notifyRowRangeChanged(rowIndex, 1);
+        }
+    }
+
+    /**
+     * Removes the data object that is displayed in the row with the given index and notifies the views
+     * about the removed row. If the table is sorted, the sorted order is kept without sorting again.
+     *
+     * @param rowIndex
+     *         The index of the row that shall be removed.
+     */
+    public void removeRow(final int rowIndex) {
+        final int dataIndex = getDataIndex(rowIndex);
+        data.remove(dataIndex);
+        if (rowMutationListener != null) {
+            rowMutationListener.onRowRemoved(rowIndex, dataIndex);
+        } else {
+            notifyRowRangeRemoved(rowIndex, 1);
+        }
+    }
+
+    /**
+     * Sets the {@link RowMutationListener} that will be informed about mutations made by the mutation
+     * methods of this adapter. The listener is then responsible to notify the views.
+     *
+     * @param listener
+     *         The {@link RowMutationListener} that shall be informed or null to notify the views directly.
+     */
+    void setRowMutationListener(final RowMutationListener listener) {
+        this.rowMutationListener = listener;
+    }
+
     /**
-     * Gives the data that is set to this adapter.
+     * Gives the information whether the data of the row with the given index is available. All rows of
+     * a fully loaded data list are available.
+     *
+     * @param rowIndex
+     *         The index of the row.
+     * @return True if the data of the row is available, else false.
+     */
+    boolean isRowLoaded(final int rowIndex) {
+        return true;
+    }
+
+    /**
+     * Creates a copy of the data list that can be read on a background thread, e.g. for sorting.
+     *
+     * @return The created copy of the data list.
+     */
+    List<T> createDataSnapshot() {
+        if (ColumnarTableData.isRowList(data)) {
+            // the rows of a ColumnarTableData can not change and are formatted when they are read
+            return data;
+        }
+        return new ArrayList<>(data);
+    }
+
+    /**
+     * Called right before the given row order, which was created by sorting the given snapshot (see
+     * {@code createDataSnapshot()}), is displayed. By default the snapshot is simply dropped.
+     *
+     * @param snapshot
+     *         The snapshot the row order was created from.
+     * @param rowOrder
+     *         The row order that will be displayed.
+     */
+    void onDataSnapshotSorted(final List<T> snapshot, final int[] rowOrder) {
+    }
+
+    private boolean hasValidRowOrder() {
+        return rowOrder != null && rowOrder.length == data.size();
+    }
+
+    /**
+     * Gives the data that is set to this adapter. The order of this list is not affected by sorting, use
+     * {@code getRowData()} to receive the data in the displayed order.
      *
      * @return The data this adapter is currently working with.
      */
@@ -144,40 +335,460 @@ public abstract class TableDataAdapter<T> extends ArrayAdapter<T> {
      */
     public abstract View getCellView(int rowIndex, int columnIndex, ViewGroup parentView);
 
+    /**
+     * Method that binds the content of a table cell to a view. The given recycled view is the view that
+     * was previously displayed in the same column of a row that is no longer visible. Implementations
+     * may update and return this view instead of creating a new one, which avoids view allocations while
+     * scrolling.
+     * By default this method ignores the recycled view and delegates to {@code getCellView()}, so existing
+     * adapters keep working without any changes. A recycled view that is not returned is kept for reuse.
+     *
+     * @param rowIndex
+     *         The index of the row to return the table cell view.
+     * @param columnIndex
+     *         The index of the column to return the table cell view.
+     * @param recycledView
+     *         The view that can be reused for the given cell or null if there is no view to reuse.
+     * @param parentView
+     *         The view to which the returned view will be added.
+     * @return The view that shall be displayed in the given cell. This may be the given recycled view.
+     */
+    public View bindCellView(final int rowIndex, final int columnIndex, final View recycledView, final ViewGroup parentView) {
+        return getCellView(rowIndex, columnIndex, parentView);
+    }
+
+    /**
+     * Gives the number of different cell view types this adapter creates. Cell views are only recycled
+     * between cells of the same column and the same cell view type.
+     *
+     * @return The number of different cell view types. By default this is 1.
+     */
+    public int getCellViewTypeCount() {
+        return 1;
+    }
+
+    /**
+     * Gives the cell view type of the cell with the given row and column index. The returned value has
+     * to be in the range from 0 to {@code getCellViewTypeCount() - 1}.
+     *
+     * @param rowIndex
+     *         The index of the row of the cell.
+     * @param columnIndex
+     *         The index of the column of the cell.
+     * @return The cell view type of the given cell. By default this is 0.
+     */
+    public int getCellViewType(final int rowIndex, final int columnIndex) {
+        return 0;
+    }
+
+    /**
+     * Sets the maximum number of detached cell views that are kept for reuse per column and cell view
+     * type. A lower value saves memory on wide tables, a higher value avoids view creations if the cell
+     * view types change frequently while scrolling.
+     *
+     * @param poolSize
+     *         The maximum number of pooled cell views per column and cell view type.
+     */
+    public void setCellViewPoolSize(final int poolSize) {
+        cellViewPool.setMaxPoolSize(poolSize);
+    }
+
+    /**
+     * Gives the maximum number of detached cell views that are kept for reuse per column and cell view
+     * type.
+     *
+     * @return The maximum number of pooled cell views per column and cell view type.
+     */
+    public int getCellViewPoolSize() {
+        return cellViewPool.getMaxPoolSize();
+    }
+
+    /**
+     * Gives the color of the row with the given index. The row data is only read if the row colorizer
+     * needs it, as the cells read their data themselves.
+     *
+     * @param rowIndex
+     *         The index of the row.
+     * @return The color of the row.
+     */
+    int getRowColor(final int rowIndex) {
+        T rowData = null;
+        if (!(rowColoriser instanceof TableDataRowIndexColorizer)) {
+            try {
+                rowData = getItem(rowIndex);
+            } catch (final IndexOutOfBoundsException e) {
+                Log.w(LOG_TAG, "No row date available for row with index " + rowIndex + ". " +
+                        "Caught Exception: " + e.getMessage());
+            }
+        }
+        return rowColoriser.getRowColor(rowIndex, rowData);
+    }
+
+    /**
+     * Sets the {@link TextRowRenderer} that shall be used to draw the rows. If a renderer is set, the rows
+     * are no longer built from cell views, but every row is a single view that draws the texts given by
+     * {@link #getCellText(int, int)} directly on its canvas. This is much lighter for text-only tables, as
+     * no cell views need to be bound, measured and laid out. Setting null switches back to cell views.
+     *
+     * @param textRowRenderer
+     *         The {@link TextRowRenderer} that shall be used or null.
+     */
+    public void setTextRowRenderer(final TextRowRenderer textRowRenderer) {
+        this.textRowRenderer = textRowRenderer;
+        notifyDataSetChanged();
+    }
+
+    /**
+     * Gives the {@link TextRowRenderer} that is used to draw the rows.
+     *
+     * @return The {@link TextRowRenderer} or null if the rows are built from cell views.
+     */
+    public TextRowRenderer getTextRowRenderer() {
+        return textRowRenderer;
+    }
+
+    /**
+     * Gives the text of the table cell with the given row and column index. This method is only used if
+     * the rows are drawn by a {@link TextRowRenderer}.
+     *
+     * @param rowIndex
+     *         The index of the row of the cell.
+     * @param columnIndex
+     *         The index of the column of the cell.
+     * @return The text of the given cell. By default this is null, so the cell stays empty.
+     */
+    public CharSequence getCellText(final int rowIndex, final int columnIndex) {
+        return null;
+    }
+
+    @Override
+    public int getViewTypeCount() {
+        return 2;
+    }
+
+    @Override
+    public int getItemViewType(final int rowIndex) {
+        return getRowViewType();
+    }
+
+    /**
+     * Gives the type of the row views this adapter currently creates.
+     *
+     * @return {@link #ROW_VIEW_TYPE_TEXT} if the rows are drawn by a {@link TextRowRenderer}, else
+     * {@link #ROW_VIEW_TYPE_CELLS}.
+     */
+    int getRowViewType() {
+        return textRowRenderer != null ? ROW_VIEW_TYPE_TEXT : ROW_VIEW_TYPE_CELLS;
+    }
+
+    /**
+     * Creates an empty row view of the given type.
+     *
+     * @param rowViewType
+     *         The type of the row view.
+     * @return The created row view.
+     */
+    View createRowView(final int rowViewType) {
+        if (rowViewType == ROW_VIEW_TYPE_TEXT) {
+            return new TextRowView(getContext());
+        }
+        return new TableDataRowView(getContext());
+    }
+
     @Override
     public View getView(final int rowIndex, final View convertView, final ViewGroup parent) {
-        final LinearLayout rowView = new LinearLayout(getContext());
+        final int rowColor = getRowColor(rowIndex);
 
-        final AbsListView.LayoutParams rowLayoutParams = new AbsListView.LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.WRAP_CONTENT);
-        rowView.setLayoutParams(rowLayoutParams);
-        rowView.setGravity(Gravity.CENTER_VERTICAL);
+        final int viewportWidth = parent.getWidth();
+        final ColumnLayout columnLayout = getColumnLayout(columnViewport.getContentWidth(columnModel, viewportWidth));
 
-        T rowData = null;
-        try {
-            rowData = getItem(rowIndex);
-        } catch (final IndexOutOfBoundsException e) {
-            Log.w(LOG_TAG, "No row date available for row with index " + rowIndex + ". " +
-                    "Caught Exception: " + e.getMessage());
+        if (textRowRenderer != null) {
+            final TextRowView rowView;
+            if (convertView instanceof TextRowView) {
+                rowView = (TextRowView) convertView;
+            } else {
+                rowView = new TextRowView(getContext());
+            }
+            rowView.setBackgroundColor(rowColor);
+            rowView.bind(rowIndex, textRowRenderer, columnLayout);
+            if (columnViewport.isHorizontalScrollingEnabled()) {
+                bindCellTexts(rowView, rowIndex, columnLayout, columnViewport.getFrozenColumnCount(columnLayout),
+                        columnViewport.getFirstBoundColumn(columnLayout), columnViewport.getLastBoundColumn(columnLayout, viewportWidth), false);
+            } else {
+                bindCellTexts(rowView, rowIndex, columnLayout, 0, 0, columnLayout.getColumnCount() - 1, false);
+            }
+            rowView.scrollColumnsTo(columnViewport.getScrollOffset(), columnViewport.getFrozenColumnCount(columnLayout));
+            return rowView;
+        }
+
+        final TableDataRowView rowView;
+        if (convertView instanceof TableDataRowView) {
+            rowView = (TableDataRowView) convertView;
+        } else {
+            rowView = new TableDataRowView(getContext());
+        }
+        rowView.setBackgroundColor(rowColor);
+
+        if (columnViewport.isHorizontalScrollingEnabled()) {
+            rowView.setColumnLayout(columnLayout);
+            bindCellViews(rowView, rowIndex, columnLayout, columnViewport.getFrozenColumnCount(columnLayout),
+                    columnViewport.getFirstBoundColumn(columnLayout), columnViewport.getLastBoundColumn(columnLayout, viewportWidth), false);
+        } else {
+            rowView.setColumnLayout(null);
+            bindCellViews(rowView, rowIndex, columnLayout, 0, 0, getColumnCount() - 1, false);
+        }
+        rowView.scrollColumnsTo(columnViewport.getScrollOffset(), columnViewport.getFrozenColumnCount(columnLayout));
+
+        return rowView;
+    }
+
+    /**
+     * Updates the given row view to the current horizontal scroll offset of the {@link ColumnViewport}. The
+     * cells (or cell texts) of the row are only rebound if columns outside of the bound columns became
+     * visible. In this case the cells of the columns that are bound already are kept as they are.
+     *
+     * @param view
+     *         The row view that shall be scrolled.
+     * @param viewportWidth
+     *         The visible width of the table in pixels.
+     */
+    void scrollRowView(final View view, final int viewportWidth) {
+        if (view instanceof TextRowView) {
+            scrollTextRowView((TextRowView) view, viewportWidth);
+            return;
+        }
+        if (!(view instanceof TableDataRowView)) {
+            return;
+        }
+
+        final TableDataRowView rowView = (TableDataRowView) view;
+        final int rowIndex = rowView.getRowIndex();
+        final ColumnLayout columnLayout = getColumnLayout(columnViewport.getContentWidth(columnModel, viewportWidth));
+        if (columnViewport.isHorizontalScrollingEnabled() && rowIndex >= 0 && rowIndex < getCount()) {
+            final boolean layoutChanged = rowView.getColumnLayout() != columnLayout;
+            if (layoutChanged
+                    || columnViewport.getFirstVisibleColumn(columnLayout) < rowView.getFirstBoundColumn()
+                    || columnViewport.getLastVisibleColumn(columnLayout, viewportWidth) > rowView.getLastBoundColumn()) {
+                rowView.setColumnLayout(columnLayout);
+                bindCellViews(rowView, rowIndex, columnLayout, columnViewport.getFrozenColumnCount(columnLayout),
+                        columnViewport.getFirstBoundColumn(columnLayout), columnViewport.getLastBoundColumn(columnLayout, viewportWidth),
+                        !layoutChanged);
+            }
         }
-        rowView.setBackgroundColor(rowColoriser.getRowColor(rowIndex, rowData));
+        rowView.scrollColumnsTo(columnViewport.getScrollOffset(), columnViewport.getFrozenColumnCount(columnLayout));
+    }
 
-        final int widthUnit = (parent.getWidth() / columnModel.getColumnWeightSum());
+    private void scrollTextRowView(final TextRowView rowView, final int viewportWidth) {
+        final int rowIndex = rowView.getRowIndex();
+        final ColumnLayout columnLayout = getColumnLayout(columnViewport.getContentWidth(columnModel, viewportWidth));
+        if (textRowRenderer != null && columnViewport.isHorizontalScrollingEnabled() && rowIndex >= 0 && rowIndex < getCount()) {
+            final boolean layoutChanged = rowView.getColumnLayout() != columnLayout;
+            if (layoutChanged
+                    || columnViewport.getFirstVisibleColumn(columnLayout) < rowView.getFirstBoundColumn()
+                    || columnViewport.getLastVisibleColumn(columnLayout, viewportWidth) > rowView.getLastBoundColumn()) {
+                rowView.bind(rowIndex, textRowRenderer, columnLayout);
+                bindCellTexts(rowView, rowIndex, columnLayout, columnViewport.getFrozenColumnCount(columnLayout),
+                        columnViewport.getFirstBoundColumn(columnLayout), columnViewport.getLastBoundColumn(columnLayout, viewportWidth),
+                        !layoutChanged);
+            }
+        }
+        rowView.scrollColumnsTo(columnViewport.getScrollOffset(), columnViewport.getFrozenColumnCount(columnLayout));
+    }
+
+    /**
+     * Sets the texts of the frozen columns and of the given column range to the given text row view, so
+     * only the cells that may become visible are formatted. The texts of all other columns are cleared.
+     *
+     * @param keepBoundTexts
+     *         True if the texts of columns that are bound to the row view already shall not be set again.
+     */
+    private void bindCellTexts(final TextRowView rowView, final int rowIndex, final ColumnLayout columnLayout,
+                               final int frozenColumnCount, final int firstColumn, final int lastColumn,
+                               final boolean keepBoundTexts) {
+        final boolean rowLoaded = isRowLoaded(rowIndex);
+        for (int columnIndex = 0; columnIndex < columnLayout.getColumnCount(); columnIndex++) {
+            if (columnIndex >= frozenColumnCount && (columnIndex < firstColumn || columnIndex > lastColumn)) {
+                rowView.setCellText(columnIndex, null);
+                continue;
+            }
+            if (keepBoundTexts && rowView.isColumnBound(columnIndex)) {
+                continue;
+            }
+            rowView.setCellText(columnIndex, rowLoaded ? getCellText(rowIndex, columnIndex) : null);
+        }
+        rowView.setBoundColumns(frozenColumnCount, firstColumn, lastColumn);
+    }
 
+    /**
+     * Binds the cells of the frozen columns and of the given column range to the given row view. The cells
+     * of all other columns are removed from the row view and handed to the cell view pool.
+     *
+     * @param keepBoundCells
+     *         True if the cells of columns that are bound to the row view already shall not be bound again.
+     */
+    private void bindCellViews(final TableDataRowView rowView, final int rowIndex, final ColumnLayout columnLayout,
+                               final int frozenColumnCount, final int firstColumn, final int lastColumn,
+                               final boolean keepBoundCells) {
+        final int previousFirstColumn = rowView.getFirstBoundColumn();
+        final int previousLastColumn = rowView.getLastBoundColumn();
+
+        cellViewPool.setViewTypeCount(getCellViewTypeCount());
+        for (int columnIndex = getColumnCount(); columnIndex < rowView.getCellCount(); columnIndex++) {
+            final View trimmedView = rowView.removeCellView(columnIndex);
+            if (trimmedView != null) {
+                cellViewPool.release(columnIndex, rowView.getCellViewType(columnIndex), trimmedView);
+            }
+        }
+        rowView.trimCellViews(getColumnCount());
         for (int columnIndex = 0; columnIndex < getColumnCount(); columnIndex++) {
-            View cellView = getCellView(rowIndex, columnIndex, rowView);
+            final View currentView = rowView.getCellView(columnIndex);
+            final boolean frozen = columnIndex < frozenColumnCount;
+            if (!frozen && (columnIndex < firstColumn || columnIndex > lastColumn)) {
+                if (currentView != null) {
+                    final int currentViewType = rowView.getCellViewType(columnIndex);
+                    rowView.removeCellView(columnIndex);
+                    cellViewPool.release(columnIndex, currentViewType, currentView);
+                }
+                continue;
+            }
+            if (keepBoundCells && currentView != null
+                    && (frozen || columnIndex >= previousFirstColumn && columnIndex <= previousLastColumn)) {
+                continue;
+            }
+
+            final int cellViewType = getCellViewType(rowIndex, columnIndex);
+
+            final View recycledView;
+            if (currentView != null && rowView.getCellViewType(columnIndex) == cellViewType) {
+                recycledView = currentView;
+            } else {
+                recycledView = cellViewPool.acquire(columnIndex, cellViewType);
+            }
+
+            View cellView = bindCellView(rowIndex, columnIndex, recycledView, rowView);
             if (cellView == null) {
                 cellView = new TextView(getContext());
             }
+            if (recycledView != null && recycledView != currentView && recycledView != cellView) {
+                // the adapter did not reuse the pooled view, so it is kept for the next cell
+                cellViewPool.release(columnIndex, cellViewType, recycledView);
+            }
 
-            final int width = widthUnit * columnModel.getColumnWeight(columnIndex);
+            final LinearLayout.LayoutParams cellLayoutParams = columnLayout.getCellLayoutParams(columnIndex);
+            if (cellView.getLayoutParams() != cellLayoutParams) {
+                cellView.setLayoutParams(cellLayoutParams);
+            }
 
-            final LinearLayout.LayoutParams cellLayoutParams = new LinearLayout.LayoutParams(width, ViewGroup.LayoutParams.WRAP_CONTENT);
-            cellLayoutParams.weight = columnModel.getColumnWeight(columnIndex);
-            cellView.setLayoutParams(cellLayoutParams);
-            rowView.addView(cellView);
+            final int currentViewType = currentView != null ? rowView.getCellViewType(columnIndex) : 0;
+            rowView.setCellView(columnIndex, cellView, cellViewType);
+            if (currentView != null && currentView != cellView) {
+                cellViewPool.release(columnIndex, currentViewType, currentView);
+            }
         }
+        rowView.setBoundColumns(rowIndex, firstColumn, lastColumn);
+    }
 
-        return rowView;
+    /**
+     * Gives the {@link ColumnLayout} for the given table width. The layout is cached until the table width
+     * or the column model changes, so all rows share the same column widths and layout params.
+     */
+    private ColumnLayout getColumnLayout(final int tableWidth) {
+        if (columnLayout == null || !columnLayout.isValidFor(columnModel, tableWidth)) {
+            columnLayout = new ColumnLayout(columnModel, tableWidth);
+        }
+        return columnLayout;
+    }
+
+    @Override
+    public void registerDataSetObserver(final DataSetObserver observer) {
+        super.registerDataSetObserver(observer);
+        dataSetObservers.add(observer);
+    }
+
+    @Override
+    public void unregisterDataSetObserver(final DataSetObserver observer) {
+        super.unregisterDataSetObserver(observer);
+        dataSetObservers.remove(observer);
+    }
+
+    /**
+     * Notifies the attached views that the content of the given range of rows has changed. Views that
+     * support fine-grained updates will only rebind the given rows, all other views will handle this
+     * like a call of {@code notifyDataSetChanged()}.
+     *
+     * @param rowIndexStart
+     *         The index of the first changed row.
+     * @param rowCount
+     *         The number of changed rows.
+     */
+    public void notifyRowRangeChanged(final int rowIndexStart, final int rowCount) {
+        for (final DataSetObserver observer : new ArrayList<>(dataSetObservers)) {
+            if (observer instanceof TableDataObserver) {
+                ((TableDataObserver) observer).onRowRangeChanged(rowIndexStart, rowCount);
+            } else {
+                observer.onChanged();
+            }
+        }
+    }
+
+    /**
+     * Notifies the attached views that the given range of rows has been inserted. Views that support
+     * fine-grained updates will only bind the inserted rows, all other views will handle this like a
+     * call of {@code notifyDataSetChanged()}.
+     *
+     * @param rowIndexStart
+     *         The index of the first inserted row.
+     * @param rowCount
+     *         The number of inserted rows.
+     */
+    public void notifyRowRangeInserted(final int rowIndexStart, final int rowCount) {
+        for (final DataSetObserver observer : new ArrayList<>(dataSetObservers)) {
+            if (observer instanceof TableDataObserver) {
+                ((TableDataObserver) observer).onRowRangeInserted(rowIndexStart, rowCount);
+            } else {
+                observer.onChanged();
+            }
+        }
+    }
+
+    /**
+     * Notifies the attached views that the given range of rows has been removed. Views that support
+     * fine-grained updates will only remove the given rows, all other views will handle this like a
+     * call of {@code notifyDataSetChanged()}.
+     *
+     * @param rowIndexStart
+     *         The index the first removed row had.
+     * @param rowCount
+     *         The number of removed rows.
+     */
+    public void notifyRowRangeRemoved(final int rowIndexStart, final int rowCount) {
+        for (final DataSetObserver observer : new ArrayList<>(dataSetObservers)) {
+            if (observer instanceof TableDataObserver) {
+                ((TableDataObserver) observer).onRowRangeRemoved(rowIndexStart, rowCount);
+            } else {
+                observer.onChanged();
+            }
+        }
+    }
+
+    /**
+     * Notifies the attached views that the data of the given range of rows has been loaded. The views will
+     * rebind the given rows like after a call of {@code notifyRowRangeChanged()}, but the loaded data is not
+     * handled as a change of the data set, so a sorted table is not sorted again.
+     *
+     * @param rowIndexStart
+     *         The index of the first loaded row.
+     * @param rowCount
+     *         The number of loaded rows.
+     */
+    void notifyRowRangeLoaded(final int rowIndexStart, final int rowCount) {
+        for (final DataSetObserver observer : new ArrayList<>(dataSetObservers)) {
+            if (observer instanceof TableDataObserver) {
+                ((TableDataObserver) observer).onRowRangeLoaded(rowIndexStart, rowCount);
+            } else {
+                observer.onChanged();
+            }
+        }
     }
 
     /**
@@ -200,6 +811,16 @@ public abstract class TableDataAdapter<T> extends ArrayAdapter<T> {
         this.columnModel = columnModel;
     }
 
+    /**
+     * Sets the {@link ColumnViewport} that defines which columns are bound to the rows.
+     *
+     * @param columnViewport
+     *         The {@link ColumnViewport} of the table.
+     */
+    void setColumnViewport(final ColumnViewport columnViewport) {
+        this.columnViewport = columnViewport;
+    }
+
     /**
      * Gives the {@link TableColumnModel} that is currently used to render the table headers.
      */
@@ -0,0 +1,65 @@
+package de.codecrafters.tableview;
+
+import android.database.DataSetObserver;
+
+
+/**
+ * Extension of the {@link DataSetObserver} that is able to receive fine-grained notifications about
+ * changed, inserted and removed rows of a {@link TableDataAdapter}. By default all fine-grained
+ * notifications are handled like a change of the whole data set.
+ *
+ * @author ISchwarz
+ */
+abstract class TableDataObserver extends DataSetObserver {
+
+    /**
+     * This method is called if the content of the given range of rows has changed.
+     *
+     * @param rowIndexStart
+     *         The index of the first changed row.
+     * @param rowCount
+     *         The number of changed rows.
+     */
+    public void onRowRangeChanged(final int rowIndexStart, final int rowCount) {
+        onChanged();
+    }
+
+    /**
+     * This method is called if the given range of rows has been inserted.
+     *
+     * @param rowIndexStart
+     *         The index of the first inserted row.
+     * @param rowCount
+     *         The number of inserted rows.
+     */
+    public void onRowRangeInserted(final int rowIndexStart, final int rowCount) {
+        onChanged();
+    }
+
+    /**
+     * This method is called if the given range of rows has been removed.
+     *
+     * @param rowIndexStart
+     *         The index the first removed row had.
+     * @param rowCount
+     *         The number of removed rows.
+     */
+    public void onRowRangeRemoved(final int rowIndexStart, final int rowCount) {
+        onChanged();
+    }
+
+    /**
+     * This method is called if the data of the given range of rows has been loaded. In contrast to the
+     * other notifications the data set itself did not change. By default this is handled like a change
+     * of the content of the given rows.
+     *
+     * @param rowIndexStart
+     *         The index of the first loaded row.
+     * @param rowCount
+     *         The number of loaded rows.
+     */
+    public void onRowRangeLoaded(final int rowIndexStart, final int rowCount) {
+        onRowRangeChanged(rowIndexStart, rowCount);
+    }
+
+}
@@ -0,0 +1,173 @@
+package de.codecrafters.tableview;
+
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+import android.view.ViewGroup;
+
+
+/**
+ * A {@link RecyclerView.Adapter} that brings the rows of a {@link TableDataAdapter} to a {@link RecyclerView}.
+ * The rows are still rendered by the {@link TableDataAdapter}, so row colorizers and cell view recycling
+ * behave exactly like in the ListView based data view. Fine-grained notifications of the
+ * {@link TableDataAdapter} are forwarded as item range notifications.
+ *
+ * @author ISchwarz
+ */
+class TableDataRecyclerAdapter extends RecyclerView.Adapter<TableDataRecyclerAdapter.RowViewHolder> {
+
+    private final TableDataAdapter<?> tableDataAdapter;
+    private final OnRowClickListener rowClickListener;
+    private final ForwardingTableDataObserver dataObserver = new ForwardingTableDataObserver();
+    private RecyclerView recyclerView;
+
+
+    /**
+     * Creates a new TableDataRecyclerAdapter.
+     *
+     * @param tableDataAdapter
+     *         The {@link TableDataAdapter} that renders the rows.
+     * @param rowClickListener
+     *         The listener that shall be informed about clicks on rows.
+     */
+    public TableDataRecyclerAdapter(final TableDataAdapter<?> tableDataAdapter, final OnRowClickListener rowClickListener) {
+        this.tableDataAdapter = tableDataAdapter;
+        this.rowClickListener = rowClickListener;
+        setHasStableIds(tableDataAdapter.hasStableIds());
+    }
+
+    @Override
+    public void onAttachedToRecyclerView(final RecyclerView recyclerView) {
+        super.onAttachedToRecyclerView(recyclerView);
+        this.recyclerView = recyclerView;
+        tableDataAdapter.registerDataSetObserver(dataObserver);
+    }
+
+    @Override
+    public void onDetachedFromRecyclerView(final RecyclerView recyclerView) {
+        tableDataAdapter.unregisterDataSetObserver(dataObserver);
+        this.recyclerView = null;
+        super.onDetachedFromRecyclerView(recyclerView);
+    }
+
+    @Override
+    public RowViewHolder onCreateViewHolder(final ViewGroup parent, final int viewType) {
+        final RowViewHolder viewHolder = new RowViewHolder(tableDataAdapter.createRowView(viewType));
+        viewHolder.itemView.setOnClickListener(new RowClickListener(viewHolder));
+        return viewHolder;
+    }
+
+    @Override
+    public void onBindViewHolder(final RowViewHolder viewHolder, final int rowIndex) {
+        tableDataAdapter.getView(rowIndex, viewHolder.itemView, recyclerView);
+    }
+
+    @Override
+    public void onViewAttachedToWindow(final RowViewHolder viewHolder) {
+        super.onViewAttachedToWindow(viewHolder);
+        // cached rows are attached again without being bound, so they may miss a horizontal scroll
+        if (recyclerView != null) {
+            tableDataAdapter.scrollRowView(viewHolder.itemView, recyclerView.getWidth());
+        }
+    }
+
+    @Override
+    public int getItemCount() {
+        return tableDataAdapter.getCount();
+    }
+
+    @Override
+    public int getItemViewType(final int rowIndex) {
+        return tableDataAdapter.getRowViewType();
+    }
+
+    @Override
+    public long getItemId(final int rowIndex) {
+        return tableDataAdapter.getItemId(rowIndex);
+    }
+
+
+    /**
+     * Listener interface to listen for clicks on rows of the {@link RecyclerView}.
+     *
+     * @author ISchwarz
+     */
+    interface OnRowClickListener {
+
+        /**
+         * This method is called if the row with the given index was clicked.
+         *
+         * @param rowIndex
+         *         The index of the clicked row.
+         */
+        void onRowClicked(final int rowIndex);
+
+    }
+
+    /**
+     * The {@link RecyclerView.ViewHolder} holding the row view of a single table data row.
+     *
+     * @author ISchwarz
+     */
+    static class RowViewHolder extends RecyclerView.ViewHolder {
+
+        public RowViewHolder(final View rowView) {
+            super(rowView);
+        }
+    }
+
+    /**
+     * Forwards clicks on a row view to the {@link OnRowClickListener}.
+     *
+     * @author ISchwarz
+     */
+    private class RowClickListener implements View.OnClickListener {
+
+        private final RowViewHolder viewHolder;
+
+        public RowClickListener(final RowViewHolder viewHolder) {
+            this.viewHolder = viewHolder;
+        }
+
+        @Override
+        public void onClick(final View view) {
+            final int rowIndex = viewHolder.getAdapterPosition();
+            if (rowIndex != RecyclerView.NO_POSITION) {
+                rowClickListener.onRowClicked(rowIndex);
+            }
+        }
+    }
+
+    /**
+     * Forwards the notifications of the {@link TableDataAdapter} to the {@link RecyclerView}.
+     *
+     * @author ISchwarz
+     */
+    private class ForwardingTableDataObserver extends TableDataObserver {
+
+        @Override
+        public void onChanged() {
+            notifyDataSetChanged();
+        }
+
+        @Override
+        public void onInvalidated() {
+            notifyDataSetChanged();
+        }
+
+        @Override
+        public void onRowRangeChanged(final int rowIndexStart, final int rowCount) {
+            notifyItemRangeChanged(rowIndexStart, rowCount);
+        }
+
+        @Override
+        public void onRowRangeInserted(final int rowIndexStart, final int rowCount) {
+            notifyItemRangeInserted(rowIndexStart, rowCount);
+        }
+
+        @Override
+        public void onRowRangeRemoved(final int rowIndexStart, final int rowCount) {
+            notifyItemRangeRemoved(rowIndexStart, rowCount);
+        }
+    }
+
+}
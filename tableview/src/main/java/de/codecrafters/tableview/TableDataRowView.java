@@ -0,0 +1,339 @@
+package de.codecrafters.tableview;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.view.Gravity;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.AbsListView;
+import android.widget.LinearLayout;
+
+import java.util.Arrays;
+
+
+/**
+ * The container view of a single table data row. It holds one cell slot per column and is reused by
+ * the {@link TableDataAdapter} for every row that is bound to it.
+ * If a {@link ColumnLayout} is set, the cells are placed at the column positions of this layout instead
+ * of being laid out one after the other. In this mode cell slots may stay empty, so only the visible
+ * columns of a horizontally scrolled table need to be bound. The cells of frozen columns are translated
+ * against the horizontal scroll offset, so they stay in place and are drawn on top of the scrolled cells.
+ *
+ * @author ISchwarz
+ */
+class TableDataRowView extends LinearLayout {
+
+    private View[] cellViews = new View[0];
+    private int[] cellViewTypes = new int[0];
+    private ColumnLayout columnLayout;
+    private int rowIndex = -1;
+    private int firstBoundColumn;
+    private int lastBoundColumn = -1;
+    private int frozenColumnCount;
+
+    /**
+     * Creates a new TableDataRowView.
+     *
+     * @param context
+     *         The context that shall be used.
+     */
+    public TableDataRowView(final Context context) {
+        super(context);
+        setOrientation(LinearLayout.HORIZONTAL);
+        setGravity(Gravity.CENTER_VERTICAL);
+        setChildrenDrawingOrderEnabled(true);
+
+        final AbsListView.LayoutParams rowLayoutParams = new AbsListView.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+        setLayoutParams(rowLayoutParams);
+    }
+
+    /**
+     * Gives the view that is currently placed in the cell slot of the column with the given index.
+     *
+     * @param columnIndex
+     *         The index of the column to receive the cell view.
+     * @return The view in the cell slot of the given column or null if there is none.
+     */
+    public View getCellView(final int columnIndex) {
+        if (columnIndex < cellViews.length) {
+            return cellViews[columnIndex];
+        }
+        return null;
+    }
+
+    /**
+     * Gives the number of cell slots of this row view, including empty ones.
+     *
+     * @return The number of cell slots.
+     */
+    public int getCellCount() {
+        return cellViews.length;
+    }
+
+    /**
+     * Gives the cell view type of the view that is currently placed in the cell slot of the column
+     * with the given index.
+     *
+     * @param columnIndex
+     *         The index of the column to receive the cell view type.
+     * @return The cell view type of the view in the cell slot of the given column.
+     */
+    public int getCellViewType(final int columnIndex) {
+        return cellViewTypes[columnIndex];
+    }
+
+    /**
+     * Places the given view in the cell slot of the column with the given index. If the slot already
+     * contains the given view, the view hierarchy is left untouched.
+     *
+     * @param columnIndex
+     *         The index of the column the given view shall be placed in.
+     * @param cellView
+     *         The view that shall be placed in the cell slot.
+     * @param cellViewType
+     *         The cell view type of the given view.
+     */
+    public void setCellView(final int columnIndex, final View cellView, final int cellViewType) {
+        if (columnIndex >= cellViews.length) {
+            cellViews = Arrays.copyOf(cellViews, columnIndex + 1);
+            cellViewTypes = Arrays.copyOf(cellViewTypes, columnIndex + 1);
+        }
+        cellViewTypes[columnIndex] = cellViewType;
+
+        final View currentCellView = cellViews[columnIndex];
+        if (currentCellView == cellView) {
+            return;
+        }
+        if (currentCellView != null) {
+            currentCellView.setTranslationX(0);
+            removeView(currentCellView);
+        }
+        cellViews[columnIndex] = cellView;
+        addView(cellView, getChildIndex(columnIndex));
+    }
+
+    /**
+     * Removes the view from the cell slot of the column with the given index.
+     *
+     * @param columnIndex
+     *         The index of the column whose cell view shall be removed.
+     * @return The removed view or null if the cell slot was empty.
+     */
+    public View removeCellView(final int columnIndex) {
+        final View cellView = getCellView(columnIndex);
+        if (cellView != null) {
+            cellViews[columnIndex] = null;
+            cellView.setTranslationX(0);
+            removeView(cellView);
+        }
+        return cellView;
+    }
+
+    /**
+     * Removes all cell slots beginning with the given column index.
+     *
+     * @param cellCount
+     *         The number of cell slots that shall remain.
+     */
+    public void trimCellViews(final int cellCount) {
+        for (int columnIndex = cellCount; columnIndex < cellViews.length; columnIndex++) {
+            removeCellView(columnIndex);
+        }
+        if (cellViews.length > cellCount) {
+            cellViews = Arrays.copyOf(cellViews, cellCount);
+            cellViewTypes = Arrays.copyOf(cellViewTypes, cellCount);
+        }
+    }
+
+    /**
+     * Sets the {@link ColumnLayout} whose column positions shall be used to place the cells. If null is
+     * given the cells are laid out one after the other using their layout params.
+     *
+     * @param columnLayout
+     *         The {@link ColumnLayout} that shall be used or null.
+     */
+    public void setColumnLayout(final ColumnLayout columnLayout) {
+        if (this.columnLayout != columnLayout) {
+            this.columnLayout = columnLayout;
+            requestLayout();
+        }
+    }
+
+    /**
+     * Gives the {@link ColumnLayout} that is used to place the cells.
+     *
+     * @return The {@link ColumnLayout} or null if the cells are laid out one after the other.
+     */
+    public ColumnLayout getColumnLayout() {
+        return columnLayout;
+    }
+
+    /**
+     * Scrolls the cells horizontally to the given offset. The cells of the given number of leading columns
+     * are translated by the scroll offset, so they stay in place. Neither of both requires a new layout pass.
+     *
+     * @param scrollOffset
+     *         The horizontal scroll offset in pixels.
+     * @param frozenColumnCount
+     *         The number of leading columns that shall not be scrolled.
+     */
+    public void scrollColumnsTo(final int scrollOffset, final int frozenColumnCount) {
+        final int translatedColumnCount = Math.min(cellViews.length, Math.max(frozenColumnCount, this.frozenColumnCount));
+        if (this.frozenColumnCount != frozenColumnCount) {
+            this.frozenColumnCount = frozenColumnCount;
+            invalidate();
+        }
+
+        scrollTo(scrollOffset, 0);
+        for (int columnIndex = 0; columnIndex < translatedColumnCount; columnIndex++) {
+            final View cellView = cellViews[columnIndex];
+            if (cellView != null) {
+                cellView.setTranslationX(columnIndex < frozenColumnCount ? scrollOffset : 0);
+            }
+        }
+    }
+
+    /**
+     * Stores the index of the row that is bound to this view and the range of columns whose cells are bound.
+     *
+     * @param rowIndex
+     *         The index of the bound row.
+     * @param firstBoundColumn
+     *         The index of the first column whose cell is bound.
+     * @param lastBoundColumn
+     *         The index of the last column whose cell is bound.
+     */
+    public void setBoundColumns(final int rowIndex, final int firstBoundColumn, final int lastBoundColumn) {
+        this.rowIndex = rowIndex;
+        this.firstBoundColumn = firstBoundColumn;
+        this.lastBoundColumn = lastBoundColumn;
+    }
+
+    /**
+     * Gives the index of the row that is bound to this view.
+     *
+     * @return The index of the bound row or -1 if no row is bound yet.
+     */
+    public int getRowIndex() {
+        return rowIndex;
+    }
+
+    /**
+     * Gives the index of the first column whose cell is bound.
+     *
+     * @return The index of the first bound column.
+     */
+    public int getFirstBoundColumn() {
+        return firstBoundColumn;
+    }
+
+    /**
+     * Gives the index of the last column whose cell is bound.
+     *
+     * @return The index of the last bound column.
+     */
+    public int getLastBoundColumn() {
+        return lastBoundColumn;
+    }
+
+    @Override
+    protected void onMeasure(final int widthMeasureSpec, final int heightMeasureSpec) {
+        if (columnLayout == null) {
+            super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+            return;
+        }
+
+        final int verticalPadding = getPaddingTop() + getPaddingBottom();
+        int contentHeight = 0;
+        for (int columnIndex = 0; columnIndex < cellViews.length; columnIndex++) {
+            final View cellView = cellViews[columnIndex];
+            if (cellView == null || cellView.getVisibility() == GONE || columnIndex >= columnLayout.getColumnCount()) {
+                continue;
+            }
+            final int cellWidthSpec = MeasureSpec.makeMeasureSpec(columnLayout.getColumnWidth(columnIndex), MeasureSpec.EXACTLY);
+            final int cellHeightSpec = getChildMeasureSpec(heightMeasureSpec, verticalPadding, cellView.getLayoutParams().height);
+            cellView.measure(cellWidthSpec, cellHeightSpec);
+            contentHeight = Math.max(contentHeight, cellView.getMeasuredHeight());
+        }
+
+        final int height = Math.max(contentHeight + verticalPadding, getSuggestedMinimumHeight());
+        setMeasuredDimension(getDefaultSize(0, widthMeasureSpec), resolveSize(height, heightMeasureSpec));
+    }
+
+    @Override
+    protected void onLayout(final boolean changed, final int left, final int top, final int right, final int bottom) {
+        if (columnLayout == null) {
+            super.onLayout(changed, left, top, right, bottom);
+            return;
+        }
+
+        final int contentTop = getPaddingTop();
+        final int contentHeight = bottom - top - contentTop - getPaddingBottom();
+        for (int columnIndex = 0; columnIndex < cellViews.length; columnIndex++) {
+            final View cellView = cellViews[columnIndex];
+            if (cellView == null || cellView.getVisibility() == GONE || columnIndex >= columnLayout.getColumnCount()) {
+                continue;
+            }
+            final int cellLeft = getPaddingLeft() + columnLayout.getColumnPosition(columnIndex);
+            final int cellTop = contentTop + (contentHeight - cellView.getMeasuredHeight()) / 2;
+            cellView.layout(cellLeft, cellTop, cellLeft + cellView.getMeasuredWidth(), cellTop + cellView.getMeasuredHeight());
+        }
+    }
+
+    @Override
+    protected int getChildDrawingOrder(final int childCount, final int drawingPosition) {
+        // the children of the frozen columns come first, but are drawn last
+        final int frozenChildCount = getFrozenChildCount();
+        final int scrolledChildCount = childCount - frozenChildCount;
+        if (drawingPosition < scrolledChildCount) {
+            return drawingPosition + frozenChildCount;
+        }
+        return drawingPosition - scrolledChildCount;
+    }
+
+    @Override
+    protected boolean drawChild(final Canvas canvas, final View child, final long drawingTime) {
+        if (frozenColumnCount == 0 || columnLayout == null || isFrozenCellView(child)) {
+            return super.drawChild(canvas, child, drawingTime);
+        }
+
+        // scrolled cells must not shine through the frozen cells, which may have no background
+        final int frozenWidth = columnLayout.getColumnPosition(Math.min(frozenColumnCount, columnLayout.getColumnCount()));
+        final int clipLeft = getScrollX() + getPaddingLeft() + frozenWidth;
+        canvas.save();
+        canvas.clipRect(clipLeft, 0, getScrollX() + getWidth(), getHeight());
+        final boolean invalidated = super.drawChild(canvas, child, drawingTime);
+        canvas.restore();
+        return invalidated;
+    }
+
+    private boolean isFrozenCellView(final View view) {
+        for (int columnIndex = 0; columnIndex < frozenColumnCount && columnIndex < cellViews.length; columnIndex++) {
+            if (cellViews[columnIndex] == view) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int getFrozenChildCount() {
+        int frozenChildCount = 0;
+        for (int columnIndex = 0; columnIndex < frozenColumnCount && columnIndex < cellViews.length; columnIndex++) {
+            if (cellViews[columnIndex] != null) {
+                frozenChildCount++;
+            }
+        }
+        return frozenChildCount;
+    }
+
+    private int getChildIndex(final int columnIndex) {
+        int childIndex = 0;
+        for (int index = 0; index < columnIndex; index++) {
+            if (cellViews[index] != null) {
+                childIndex++;
+            }
+        }
+        return childIndex;
+    }
+
+}
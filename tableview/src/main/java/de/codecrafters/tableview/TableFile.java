@@ -0,0 +1,539 @@
+package de.codecrafters.tableview;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.text.Format;
+
+
+/**
+ * The binary file format of a {@link ColumnarTableData}. The file starts with a header and a directory of
+ * all columns, followed by one section per column. Every section contains the fixed-width values of the
+ * column, indexed by the data index. A string column stores the position of every value in its sorted
+ * string pool instead, followed by the offsets of the pooled strings and the heap of their UTF-8 bytes.
+ * Optionally the ascending sort order of every column is stored as row indices. All numbers are big-endian
+ * and all sections are aligned to eight bytes.
+ * A mapped file is read directly from the mapped memory, nothing is deserialized up front.
+ *
+ * @author ISchwarz
+ */
+final class TableFile {
+
+    private static final int MAGIC = 0x54565442;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int COLUMN_HEADER_SIZE = 32;
+    private static final int ALIGNMENT = 8;
+    private static final long NO_SECTION = -1;
+
+    private static final int TYPE_INT = 1;
+    private static final int TYPE_LONG = 2;
+    private static final int TYPE_DOUBLE = 3;
+    private static final int TYPE_STRING = 4;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final int rowCount;
+    private final ColumnarTableData.Column[] columns;
+
+
+    private TableFile(final int rowCount, final ColumnarTableData.Column[] columns) {
+        this.rowCount = rowCount;
+        this.columns = columns;
+    }
+
+    /**
+     * Gives the number of rows of the mapped table.
+     *
+     * @return The number of rows.
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Gives the columns of the mapped table, reading their values from the mapped file.
+     *
+     * @return The mapped columns.
+     */
+    public ColumnarTableData.Column[] getColumns() {
+        return columns;
+    }
+
+    /**
+     * Maps the given table file into memory. The file is closed after mapping, the mapping stays valid until
+     * the mapped columns are garbage collected.
+     *
+     * @param file
+     *         The table file that shall be mapped.
+     * @return The mapped TableFile.
+     * @throws IOException
+     *         If the file can not be read or is not a valid table file.
+     */
+    public static TableFile map(final File file) throws IOException {
+        final MappedByteBuffer buffer;
+        final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        try {
+            final FileChannel channel = randomAccessFile.getChannel();
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("The table file " + file + " is too large to be mapped.");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } finally {
+            randomAccessFile.close();
+        }
+
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("The file " + file + " is not a table file.");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("The table file " + file + " has the unsupported version " + buffer.getInt(4) + ".");
+        }
+        final int rowCount = buffer.getInt(8);
+        final int columnCount = buffer.getInt(12);
+        if (rowCount < 0 || columnCount < 0 || HEADER_SIZE + (long) columnCount * COLUMN_HEADER_SIZE > buffer.capacity()) {
+            throw new IOException("The table file " + file + " is corrupt.");
+        }
+
+        final ColumnarTableData.Column[] columns = new ColumnarTableData.Column[columnCount];
+        for (int columnIndex = 0; columnIndex < columnCount; columnIndex++) {
+            final int columnHeader = HEADER_SIZE + columnIndex * COLUMN_HEADER_SIZE;
+            final int type = buffer.getInt(columnHeader);
+            final int stringCount = buffer.getInt(columnHeader + 4);
+            final long valuesOffset = buffer.getLong(columnHeader + 8);
+            final long stringsOffset = buffer.getLong(columnHeader + 16);
+            final long sortOrderOffset = buffer.getLong(columnHeader + 24);
+
+            final IntBuffer sortOrder = sortOrderOffset != NO_SECTION ?
+                    section(buffer, sortOrderOffset, rowCount * 4L, file).asIntBuffer() : null;
+            switch (type) {
+                case TYPE_INT:
+                    columns[columnIndex] = new MappedIntColumn(
+                            section(buffer, valuesOffset, rowCount * 4L, file).asIntBuffer(), sortOrder);
+                    break;
+                case TYPE_LONG:
+                    columns[columnIndex] = new MappedLongColumn(
+                            section(buffer, valuesOffset, rowCount * 8L, file).asLongBuffer(), sortOrder);
+                    break;
+                case TYPE_DOUBLE:
+                    columns[columnIndex] = new MappedDoubleColumn(
+                            section(buffer, valuesOffset, rowCount * 8L, file).asDoubleBuffer(), sortOrder);
+                    break;
+                case TYPE_STRING:
+                    final IntBuffer codes = section(buffer, valuesOffset, rowCount * 4L, file).asIntBuffer();
+                    final IntBuffer stringOffsets = section(buffer, stringsOffset, (stringCount + 1) * 4L, file).asIntBuffer();
+                    final long heapOffset = stringsOffset + (stringCount + 1) * 4L;
+                    final ByteBuffer heap = section(buffer, heapOffset, stringOffsets.get(stringCount), file);
+                    columns[columnIndex] = new MappedStringColumn(codes, stringOffsets, heap, sortOrder);
+                    break;
+                default:
+                    throw new IOException("The table file " + file + " contains the unknown column type " + type + ".");
+            }
+        }
+        return new TableFile(rowCount, columns);
+    }
+
+    /**
+     * Writes the given columns to a table file.
+     *
+     * @param file
+     *         The file that shall be written.
+     * @param rowCount
+     *         The number of rows.
+     * @param columns
+     *         The columns that shall be written. Mapped columns can not be written.
+     * @param withSortOrders
+     *         True if the ascending sort order of every column shall be written.
+     * @throws IOException
+     *         If the file can not be written or would be too large to be mapped.
+     */
+    public static void write(final File file, final int rowCount, final ColumnarTableData.Column[] columns,
+                             final boolean withSortOrders) throws IOException {
+        final byte[][][] encodedPools = new byte[columns.length][][];
+        final long[] valuesOffsets = new long[columns.length];
+        final long[] stringsOffsets = new long[columns.length];
+        final long[] sortOrderOffsets = new long[columns.length];
+
+        long fileSize = align(HEADER_SIZE + (long) columns.length * COLUMN_HEADER_SIZE);
+        for (int columnIndex = 0; columnIndex < columns.length; columnIndex++) {
+            final ColumnarTableData.Column column = columns[columnIndex];
+            valuesOffsets[columnIndex] = fileSize;
+            fileSize = align(fileSize + (long) rowCount * getValueSize(column));
+            stringsOffsets[columnIndex] = NO_SECTION;
+            if (column instanceof ColumnarTableData.StringColumn) {
+                encodedPools[columnIndex] = encode(((ColumnarTableData.StringColumn) column).pool);
+                stringsOffsets[columnIndex] = fileSize;
+                fileSize = align(fileSize + (encodedPools[columnIndex].length + 1) * 4L + getHeapSize(encodedPools[columnIndex]));
+            }
+            sortOrderOffsets[columnIndex] = NO_SECTION;
+            if (withSortOrders) {
+                sortOrderOffsets[columnIndex] = fileSize;
+                fileSize = align(fileSize + rowCount * 4L);
+            }
+        }
+        if (fileSize > Integer.MAX_VALUE) {
+            throw new IOException("The table would be too large to be mapped.");
+        }
+
+        final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(rowCount);
+            out.writeInt(columns.length);
+            for (int columnIndex = 0; columnIndex < columns.length; columnIndex++) {
+                final byte[][] encodedPool = encodedPools[columnIndex];
+                out.writeInt(getType(columns[columnIndex]));
+                out.writeInt(encodedPool != null ? encodedPool.length : 0);
+                out.writeLong(valuesOffsets[columnIndex]);
+                out.writeLong(stringsOffsets[columnIndex]);
+                out.writeLong(sortOrderOffsets[columnIndex]);
+            }
+
+            for (int columnIndex = 0; columnIndex < columns.length; columnIndex++) {
+                final ColumnarTableData.Column column = columns[columnIndex];
+                pad(out, valuesOffsets[columnIndex]);
+                writeValues(out, column);
+
+                final byte[][] encodedPool = encodedPools[columnIndex];
+                if (encodedPool != null) {
+                    pad(out, stringsOffsets[columnIndex]);
+                    int heapOffset = 0;
+                    out.writeInt(heapOffset);
+                    for (final byte[] encodedString : encodedPool) {
+                        heapOffset += encodedString.length;
+                        out.writeInt(heapOffset);
+                    }
+                    for (final byte[] encodedString : encodedPool) {
+                        out.write(encodedString);
+                    }
+                }
+
+                if (withSortOrders) {
+                    pad(out, sortOrderOffsets[columnIndex]);
+                    for (final int rowIndex : column.getSortKeys().sortRowIndices()) {
+                        out.writeInt(rowIndex);
+                    }
+                }
+            }
+            pad(out, fileSize);
+        } finally {
+            out.close();
+        }
+    }
+
+    private static void writeValues(final DataOutputStream out, final ColumnarTableData.Column column) throws IOException {
+        if (column instanceof ColumnarTableData.IntColumn) {
+            for (final int value : ((ColumnarTableData.IntColumn) column).values) {
+                out.writeInt(value);
+            }
+        } else if (column instanceof ColumnarTableData.LongColumn) {
+            for (final long value : ((ColumnarTableData.LongColumn) column).values) {
+                out.writeLong(value);
+            }
+        } else if (column instanceof ColumnarTableData.DoubleColumn) {
+            for (final double value : ((ColumnarTableData.DoubleColumn) column).values) {
+                out.writeDouble(value);
+            }
+        } else {
+            for (final int code : ((ColumnarTableData.StringColumn) column).codes) {
+                out.writeInt(code);
+            }
+        }
+    }
+
+    private static int getType(final ColumnarTableData.Column column) {
+        if (column instanceof ColumnarTableData.IntColumn) {
+            return TYPE_INT;
+        } else if (column instanceof ColumnarTableData.LongColumn) {
+            return TYPE_LONG;
+        } else if (column instanceof ColumnarTableData.DoubleColumn) {
+            return TYPE_DOUBLE;
+        } else if (column instanceof ColumnarTableData.StringColumn) {
+            return TYPE_STRING;
+        }
+        throw new IllegalStateException("Mapped table data can not be written to a table file again.");
+    }
+
+    private static int getValueSize(final ColumnarTableData.Column column) {
+        final int type = getType(column);
+        return type == TYPE_LONG || type == TYPE_DOUBLE ? 8 : 4;
+    }
+
+    private static byte[][] encode(final String[] pool) {
+        final byte[][] encodedPool = new byte[pool.length][];
+        for (int poolIndex = 0; poolIndex < pool.length; poolIndex++) {
+            encodedPool[poolIndex] = pool[poolIndex].getBytes(UTF_8);
+        }
+        return encodedPool;
+    }
+
+    private static long getHeapSize(final byte[][] encodedPool) {
+        long heapSize = 0;
+        for (final byte[] encodedString : encodedPool) {
+            heapSize += encodedString.length;
+        }
+        return heapSize;
+    }
+
+    private static long align(final long offset) {
+        return (offset + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+
+    private static void pad(final DataOutputStream out, final long offset) throws IOException {
+        while (out.size() < offset) {
+            out.writeByte(0);
+        }
+    }
+
+    /**
+     * Gives the section of the given size at the given offset of the mapped file, checking that it is
+     * completely contained in the file.
+     */
+    private static ByteBuffer section(final ByteBuffer buffer, final long offset, final long size, final File file)
+            throws IOException {
+        if (offset < 0 || size < 0 || offset + size > buffer.capacity()) {
+            throw new IOException("The table file " + file + " is corrupt.");
+        }
+        final ByteBuffer section = buffer.duplicate();
+        section.position((int) offset);
+        section.limit((int) (offset + size));
+        return section.slice();
+    }
+
+    private static int compareKeys(final long key1, final long key2) {
+        return key1 < key2 ? -1 : (key1 == key2 ? 0 : 1);
+    }
+
+
+    /**
+     * A column of {@code int} values read from a mapped table file.
+     *
+     * @author ISchwarz
+     */
+    private static class MappedIntColumn extends ColumnarTableData.Column {
+
+        private final IntBuffer values;
+        private final IntBuffer sortOrder;
+
+        public MappedIntColumn(final IntBuffer values, final IntBuffer sortOrder) {
+            this.values = values;
+            this.sortOrder = sortOrder;
+        }
+
+        @Override
+        public String getText(final int dataIndex, final Format format) {
+            final int value = values.get(dataIndex);
+            return format != null ? ColumnarTableData.format(format, value) : String.valueOf(value);
+        }
+
+        @Override
+        public ColumnSortKey.PrimitiveKeys getSortKeys() {
+            return new MappedIntKeys(values, sortOrder);
+        }
+    }
+
+    private static class MappedLongColumn extends ColumnarTableData.Column {
+
+        private final LongBuffer values;
+        private final IntBuffer sortOrder;
+
+        public MappedLongColumn(final LongBuffer values, final IntBuffer sortOrder) {
+            this.values = values;
+            this.sortOrder = sortOrder;
+        }
+
+        @Override
+        public String getText(final int dataIndex, final Format format) {
+            final long value = values.get(dataIndex);
+            return format != null ? ColumnarTableData.format(format, value) : String.valueOf(value);
+        }
+
+        @Override
+        public ColumnSortKey.PrimitiveKeys getSortKeys() {
+            return new MappedLongKeys(values, sortOrder);
+        }
+    }
+
+    private static class MappedDoubleColumn extends ColumnarTableData.Column {
+
+        private final DoubleBuffer values;
+        private final IntBuffer sortOrder;
+
+        public MappedDoubleColumn(final DoubleBuffer values, final IntBuffer sortOrder) {
+            this.values = values;
+            this.sortOrder = sortOrder;
+        }
+
+        @Override
+        public String getText(final int dataIndex, final Format format) {
+            final double value = values.get(dataIndex);
+            return format != null ? ColumnarTableData.format(format, value) : String.valueOf(value);
+        }
+
+        @Override
+        public ColumnSortKey.PrimitiveKeys getSortKeys() {
+            return new MappedDoubleKeys(values, sortOrder);
+        }
+    }
+
+    /**
+     * A column of strings read from a mapped table file. Like the in-memory string column, every row stores
+     * the position of its string in the sorted string pool, so the positions are used as sort keys. The
+     * strings are decoded from the heap when they are read.
+     *
+     * @author ISchwarz
+     */
+    private static class MappedStringColumn extends ColumnarTableData.Column {
+
+        private final IntBuffer codes;
+        private final IntBuffer stringOffsets;
+        private final ByteBuffer heap;
+        private final IntBuffer sortOrder;
+
+        public MappedStringColumn(final IntBuffer codes, final IntBuffer stringOffsets, final ByteBuffer heap,
+                                  final IntBuffer sortOrder) {
+            this.codes = codes;
+            this.stringOffsets = stringOffsets;
+            this.heap = heap;
+            this.sortOrder = sortOrder;
+        }
+
+        @Override
+        public String getText(final int dataIndex, final Format format) {
+            final int code = codes.get(dataIndex);
+            if (code < 0) {
+                return null;
+            }
+            final int start = stringOffsets.get(code);
+            final byte[] encodedString = new byte[stringOffsets.get(code + 1) - start];
+            final ByteBuffer heapReader = heap.duplicate();
+            heapReader.position(start);
+            heapReader.get(encodedString);
+            return new String(encodedString, UTF_8);
+        }
+
+        @Override
+        public ColumnSortKey.PrimitiveKeys getSortKeys() {
+            return new MappedIntKeys(codes, sortOrder);
+        }
+    }
+
+    /**
+     * The sort keys of a mapped column. The keys are compared directly in the mapped file. If the ascending
+     * sort order is stored in the file, it is copied instead of sorting the keys.
+     *
+     * @author ISchwarz
+     */
+    private abstract static class MappedKeys extends ColumnSortKey.PrimitiveKeys {
+
+        private final IntBuffer sortOrder;
+        private final int rowCount;
+
+        public MappedKeys(final IntBuffer sortOrder, final int rowCount) {
+            this.sortOrder = sortOrder;
+            this.rowCount = rowCount;
+        }
+
+        @Override
+        public int[] sortRowIndices() {
+            if (sortOrder == null) {
+                return sortByKeys();
+            }
+            final int[] rowIndices = new int[rowCount];
+            sortOrder.duplicate().get(rowIndices);
+            return rowIndices;
+        }
+
+        /**
+         * Copies the keys out of the mapped file and sorts them together with the row indices.
+         */
+        protected abstract int[] sortByKeys();
+    }
+
+    private static class MappedIntKeys extends MappedKeys {
+
+        private final IntBuffer keys;
+
+        public MappedIntKeys(final IntBuffer keys, final IntBuffer sortOrder) {
+            super(sortOrder, keys.capacity());
+            this.keys = keys;
+        }
+
+        @Override
+        public int compare(final int dataIndex1, final int dataIndex2) {
+            return compareKeys(keys.get(dataIndex1), keys.get(dataIndex2));
+        }
+
+        @Override
+        protected int[] sortByKeys() {
+            final int[] sortKeys = new int[keys.capacity()];
+            keys.duplicate().get(sortKeys);
+            final int[] rowIndices = RowIndexSorter.identity(sortKeys.length);
+            PrimitiveKeySorter.sort(sortKeys, rowIndices);
+            return rowIndices;
+        }
+    }
+
+    private static class MappedLongKeys extends MappedKeys {
+
+        private final LongBuffer keys;
+
+        public MappedLongKeys(final LongBuffer keys, final IntBuffer sortOrder) {
+            super(sortOrder, keys.capacity());
+            this.keys = keys;
+        }
+
+        @Override
+        public int compare(final int dataIndex1, final int dataIndex2) {
+            return compareKeys(keys.get(dataIndex1), keys.get(dataIndex2));
+        }
+
+        @Override
+        protected int[] sortByKeys() {
+            final long[] sortKeys = new long[keys.capacity()];
+            keys.duplicate().get(sortKeys);
+            final int[] rowIndices = RowIndexSorter.identity(sortKeys.length);
+            PrimitiveKeySorter.sort(sortKeys, rowIndices);
+            return rowIndices;
+        }
+    }
+
+    private static class MappedDoubleKeys extends MappedKeys {
+
+        private final DoubleBuffer keys;
+
+        public MappedDoubleKeys(final DoubleBuffer keys, final IntBuffer sortOrder) {
+            super(sortOrder, keys.capacity());
+            this.keys = keys;
+        }
+
+        @Override
+        public int compare(final int dataIndex1, final int dataIndex2) {
+            return compareKeys(PrimitiveKeySorter.toSortableLong(keys.get(dataIndex1)),
+                    PrimitiveKeySorter.toSortableLong(keys.get(dataIndex2)));
+        }
+
+        @Override
+        protected int[] sortByKeys() {
+            final long[] sortKeys = new long[keys.capacity()];
+            for (int dataIndex = 0; dataIndex < sortKeys.length; dataIndex++) {
+                sortKeys[dataIndex] = PrimitiveKeySorter.toSortableLong(keys.get(dataIndex));
+            }
+            final int[] rowIndices = RowIndexSorter.identity(sortKeys.length);
+            PrimitiveKeySorter.sort(sortKeys, rowIndices);
+            return rowIndices;
+        }
+    }
+
+}
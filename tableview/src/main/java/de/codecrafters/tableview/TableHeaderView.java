@@ -1,6 +1,7 @@
 package de.codecrafters.tableview;
 
 import android.content.Context;
+import android.graphics.Canvas;
 import android.view.Gravity;
 import android.view.View;
 import android.view.ViewGroup;
@@ -15,7 +16,10 @@ import de.codecrafters.tableview.listeners.TableHeaderClickListener;
 
 /**
  * This view represents the header of a table. The given {@link TableHeaderAdapter} is used to fill
- * this view with data.
+ * this view with data. The header views are only rendered if the adapter is set. Changes of the column
+ * count or the column weights are applied incrementally, so the header views of unchanged columns are kept.
+ * If the table is scrolled horizontally, the header views of frozen columns are translated against the
+ * scroll offset and drawn on top of the other header views, exactly like the cells of the data rows.
  *
  * @author ISchwarz
  */
@@ -23,6 +27,8 @@ class TableHeaderView extends LinearLayout {
 
     private final Set<TableHeaderClickListener> listeners = new HashSet<>();
     protected TableHeaderAdapter adapter;
+    private ColumnLayout columnLayout;
+    private int frozenColumnCount;
 
     /**
      * Creates a new TableHeaderView.
@@ -34,6 +40,7 @@ class TableHeaderView extends LinearLayout {
         super(context);
         setOrientation(LinearLayout.HORIZONTAL);
         setGravity(Gravity.CENTER_VERTICAL);
+        setChildrenDrawingOrderEnabled(true);
 
         final LayoutParams layoutParams = new LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT);
         setLayoutParams(layoutParams);
@@ -50,33 +57,143 @@ class TableHeaderView extends LinearLayout {
         renderHeaderViews();
     }
 
-    @Override
-    public void invalidate() {
-        renderHeaderViews();
-        super.invalidate();
-    }
-
     /**
      * This method renders the header views for every single column.
      */
     protected void renderHeaderViews() {
         removeAllViews();
+        updateHeaderViews();
+    }
+
+    /**
+     * Updates the header views to the current column count and column weights of the adapter. Header views
+     * of columns that still exist are kept, only the header views of added columns are created and the
+     * header views of removed columns are removed.
+     */
+    public void updateHeaderViews() {
+        if (adapter == null) {
+            return;
+        }
 
-        for (int columnIndex = 0; columnIndex < adapter.getColumnCount(); columnIndex++) {
-            View headerView = adapter.getHeaderView(columnIndex, this);
-            if (headerView == null) {
-                headerView = new TextView(getContext());
+        final int columnCount = adapter.getColumnCount();
+        while (getChildCount() > columnCount) {
+            removeHeaderView(getChildCount() - 1);
+        }
+
+        final boolean fixedWidths = columnLayout != null && columnLayout.getColumnCount() == columnCount;
+        for (int columnIndex = 0; columnIndex < columnCount; columnIndex++) {
+            final int width = fixedWidths ? columnLayout.getColumnWidth(columnIndex) : 0;
+            final int weight = fixedWidths ? 0 : adapter.getColumnWeight(columnIndex);
+            if (columnIndex < getChildCount()) {
+                final View headerView = getChildAt(columnIndex);
+                final LayoutParams headerLayoutParams = (LayoutParams) headerView.getLayoutParams();
+                if (headerLayoutParams.weight != weight || headerLayoutParams.width != width) {
+                    headerLayoutParams.weight = weight;
+                    headerLayoutParams.width = width;
+                    headerView.setLayoutParams(headerLayoutParams);
+                }
+            } else {
+                final int height = LayoutParams.WRAP_CONTENT;
+                final LayoutParams headerLayoutParams = new LayoutParams(width, height, weight);
+                addView(createHeaderView(columnIndex), headerLayoutParams);
             }
-            headerView.setOnClickListener(new InternalHeaderClickListener(columnIndex, getHeaderClickListeners()));
+        }
+        translateFrozenHeaderViews(frozenColumnCount);
+    }
 
-            final int width = 0;
-            final int height = LayoutParams.WRAP_CONTENT;
-            final int weight = adapter.getColumnWeight(columnIndex);
-            final LayoutParams headerLayoutParams = new LayoutParams(width, height, weight);
-            addView(headerView, headerLayoutParams);
+    /**
+     * Sets the {@link ColumnLayout} whose column widths shall be used for the header views. This is used if
+     * the table is scrolled horizontally, so the header views are exactly as wide as the cells and the
+     * header can be scrolled by the same offset as the rows. If null is given the column weights are used.
+     *
+     * @param columnLayout
+     *         The {@link ColumnLayout} that shall be used or null.
+     */
+    public void setColumnLayout(final ColumnLayout columnLayout) {
+        if (this.columnLayout != columnLayout) {
+            this.columnLayout = columnLayout;
+            updateHeaderViews();
         }
     }
 
+    /**
+     * Scrolls the header views horizontally to the given offset. The header views of the given number of
+     * leading columns are translated by the scroll offset, so they stay in place.
+     *
+     * @param scrollOffset
+     *         The horizontal scroll offset in pixels.
+     * @param frozenColumnCount
+     *         The number of leading columns that shall not be scrolled.
+     */
+    public void scrollColumnsTo(final int scrollOffset, final int frozenColumnCount) {
+        final int translatedColumnCount = Math.max(frozenColumnCount, this.frozenColumnCount);
+        if (this.frozenColumnCount != frozenColumnCount) {
+            this.frozenColumnCount = frozenColumnCount;
+            invalidate();
+        }
+        scrollTo(scrollOffset, 0);
+        translateFrozenHeaderViews(translatedColumnCount);
+    }
+
+    private void translateFrozenHeaderViews(final int columnCount) {
+        final int scrollOffset = getScrollX();
+        for (int columnIndex = 0; columnIndex < columnCount && columnIndex < getChildCount(); columnIndex++) {
+            getChildAt(columnIndex).setTranslationX(columnIndex < frozenColumnCount ? scrollOffset : 0);
+        }
+    }
+
+    @Override
+    protected int getChildDrawingOrder(final int childCount, final int drawingPosition) {
+        // the header views of the frozen columns come first, but are drawn last
+        final int frozenChildCount = Math.min(frozenColumnCount, childCount);
+        final int scrolledChildCount = childCount - frozenChildCount;
+        if (drawingPosition < scrolledChildCount) {
+            return drawingPosition + frozenChildCount;
+        }
+        return drawingPosition - scrolledChildCount;
+    }
+
+    @Override
+    protected boolean drawChild(final Canvas canvas, final View child, final long drawingTime) {
+        if (frozenColumnCount == 0 || columnLayout == null || indexOfChild(child) < frozenColumnCount) {
+            return super.drawChild(canvas, child, drawingTime);
+        }
+
+        final int frozenWidth = columnLayout.getColumnPosition(Math.min(frozenColumnCount, columnLayout.getColumnCount()));
+        final int clipLeft = getScrollX() + getPaddingLeft() + frozenWidth;
+        canvas.save();
+        canvas.clipRect(clipLeft, 0, getScrollX() + getWidth(), getHeight());
+        final boolean invalidated = super.drawChild(canvas, child, drawingTime);
+        canvas.restore();
+        return invalidated;
+    }
+
+    /**
+     * Creates the header view of the column with the given index.
+     *
+     * @param columnIndex
+     *         The index of the column to create the header view for.
+     * @return The created header view.
+     */
+    protected View createHeaderView(final int columnIndex) {
+        View headerView = adapter.getHeaderView(columnIndex, this);
+        if (headerView == null) {
+            headerView = new TextView(getContext());
+        }
+        headerView.setOnClickListener(new InternalHeaderClickListener(columnIndex, getHeaderClickListeners()));
+        return headerView;
+    }
+
+    /**
+     * Removes the header view of the column with the given index.
+     *
+     * @param columnIndex
+     *         The index of the column whose header view shall be removed.
+     */
+    protected void removeHeaderView(final int columnIndex) {
+        removeViewAt(columnIndex);
+    }
+
     protected Set<TableHeaderClickListener> getHeaderClickListeners() {
         return listeners;
     }
@@ -4,8 +4,11 @@ import android.content.Context;
 import android.content.res.TypedArray;
 import android.graphics.Typeface;
 import android.support.v4.view.ViewCompat;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
 import android.util.AttributeSet;
 import android.util.Log;
+import android.view.MotionEvent;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.AdapterView;
@@ -18,6 +21,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 import de.codecrafters.tableview.colorizers.TableDataRowColorizer;
+import de.codecrafters.tableview.listeners.TableColumnModelListener;
 import de.codecrafters.tableview.listeners.TableDataClickListener;
 import de.codecrafters.tableview.listeners.TableHeaderClickListener;
 import de.codecrafters.tableview.toolkit.TableDataRowColorizers;
@@ -36,12 +40,26 @@ public class TableView<T> extends LinearLayout {
     private static final int DEFAULT_COLUMN_COUNT = 4;
     private static final int DEFAULT_HEADER_ELEVATION = 1;
     private static final int DEFAULT_HEADER_COLOR = 0xFFCCCCCC;
+    private static final int DEFAULT_COLUMN_WEIGHT_WIDTH_DP = 100;
+
+    /**
+     * Value of the {@code dataViewEngine} attribute that backs the data area with a {@link ListView}.
+     */
+    public static final int DATA_VIEW_ENGINE_LIST_VIEW = 0;
+    /**
+     * Value of the {@code dataViewEngine} attribute that backs the data area with a {@link RecyclerView}.
+     */
+    public static final int DATA_VIEW_ENGINE_RECYCLER_VIEW = 1;
 
     private final Set<TableDataClickListener<T>> dataClickListeners = new HashSet<>();
     private TableColumnModel columnModel;
+    private ColumnViewport columnViewport;
+    private ColumnLayout viewportColumnLayout;
+    private ColumnScroller columnScroller;
 
     private TableHeaderView tableHeaderView;
     private ListView tableDataView;
+    private RecyclerView tableDataRecyclerView;
 
     private TableHeaderAdapter tableHeaderAdapter;
     protected TableDataAdapter<T> tableDataAdapter;
@@ -50,6 +68,7 @@ public class TableView<T> extends LinearLayout {
 
     private int headerElevation;
     private int headerColor;
+    private int dataViewEngine;
 
 
     /**
@@ -90,6 +109,8 @@ public class TableView<T> extends LinearLayout {
         super(context, attributes, styleAttributes);
         setOrientation(LinearLayout.VERTICAL);
         setAttributes(context, attributes);
+        columnViewport = new ColumnViewport(Math.round(DEFAULT_COLUMN_WEIGHT_WIDTH_DP * getResources().getDisplayMetrics().density));
+        columnScroller = new ColumnScroller(this, new InternalScrollTarget());
         setupTableHeaderView();
         setupTableDataView();
     }
@@ -112,6 +133,7 @@ public class TableView<T> extends LinearLayout {
 
         addView(tableHeaderView, 0);
         setHeaderElevation(headerElevation);
+        updateViewport();
 
         forceRefresh();
     }
@@ -221,11 +243,43 @@ public class TableView<T> extends LinearLayout {
     public void setDataAdapter(final TableDataAdapter<T> dataAdapter) {
         tableDataAdapter = dataAdapter;
         tableDataAdapter.setColumnModel(columnModel);
+        tableDataAdapter.setColumnViewport(columnViewport);
         tableDataAdapter.setRowColoriser(dataRowColoriser);
-        tableDataView.setAdapter(tableDataAdapter);
+        setDataViewAdapter();
         forceRefresh();
     }
 
+    /**
+     * Sets the {@link RecyclerView.RecycledViewPool} that shall be used by the data view. Sharing one pool
+     * between several tables on one screen reduces the number of row views that need to be created.
+     * (Hint: this only has an effect if the table uses the {@code recyclerView} data view engine.)
+     *
+     * @param recycledViewPool
+     *         The {@link RecyclerView.RecycledViewPool} that shall be used.
+     */
+    public void setRecycledViewPool(final RecyclerView.RecycledViewPool recycledViewPool) {
+        if (tableDataRecyclerView != null) {
+            tableDataRecyclerView.setRecycledViewPool(recycledViewPool);
+        } else {
+            Log.w(LOG_TAG, "Unable to set RecycledViewPool. Reason: the data view is not backed by a RecyclerView.");
+        }
+    }
+
+    /**
+     * Sets the {@link RecyclerView.ItemAnimator} that shall be used to animate fine-grained row updates.
+     * (Hint: this only has an effect if the table uses the {@code recyclerView} data view engine.)
+     *
+     * @param itemAnimator
+     *         The {@link RecyclerView.ItemAnimator} that shall be used.
+     */
+    public void setDataItemAnimator(final RecyclerView.ItemAnimator itemAnimator) {
+        if (tableDataRecyclerView != null) {
+            tableDataRecyclerView.setItemAnimator(itemAnimator);
+        } else {
+            Log.w(LOG_TAG, "Unable to set ItemAnimator. Reason: the data view is not backed by a RecyclerView.");
+        }
+    }
+
     /**
      * Sets the number of columns of this table.
      *
@@ -234,7 +288,6 @@ public class TableView<T> extends LinearLayout {
      */
     public void setColumnCount(final int columnCount) {
         columnModel.setColumnCount(columnCount);
-        forceRefresh();
     }
 
     /**
@@ -256,7 +309,6 @@ public class TableView<T> extends LinearLayout {
      */
     public void setColumnWeight(final int columnIndex, final int columnWeight) {
         columnModel.setColumnWeight(columnIndex, columnWeight);
-        forceRefresh();
     }
 
     /**
@@ -270,6 +322,165 @@ public class TableView<T> extends LinearLayout {
         return columnModel.getColumnWeight(columnIndex);
     }
 
+    /**
+     * Enables or disables horizontal scrolling of the columns. If horizontal scrolling is enabled, every
+     * column weight takes a fixed width (see {@link #setColumnWeightWidth(int)}), so the columns can be
+     * wider than the table. Only the cells of the visible columns are bound to the rows, which keeps
+     * vertical scrolling fast for tables with many columns. The header is scrolled together with the rows.
+     *
+     * @param enabled
+     *         True if the columns shall be scrollable horizontally, else false.
+     */
+    public void setHorizontalScrollingEnabled(final boolean enabled) {
+        if (columnViewport.isHorizontalScrollingEnabled() != enabled) {
+            columnScroller.abortFling();
+            columnViewport.setHorizontalScrollingEnabled(enabled);
+            updateViewport();
+            refreshColumns();
+        }
+    }
+
+    /**
+     * Checks whether the columns are scrollable horizontally.
+     *
+     * @return True if horizontal scrolling is enabled, else false.
+     */
+    public boolean isHorizontalScrollingEnabled() {
+        return columnViewport.isHorizontalScrollingEnabled();
+    }
+
+    /**
+     * Sets the width a column weight of 1 takes if horizontal scrolling is enabled. A column with the
+     * weight 2 will be twice as wide. If all columns together are narrower than the table, they are
+     * stretched to the table width. By default a column weight takes 100dp.
+     *
+     * @param columnWeightWidth
+     *         The width of a column weight in pixels.
+     */
+    public void setColumnWeightWidth(final int columnWeightWidth) {
+        if (columnViewport.getColumnWeightWidth() != columnWeightWidth) {
+            columnViewport.setColumnWeightWidth(columnWeightWidth);
+            if (columnViewport.isHorizontalScrollingEnabled()) {
+                updateViewport();
+                refreshColumns();
+            }
+        }
+    }
+
+    /**
+     * Gives the width a column weight of 1 takes if horizontal scrolling is enabled.
+     *
+     * @return The width of a column weight in pixels.
+     */
+    public int getColumnWeightWidth() {
+        return columnViewport.getColumnWeightWidth();
+    }
+
+    /**
+     * Sets the number of leading columns that shall stay in place while the other columns are scrolled
+     * horizontally, e.g. to keep the columns identifying a row visible.
+     * (Hint: this only has an effect if horizontal scrolling is enabled.)
+     *
+     * @param frozenColumnCount
+     *         The number of frozen columns.
+     */
+    public void setFrozenColumnCount(final int frozenColumnCount) {
+        if (columnViewport.getFrozenColumnCount() != frozenColumnCount) {
+            columnViewport.setFrozenColumnCount(frozenColumnCount);
+            if (columnViewport.isHorizontalScrollingEnabled()) {
+                updateViewport();
+                refreshColumns();
+            }
+        }
+    }
+
+    /**
+     * Gives the number of leading columns that stay in place while the other columns are scrolled.
+     *
+     * @return The number of frozen columns.
+     */
+    public int getFrozenColumnCount() {
+        return columnViewport.getFrozenColumnCount();
+    }
+
+    /**
+     * Scrolls the columns horizontally to the given offset. The offset is limited to the scrollable range.
+     * (Hint: this only has an effect if horizontal scrolling is enabled.)
+     *
+     * @param scrollOffset
+     *         The horizontal scroll offset in pixels.
+     */
+    public void scrollHorizontallyTo(final int scrollOffset) {
+        if (!columnViewport.isHorizontalScrollingEnabled()) {
+            return;
+        }
+
+        final int clampedScrollOffset = Math.max(0, Math.min(scrollOffset, getMaxHorizontalScrollOffset()));
+        if (clampedScrollOffset == columnViewport.getScrollOffset()) {
+            return;
+        }
+        columnViewport.setScrollOffset(clampedScrollOffset);
+
+        if (tableHeaderView != null) {
+            tableHeaderView.scrollColumnsTo(clampedScrollOffset, columnViewport.getFrozenColumnCount(getViewportColumnLayout()));
+        }
+        final ViewGroup dataView = tableDataRecyclerView != null ? tableDataRecyclerView : tableDataView;
+        if (dataView != null) {
+            for (int childIndex = 0; childIndex < dataView.getChildCount(); childIndex++) {
+                tableDataAdapter.scrollRowView(dataView.getChildAt(childIndex), dataView.getWidth());
+            }
+        }
+    }
+
+    /**
+     * Gives the current horizontal scroll offset of the columns.
+     *
+     * @return The horizontal scroll offset in pixels or 0 if horizontal scrolling is disabled.
+     */
+    public int getHorizontalScrollOffset() {
+        return columnViewport.getScrollOffset();
+    }
+
+    @Override
+    public boolean onInterceptTouchEvent(final MotionEvent event) {
+        if (columnViewport.isHorizontalScrollingEnabled() && columnScroller.onInterceptTouchEvent(event)) {
+            return true;
+        }
+        return super.onInterceptTouchEvent(event);
+    }
+
+    @Override
+    public boolean onTouchEvent(final MotionEvent event) {
+        if (columnViewport.isHorizontalScrollingEnabled()) {
+            return columnScroller.onTouchEvent(event);
+        }
+        return super.onTouchEvent(event);
+    }
+
+    @Override
+    protected void onSizeChanged(final int width, final int height, final int oldWidth, final int oldHeight) {
+        super.onSizeChanged(width, height, oldWidth, oldHeight);
+        if (width != oldWidth) {
+            updateViewport();
+        }
+    }
+
+    /**
+     * Gives the number of rows from the top of the table down to the last visible row.
+     *
+     * @return The index of the last visible row plus one or 0 if no row is laid out yet.
+     */
+    int getVisibleRowCount() {
+        if (tableDataRecyclerView != null) {
+            final RecyclerView.LayoutManager layoutManager = tableDataRecyclerView.getLayoutManager();
+            if (layoutManager instanceof LinearLayoutManager) {
+                return ((LinearLayoutManager) layoutManager).findLastVisibleItemPosition() + 1;
+            }
+            return tableDataRecyclerView.getChildCount();
+        }
+        return tableDataView.getLastVisiblePosition() + 1;
+    }
+
     private void forceRefresh() {
         if(tableHeaderView != null) {
             tableHeaderView.invalidate();
@@ -277,6 +488,66 @@ public class TableView<T> extends LinearLayout {
         if(tableDataView != null) {
             tableDataView.invalidate();
         }
+        if(tableDataRecyclerView != null) {
+            tableDataRecyclerView.invalidate();
+        }
+    }
+
+    private int getViewportWidth() {
+        return getWidth() - getPaddingLeft() - getPaddingRight();
+    }
+
+    private int getMaxHorizontalScrollOffset() {
+        return columnViewport.getMaxScrollOffset(getViewportColumnLayout(), getViewportWidth());
+    }
+
+    /**
+     * Gives the {@link ColumnLayout} for the current content width. It is cached until the table width
+     * or the column model changes.
+     */
+    private ColumnLayout getViewportColumnLayout() {
+        final int contentWidth = columnViewport.getContentWidth(columnModel, getViewportWidth());
+        if (viewportColumnLayout == null || !viewportColumnLayout.isValidFor(columnModel, contentWidth)) {
+            viewportColumnLayout = new ColumnLayout(columnModel, contentWidth);
+        }
+        return viewportColumnLayout;
+    }
+
+    /**
+     * Applies the current column widths and the (limited) horizontal scroll offset to the header. The rows
+     * pick them up when they are bound the next time.
+     */
+    private void updateViewport() {
+        if (columnViewport == null || tableHeaderView == null) {
+            return;
+        }
+
+        final ColumnLayout columnLayout = getViewportColumnLayout();
+        if (columnViewport.isHorizontalScrollingEnabled()) {
+            final int scrollOffset = Math.min(columnViewport.getScrollOffset(), getMaxHorizontalScrollOffset());
+            columnViewport.setScrollOffset(Math.max(0, scrollOffset));
+            tableHeaderView.setColumnLayout(columnLayout);
+        } else {
+            tableHeaderView.setColumnLayout(null);
+        }
+        tableHeaderView.scrollColumnsTo(columnViewport.getScrollOffset(), columnViewport.getFrozenColumnCount(columnLayout));
+    }
+
+    /**
+     * Updates the header views and rebinds the visible rows, so they reflect the current column model.
+     * The data itself is untouched, so no data set observer is notified.
+     */
+    private void refreshColumns() {
+        if (tableHeaderView != null) {
+            tableHeaderView.updateHeaderViews();
+        }
+        if (tableDataView != null) {
+            tableDataView.invalidateViews();
+        }
+        if (tableDataRecyclerView != null && tableDataRecyclerView.getAdapter() != null) {
+            final RecyclerView.Adapter<?> adapter = tableDataRecyclerView.getAdapter();
+            adapter.notifyItemRangeChanged(0, adapter.getItemCount());
+        }
     }
 
     private void setAttributes(final Context context, final AttributeSet attributes) {
@@ -284,8 +555,10 @@ public class TableView<T> extends LinearLayout {
 
         headerColor = styledAttributes.getInt(R.styleable.TableView_headerColor, DEFAULT_HEADER_COLOR);
         headerElevation = styledAttributes.getInt(R.styleable.TableView_headerElevation, DEFAULT_HEADER_ELEVATION);
+        dataViewEngine = styledAttributes.getInt(R.styleable.TableView_dataViewEngine, DATA_VIEW_ENGINE_LIST_VIEW);
         final int columnCount = styledAttributes.getInt(R.styleable.TableView_columnCount, DEFAULT_COLUMN_COUNT);
         columnModel = new TableColumnModel(columnCount);
+        columnModel.addColumnModelListener(new InternalColumnModelListener());
 
         styledAttributes.recycle();
     }
@@ -309,30 +582,92 @@ public class TableView<T> extends LinearLayout {
         } else {
             tableDataAdapter = new DefaultTableDataAdapter(getContext());
         }
+        tableDataAdapter.setColumnViewport(columnViewport);
         tableDataAdapter.setRowColoriser(dataRowColoriser);
 
-        tableDataView = new ListView(getContext());
-        tableDataView.setOnItemClickListener(new InternalDataClickListener());
-        tableDataView.setLayoutParams(dataViewLayoutParams);
-        tableDataView.setAdapter(tableDataAdapter);
+        if (dataViewEngine == DATA_VIEW_ENGINE_RECYCLER_VIEW) {
+            tableDataRecyclerView = new RecyclerView(getContext());
+            tableDataRecyclerView.setLayoutManager(new LinearLayoutManager(getContext()));
+            tableDataRecyclerView.setLayoutParams(dataViewLayoutParams);
+            setDataViewAdapter();
+            addView(tableDataRecyclerView);
+        } else {
+            tableDataView = new ListView(getContext());
+            tableDataView.setOnItemClickListener(new InternalDataClickListener());
+            tableDataView.setLayoutParams(dataViewLayoutParams);
+            setDataViewAdapter();
+            addView(tableDataView);
+        }
+    }
+
+    private void setDataViewAdapter() {
+        if (tableDataRecyclerView != null) {
+            tableDataRecyclerView.setAdapter(new TableDataRecyclerAdapter(tableDataAdapter, new InternalDataClickListener()));
+        } else {
+            tableDataView.setAdapter(tableDataAdapter);
+        }
+    }
+
 
-        addView(tableDataView);
+    /**
+     * Updates the header and the data view if the column model changes.
+     *
+     * @author ISchwarz
+     */
+    private class InternalColumnModelListener implements TableColumnModelListener {
+
+        @Override
+        public void onColumnModelChanged(final TableColumnModel columnModel) {
+            updateViewport();
+            refreshColumns();
+        }
     }
 
+    /**
+     * Scrolls the table horizontally on drags and flings of the {@link ColumnScroller}.
+     *
+     * @author ISchwarz
+     */
+    private class InternalScrollTarget implements ColumnScroller.ScrollTarget {
+
+        @Override
+        public int getHorizontalScrollOffset() {
+            return TableView.this.getHorizontalScrollOffset();
+        }
+
+        @Override
+        public int getMaxHorizontalScrollOffset() {
+            return TableView.this.getMaxHorizontalScrollOffset();
+        }
+
+        @Override
+        public void scrollHorizontallyTo(final int scrollOffset) {
+            TableView.this.scrollHorizontallyTo(scrollOffset);
+        }
+    }
 
     /**
      * Internal management of clicks on the data view.
      *
      * @author ISchwarz
      */
-    private class InternalDataClickListener implements AdapterView.OnItemClickListener {
+    private class InternalDataClickListener implements AdapterView.OnItemClickListener, TableDataRecyclerAdapter.OnRowClickListener {
 
         @Override
         public void onItemClick(final AdapterView<?> adapterView, final View view, final int i, final long l) {
             informAllListeners(i);
         }
 
+        @Override
+        public void onRowClicked(final int rowIndex) {
+            informAllListeners(rowIndex);
+        }
+
         private void informAllListeners(final int rowIndex) {
+            if (!tableDataAdapter.isRowLoaded(rowIndex)) {
+                // a row that is still loading has no data to hand over
+                return;
+            }
             final T clickedObject = tableDataAdapter.getItem(rowIndex);
 
             for (final TableDataClickListener<T> listener : dataClickListeners) {
@@ -0,0 +1,164 @@
+package de.codecrafters.tableview;
+
+import android.content.Context;
+import android.graphics.Paint;
+import android.graphics.Typeface;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.text.TextUtils;
+
+
+/**
+ * Renders the rows of a {@link TableDataAdapter} as plain text. Instead of a row layout containing one view
+ * per cell, every row is a single view that draws the text of its cells directly on its canvas. All rows
+ * share the {@link TextPaint} of this renderer, and the text layouts of the cells are cached by the rows
+ * until the text, the column width or the style changes. The texts are given by
+ * {@link TableDataAdapter#getCellText(int, int)}.
+ * Like a {@link android.widget.TextView} with a single line, every cell shows one line of text that is
+ * ellipsized at the end if it does not fit the column.
+ *
+ * @author ISchwarz
+ */
+public class TextRowRenderer {
+
+    private static final float ITALIC_TEXT_SKEW = -0.25f;
+
+    private final TextPaint textPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+    private final float scaledDensity;
+
+    private int paddingLeft = 20;
+    private int paddingTop = 15;
+    private int paddingRight = 20;
+    private int paddingBottom = 15;
+    private int lineHeight;
+    private int version;
+
+
+    /**
+     * Creates a new TextRowRenderer.
+     *
+     * @param context
+     *         The context that shall be used.
+     */
+    public TextRowRenderer(final Context context) {
+        scaledDensity = context.getResources().getDisplayMetrics().scaledDensity;
+        setTextSize(18);
+        setTypeface(Typeface.NORMAL);
+        setTextColor(0x99000000);
+    }
+
+    /**
+     * Sets the padding that will be used for all table cells.
+     *
+     * @param left
+     *         The padding on the left side.
+     * @param top
+     *         The padding on the top side.
+     * @param right
+     *         The padding on the right side.
+     * @param bottom
+     *         The padding on the bottom side.
+     */
+    public void setPaddings(final int left, final int top, final int right, final int bottom) {
+        paddingLeft = left;
+        paddingTop = top;
+        paddingRight = right;
+        paddingBottom = bottom;
+        version++;
+    }
+
+    /**
+     * Sets the text size that will be used for all table cells.
+     *
+     * @param textSize
+     *         The text size in scaled pixels (sp).
+     */
+    public void setTextSize(final int textSize) {
+        textPaint.setTextSize(textSize * scaledDensity);
+        updateLineHeight();
+    }
+
+    /**
+     * Sets the typeface that will be used for all table cells.
+     *
+     * @param typeface
+     *         The typeface style that shall be used (e.g. {@link Typeface#BOLD}).
+     */
+    public void setTypeface(final int typeface) {
+        final Typeface styledTypeface = Typeface.defaultFromStyle(typeface);
+        textPaint.setTypeface(styledTypeface);
+
+        // emulate the styles the typeface does not support, like TextView does
+        final int missingStyle = typeface & ~(styledTypeface != null ? styledTypeface.getStyle() : 0);
+        textPaint.setFakeBoldText((missingStyle & Typeface.BOLD) != 0);
+        textPaint.setTextSkewX((missingStyle & Typeface.ITALIC) != 0 ? ITALIC_TEXT_SKEW : 0);
+        updateLineHeight();
+    }
+
+    /**
+     * Sets the text color that will be used for all table cells.
+     *
+     * @param textColor
+     *         The text color that shall be used.
+     */
+    public void setTextColor(final int textColor) {
+        textPaint.setColor(textColor);
+        version++;
+    }
+
+    /**
+     * Gives the height of a row, which is the height of one line of text plus the vertical paddings.
+     *
+     * @return The row height in pixels.
+     */
+    int getRowHeight() {
+        return paddingTop + lineHeight + paddingBottom;
+    }
+
+    int getPaddingLeft() {
+        return paddingLeft;
+    }
+
+    int getPaddingTop() {
+        return paddingTop;
+    }
+
+    int getPaddingBottom() {
+        return paddingBottom;
+    }
+
+    /**
+     * Gives the version of the style of this renderer. It changes whenever a setting changes, so the
+     * rows know when their cached text layouts became invalid.
+     *
+     * @return The version of the style.
+     */
+    int getVersion() {
+        return version;
+    }
+
+    /**
+     * Creates the layout of the given text for a column of the given width.
+     *
+     * @param text
+     *         The text of the cell.
+     * @param columnWidth
+     *         The width of the column in pixels.
+     * @return The layout of the ellipsized text or null if there is nothing to draw.
+     */
+    StaticLayout createTextLayout(final CharSequence text, final int columnWidth) {
+        final int textWidth = columnWidth - paddingLeft - paddingRight;
+        if (TextUtils.isEmpty(text) || textWidth <= 0) {
+            return null;
+        }
+        final CharSequence ellipsizedText = TextUtils.ellipsize(text, textPaint, textWidth, TextUtils.TruncateAt.END);
+        return new StaticLayout(ellipsizedText, textPaint, textWidth, Layout.Alignment.ALIGN_NORMAL, 1, 0, false);
+    }
+
+    private void updateLineHeight() {
+        lineHeight = textPaint.getFontMetricsInt(null);
+        version++;
+    }
+
+}
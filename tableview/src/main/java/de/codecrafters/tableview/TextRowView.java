@@ -0,0 +1,224 @@
+package de.codecrafters.tableview;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.text.StaticLayout;
+import android.text.TextUtils;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.AbsListView;
+
+import java.util.Arrays;
+
+
+/**
+ * A table data row that draws the text of its cells directly on its canvas using a {@link TextRowRenderer}.
+ * The text layouts are created lazily for the visible cells only and are cached until the text, the
+ * column width or the style of the renderer changes. Measuring the row does not depend on its texts, so
+ * a layout pass of the row is as cheap as it gets.
+ *
+ * @author ISchwarz
+ */
+class TextRowView extends View {
+
+    private TextRowRenderer renderer;
+    private ColumnLayout columnLayout;
+    private CharSequence[] cellTexts = new CharSequence[0];
+    private StaticLayout[] textLayouts = new StaticLayout[0];
+    private int rendererVersion;
+    private int rowIndex = -1;
+    private int frozenColumnCount;
+    private int boundFrozenColumnCount;
+    private int firstBoundColumn;
+    private int lastBoundColumn = -1;
+
+
+    /**
+     * Creates a new TextRowView.
+     *
+     * @param context
+     *         The context that shall be used.
+     */
+    public TextRowView(final Context context) {
+        super(context);
+        setLayoutParams(new AbsListView.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+    }
+
+    /**
+     * Binds the given row to this view. All cached text layouts are kept, the texts of the cells are set
+     * afterwards using {@link #setCellText(int, CharSequence)} and the columns whose texts are set are
+     * stored using {@link #setBoundColumns(int, int, int)}.
+     *
+     * @param rowIndex
+     *         The index of the row.
+     * @param renderer
+     *         The {@link TextRowRenderer} that shall be used to draw the texts.
+     * @param columnLayout
+     *         The {@link ColumnLayout} giving the positions of the cells.
+     */
+    public void bind(final int rowIndex, final TextRowRenderer renderer, final ColumnLayout columnLayout) {
+        this.rowIndex = rowIndex;
+        if (this.renderer != renderer || rendererVersion != renderer.getVersion()) {
+            this.renderer = renderer;
+            rendererVersion = renderer.getVersion();
+            Arrays.fill(textLayouts, null);
+            requestLayout();
+        }
+        if (this.columnLayout != columnLayout) {
+            this.columnLayout = columnLayout;
+            Arrays.fill(textLayouts, null);
+        }
+
+        final int columnCount = columnLayout.getColumnCount();
+        if (cellTexts.length != columnCount) {
+            cellTexts = Arrays.copyOf(cellTexts, columnCount);
+            textLayouts = Arrays.copyOf(textLayouts, columnCount);
+        }
+        invalidate();
+    }
+
+    /**
+     * Sets the text of the cell of the given column. The cached text layout of the cell is only dropped
+     * if the text changed.
+     *
+     * @param columnIndex
+     *         The index of the column.
+     * @param text
+     *         The text that shall be shown in the cell.
+     */
+    public void setCellText(final int columnIndex, final CharSequence text) {
+        if (!TextUtils.equals(cellTexts[columnIndex], text)) {
+            cellTexts[columnIndex] = text;
+            textLayouts[columnIndex] = null;
+        }
+    }
+
+    /**
+     * Stores the range of columns whose texts are set, in addition to the given number of frozen columns.
+     *
+     * @param frozenColumnCount
+     *         The number of leading columns whose texts are set.
+     * @param firstBoundColumn
+     *         The index of the first column whose text is set.
+     * @param lastBoundColumn
+     *         The index of the last column whose text is set.
+     */
+    public void setBoundColumns(final int frozenColumnCount, final int firstBoundColumn, final int lastBoundColumn) {
+        this.boundFrozenColumnCount = frozenColumnCount;
+        this.firstBoundColumn = firstBoundColumn;
+        this.lastBoundColumn = lastBoundColumn;
+    }
+
+    /**
+     * Gives the information whether the text of the given column is set.
+     *
+     * @param columnIndex
+     *         The index of the column.
+     * @return True if the text of the column is set, else false.
+     */
+    public boolean isColumnBound(final int columnIndex) {
+        return columnIndex < boundFrozenColumnCount || columnIndex >= firstBoundColumn && columnIndex <= lastBoundColumn;
+    }
+
+    /**
+     * Gives the index of the row that is bound to this view.
+     *
+     * @return The index of the bound row or -1 if no row is bound yet.
+     */
+    public int getRowIndex() {
+        return rowIndex;
+    }
+
+    /**
+     * Gives the index of the first column whose text is set.
+     *
+     * @return The index of the first bound column.
+     */
+    public int getFirstBoundColumn() {
+        return firstBoundColumn;
+    }
+
+    /**
+     * Gives the index of the last column whose text is set.
+     *
+     * @return The index of the last bound column.
+     */
+    public int getLastBoundColumn() {
+        return lastBoundColumn;
+    }
+
+    /**
+     * Gives the {@link ColumnLayout} that is bound to this view.
+     *
+     * @return The bound {@link ColumnLayout} or null if no row is bound yet.
+     */
+    public ColumnLayout getColumnLayout() {
+        return columnLayout;
+    }
+
+    /**
+     * Scrolls the cells horizontally to the given offset. The given number of leading columns are drawn
+     * at a fixed position on top of the scrolled cells.
+     *
+     * @param scrollOffset
+     *         The horizontal scroll offset in pixels.
+     * @param frozenColumnCount
+     *         The number of leading columns that shall not be scrolled.
+     */
+    public void scrollColumnsTo(final int scrollOffset, final int frozenColumnCount) {
+        if (this.frozenColumnCount != frozenColumnCount) {
+            this.frozenColumnCount = frozenColumnCount;
+            invalidate();
+        }
+        scrollTo(scrollOffset, 0);
+    }
+
+    @Override
+    protected void onMeasure(final int widthMeasureSpec, final int heightMeasureSpec) {
+        final int height = renderer != null ? renderer.getRowHeight() : getSuggestedMinimumHeight();
+        setMeasuredDimension(getDefaultSize(0, widthMeasureSpec), resolveSize(height, heightMeasureSpec));
+    }
+
+    @Override
+    protected void onDraw(final Canvas canvas) {
+        if (renderer == null || columnLayout == null || columnLayout.getColumnCount() == 0) {
+            return;
+        }
+
+        final int scrollX = getScrollX();
+        final int frozenCount = Math.min(frozenColumnCount, columnLayout.getColumnCount());
+        final int frozenWidth = columnLayout.getColumnPosition(frozenCount);
+
+        canvas.save();
+        canvas.clipRect(scrollX + frozenWidth, 0, scrollX + getWidth(), getHeight());
+        final int firstColumn = Math.max(frozenCount, columnLayout.getColumnAt(scrollX + frozenWidth));
+        final int lastColumn = columnLayout.getColumnAt(scrollX + getWidth() - 1);
+        for (int columnIndex = firstColumn; columnIndex <= lastColumn; columnIndex++) {
+            drawCell(canvas, columnIndex, columnLayout.getColumnPosition(columnIndex));
+        }
+        canvas.restore();
+
+        for (int columnIndex = 0; columnIndex < frozenCount; columnIndex++) {
+            drawCell(canvas, columnIndex, scrollX + columnLayout.getColumnPosition(columnIndex));
+        }
+    }
+
+    private void drawCell(final Canvas canvas, final int columnIndex, final int cellLeft) {
+        StaticLayout textLayout = textLayouts[columnIndex];
+        if (textLayout == null) {
+            textLayout = renderer.createTextLayout(cellTexts[columnIndex], columnLayout.getColumnWidth(columnIndex));
+            if (textLayout == null) {
+                return;
+            }
+            textLayouts[columnIndex] = textLayout;
+        }
+
+        final int contentHeight = getHeight() - renderer.getPaddingTop() - renderer.getPaddingBottom();
+        final int textTop = renderer.getPaddingTop() + (contentHeight - textLayout.getHeight()) / 2;
+        canvas.save();
+        canvas.translate(cellLeft + renderer.getPaddingLeft(), textTop);
+        textLayout.draw(canvas);
+        canvas.restore();
+    }
+
+}
@@ -0,0 +1,10 @@
+package de.codecrafters.tableview.colorizers;
+
+/**
+ * A {@link TableDataRowColorizer} whose colors depend on the row index only. The data of a row is not read
+ * to color the row, so {@code getRowColor()} is always called with null as row data. This saves loading
+ * or formatting the data of every bound row, e.g. of a {@link de.codecrafters.tableview.ColumnarTableData}.
+ */
+public interface TableDataRowIndexColorizer<T> extends TableDataRowColorizer<T> {
+
+}
@@ -0,0 +1,25 @@
+package de.codecrafters.tableview.extractors;
+
+/**
+ * A interface for a sort key extractor. It extracts a {@link Comparable} sort key from the data
+ * of a row. Using a sort key extractor instead of a {@link java.util.Comparator} enables the
+ * {@link de.codecrafters.tableview.SortableTableView} to extract the key of every row only once
+ * per sorting.
+ *
+ * @param <T>
+ *         The type of the row data.
+ * @param <K>
+ *         The type of the sort key.
+ */
+public interface KeyExtractor<T, K extends Comparable<? super K>> {
+
+    /**
+     * Gives the sort key of the given row data.
+     *
+     * @param rowData
+     *         The data of the row to extract the sort key from.
+     * @return The sort key of the given row data. Null keys are placed before all other keys.
+     */
+    K getKey(final T rowData);
+
+}
@@ -0,0 +1,21 @@
+package de.codecrafters.tableview.extractors;
+
+/**
+ * A interface for a sort key extractor that extracts a primitive {@code long} sort key from the data
+ * of a row. The extracted keys are kept in a {@code long} array, so no boxing is done while sorting.
+ *
+ * @param <T>
+ *         The type of the row data.
+ */
+public interface LongKeyExtractor<T> {
+
+    /**
+     * Gives the sort key of the given row data.
+     *
+     * @param rowData
+     *         The data of the row to extract the sort key from.
+     * @return The sort key of the given row data.
+     */
+    long getKey(final T rowData);
+
+}
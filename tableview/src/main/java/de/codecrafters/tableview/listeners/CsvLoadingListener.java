@@ -0,0 +1,39 @@
+package de.codecrafters.tableview.listeners;
+
+import java.io.IOException;
+
+/**
+ * Listener interface to listen for the progress of a {@link de.codecrafters.tableview.toolkit.CsvTableDataLoader}.
+ * All methods are called on the main thread.
+ *
+ * @author ISchwarz
+ */
+public interface CsvLoadingListener {
+
+    /**
+     * This method is called when the header row has been read, before any data row is added to the table.
+     * It is only called if the first row of the CSV data is a header row.
+     *
+     * @param header
+     *         The fields of the header row.
+     */
+    void onHeaderLoaded(final String[] header);
+
+    /**
+     * This method is called when all rows have been added to the table.
+     *
+     * @param rowCount
+     *         The number of data rows that have been added.
+     */
+    void onLoadingFinished(final int rowCount);
+
+    /**
+     * This method is called if the CSV data could not be read. The rows that have been added before stay
+     * in the table.
+     *
+     * @param exception
+     *         The {@link IOException} that occurred.
+     */
+    void onLoadingFailed(final IOException exception);
+
+}
@@ -0,0 +1,20 @@
+package de.codecrafters.tableview.listeners;
+
+import de.codecrafters.tableview.TableColumnModel;
+
+/**
+ * Listener interface to listen for changes of the column count or the column weights of a
+ * {@link TableColumnModel}.
+ *
+ * @author ISchwarz
+ */
+public interface TableColumnModelListener {
+
+    /**
+     * This method is called if the column count or a column weight of the given model was changed.
+     *
+     * @param columnModel The {@link TableColumnModel} that was changed.
+     */
+    void onColumnModelChanged(final TableColumnModel columnModel);
+
+}
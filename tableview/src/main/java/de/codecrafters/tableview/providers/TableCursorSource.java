@@ -0,0 +1,25 @@
+package de.codecrafters.tableview.providers;
+
+import android.database.Cursor;
+
+
+/**
+ * Source of the {@link Cursor} of a {@link de.codecrafters.tableview.CursorTableDataAdapter}. It is queried
+ * again whenever the table is sorted by another column, so the rows are ordered by the database instead
+ * of in memory. The query is executed on a background thread.
+ *
+ * @author ISchwarz
+ */
+public interface TableCursorSource {
+
+    /**
+     * Queries the rows of the table in the given order.
+     *
+     * @param orderBy
+     *         The SQL ORDER BY clause (without the keywords ORDER BY) or null if the rows shall be given in
+     *         their natural order.
+     * @return The {@link Cursor} containing the queried rows.
+     */
+    Cursor query(final String orderBy);
+
+}
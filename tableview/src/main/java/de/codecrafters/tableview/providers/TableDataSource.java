@@ -0,0 +1,34 @@
+package de.codecrafters.tableview.providers;
+
+import java.util.List;
+
+
+/**
+ * Source of the rows of a {@link de.codecrafters.tableview.PagedTableDataAdapter}. The rows are loaded page by
+ * page when they are displayed, so the data never needs to be fully loaded into memory. All methods are
+ * called on a background thread and may block, e.g. to query a database or a server.
+ *
+ * @author ISchwarz
+ */
+public interface TableDataSource<T> {
+
+    /**
+     * Gives the total number of rows of this data source.
+     *
+     * @return The number of rows.
+     */
+    int getRowCount();
+
+    /**
+     * Loads the given range of rows. The data indices of the rows are stable until the data source is
+     * refreshed, so the same index always has to give the same row.
+     *
+     * @param dataIndexStart
+     *         The data index of the first row that shall be loaded.
+     * @param rowCount
+     *         The number of rows that shall be loaded.
+     * @return The loaded rows in the order of their data indices.
+     */
+    List<T> loadRows(final int dataIndexStart, final int rowCount);
+
+}
@@ -0,0 +1,164 @@
+package de.codecrafters.tableview.toolkit;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import de.codecrafters.tableview.extractors.KeyExtractor;
+
+
+/**
+ * A factory providing {@link KeyExtractor}s and {@link Comparator}s for a locale-aware sorting of string
+ * columns. They compare the {@link CollationKey}s of the strings instead of the strings themselves. The
+ * {@link CollationKey} of every row is created only once and cached until the string of this row changes,
+ * so a locale-aware sorting is about as fast as a sorting using {@link String#compareTo(String)}. Every
+ * thread uses its own cache and its own copy of the {@link Collator}, so the threads of a parallel sorting
+ * do not block each other. In exchange the key of a row may be created once per thread.
+ *
+ * @author ISchwarz
+ */
+public final class CollationKeyExtractors {
+
+    /**
+     * Gives a {@link KeyExtractor} that extracts the {@link CollationKey} of the string of a row using the
+     * default locale. The extractor can be set to a column using
+     * {@link de.codecrafters.tableview.SortableTableView#setColumnSortKey(int, KeyExtractor)}.
+     *
+     * @param stringExtractor
+     *         The {@link KeyExtractor} that gives the string of a row.
+     * @return The described {@link KeyExtractor}.
+     */
+    public static <T> KeyExtractor<T, CollationKey> localeAware(final KeyExtractor<T, String> stringExtractor) {
+        return localeAware(stringExtractor, Locale.getDefault());
+    }
+
+    /**
+     * Gives a {@link KeyExtractor} that extracts the {@link CollationKey} of the string of a row using the
+     * given locale. The extractor can be set to a column using
+     * {@link de.codecrafters.tableview.SortableTableView#setColumnSortKey(int, KeyExtractor)}.
+     *
+     * @param stringExtractor
+     *         The {@link KeyExtractor} that gives the string of a row.
+     * @param locale
+     *         The locale whose rules shall be used for the comparison of the strings.
+     * @return The described {@link KeyExtractor}.
+     */
+    public static <T> KeyExtractor<T, CollationKey> localeAware(final KeyExtractor<T, String> stringExtractor, final Locale locale) {
+        return localeAware(stringExtractor, Collator.getInstance(locale));
+    }
+
+    /**
+     * Gives a {@link KeyExtractor} that extracts the {@link CollationKey} of the string of a row using the
+     * given {@link Collator}. The {@link Collator} must not be changed afterwards.
+     *
+     * @param stringExtractor
+     *         The {@link KeyExtractor} that gives the string of a row.
+     * @param collator
+     *         The {@link Collator} that shall be used to create the {@link CollationKey}s.
+     * @return The described {@link KeyExtractor}.
+     */
+    public static <T> KeyExtractor<T, CollationKey> localeAware(final KeyExtractor<T, String> stringExtractor, final Collator collator) {
+        return new CachingCollationKeyExtractor<>(stringExtractor, collator);
+    }
+
+    /**
+     * Gives a {@link Comparator} that compares the strings of two rows using the rules of the given locale.
+     * Like the {@link KeyExtractor}s of this factory it caches the {@link CollationKey} of every row.
+     *
+     * @param stringExtractor
+     *         The {@link KeyExtractor} that gives the string of a row.
+     * @param locale
+     *         The locale whose rules shall be used for the comparison of the strings.
+     * @return The described {@link Comparator}.
+     */
+    public static <T> Comparator<T> localeAwareComparator(final KeyExtractor<T, String> stringExtractor, final Locale locale) {
+        return new CollationKeyComparator<>(new CachingCollationKeyExtractor<>(stringExtractor, Collator.getInstance(locale)));
+    }
+
+
+    /**
+     * A {@link KeyExtractor} that creates the {@link CollationKey} of the string of a row and caches it
+     * as long as the row exists and its string does not change. Rows with a null string get a null key.
+     *
+     * @author ISchwarz
+     */
+    private static class CachingCollationKeyExtractor<T> implements KeyExtractor<T, CollationKey> {
+
+        private final KeyExtractor<T, String> stringExtractor;
+        private final ThreadLocal<CollationKeyCache<T>> keyCaches;
+
+        public CachingCollationKeyExtractor(final KeyExtractor<T, String> stringExtractor, final Collator collator) {
+            this.stringExtractor = stringExtractor;
+            this.keyCaches = new ThreadLocal<CollationKeyCache<T>>() {
+                @Override
+                protected CollationKeyCache<T> initialValue() {
+                    return new CollationKeyCache<>((Collator) collator.clone());
+                }
+            };
+        }
+
+        @Override
+        public CollationKey getKey(final T rowData) {
+            final String string = stringExtractor.getKey(rowData);
+            if (string == null) {
+                return null;
+            }
+            return keyCaches.get().getKey(rowData, string);
+        }
+    }
+
+    /**
+     * The {@link CollationKey} cache of a single thread. A {@link Collator} is not thread-safe, so every
+     * cache creates its keys using its own copy.
+     *
+     * @author ISchwarz
+     */
+    private static class CollationKeyCache<T> {
+
+        private final Collator collator;
+        private final Map<T, CollationKey> cachedKeys = new WeakHashMap<>();
+
+        public CollationKeyCache(final Collator collator) {
+            this.collator = collator;
+        }
+
+        public CollationKey getKey(final T rowData, final String string) {
+            CollationKey key = cachedKeys.get(rowData);
+            if (key == null || !key.getSourceString().equals(string)) {
+                key = collator.getCollationKey(string);
+                cachedKeys.put(rowData, key);
+            }
+            return key;
+        }
+    }
+
+    /**
+     * A {@link Comparator} comparing the {@link CollationKey}s of two rows.
+     *
+     * @author ISchwarz
+     */
+    private static class CollationKeyComparator<T> implements Comparator<T> {
+
+        private final KeyExtractor<T, CollationKey> keyExtractor;
+
+        public CollationKeyComparator(final KeyExtractor<T, CollationKey> keyExtractor) {
+            this.keyExtractor = keyExtractor;
+        }
+
+        @Override
+        public int compare(final T rowData1, final T rowData2) {
+            final CollationKey key1 = keyExtractor.getKey(rowData1);
+            final CollationKey key2 = keyExtractor.getKey(rowData2);
+            if (key1 == null) {
+                return key2 == null ? 0 : -1;
+            } else if (key2 == null) {
+                return 1;
+            }
+            return key1.compareTo(key2);
+        }
+    }
+
+}
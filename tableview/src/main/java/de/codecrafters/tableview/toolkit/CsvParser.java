@@ -0,0 +1,150 @@
+package de.codecrafters.tableview.toolkit;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * A parser reading the rows of a CSV file (RFC 4180) one after another. Fields may be enclosed in double
+ * quotes, in which case they may contain separators, line breaks and escaped double quotes (""). Lines may
+ * end with LF, CR LF or CR. The input is read through a fixed-size buffer, so the memory used for parsing
+ * does not depend on the size of the input.
+ *
+ * @author ISchwarz
+ */
+class CsvParser {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final char QUOTE = '"';
+    private static final char CR = '\r';
+    private static final char LF = '\n';
+
+    private final Reader reader;
+    private final char separator;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final List<String> fields = new ArrayList<>();
+    private final StringBuilder field = new StringBuilder();
+    private int bufferLength;
+    private int bufferPosition;
+
+
+    /**
+     * Creates a new CsvParser.
+     *
+     * @param reader
+     *         The {@link Reader} to read the CSV data from.
+     * @param separator
+     *         The character separating the fields of a row.
+     */
+    public CsvParser(final Reader reader, final char separator) {
+        this.reader = reader;
+        this.separator = separator;
+    }
+
+    /**
+     * Reads the next row. Empty lines are skipped.
+     *
+     * @return The fields of the next row or null if the end of the input is reached.
+     * @throws IOException
+     *         If the input can not be read or ends inside of a quoted field.
+     */
+    public String[] readRow() throws IOException {
+        int character = read();
+        while (character == CR || character == LF) {
+            character = read();
+        }
+        if (character < 0) {
+            return null;
+        }
+
+        fields.clear();
+        while (true) {
+            field.setLength(0);
+            if (character == QUOTE) {
+                character = readQuotedField();
+            } else {
+                while (character >= 0 && character != separator && character != CR && character != LF) {
+                    field.append((char) character);
+                    character = read();
+                }
+            }
+            fields.add(field.toString());
+
+            if (character == separator) {
+                character = read();
+            } else {
+                if (character == CR && peek() == LF) {
+                    read();
+                }
+                return fields.toArray(new String[fields.size()]);
+            }
+        }
+    }
+
+    /**
+     * Closes the {@link Reader} of this parser.
+     *
+     * @throws IOException
+     *         If the {@link Reader} can not be closed.
+     */
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Reads a quoted field into the field buffer, after the opening quote has been read.
+     *
+     * @return The first character after the closing quote.
+     */
+    private int readQuotedField() throws IOException {
+        while (true) {
+            final int character = read();
+            if (character < 0) {
+                throw new IOException("The CSV data ends inside of a quoted field.");
+            }
+            if (character != QUOTE) {
+                field.append((char) character);
+            } else if (peek() == QUOTE) {
+                field.append(QUOTE);
+                read();
+            } else {
+                // characters between the closing quote and the next separator are kept as they are
+                int nextCharacter = read();
+                while (nextCharacter >= 0 && nextCharacter != separator && nextCharacter != CR && nextCharacter != LF) {
+                    field.append((char) nextCharacter);
+                    nextCharacter = read();
+                }
+                return nextCharacter;
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (!fillBuffer()) {
+            return -1;
+        }
+        return buffer[bufferPosition++];
+    }
+
+    private int peek() throws IOException {
+        if (!fillBuffer()) {
+            return -1;
+        }
+        return buffer[bufferPosition];
+    }
+
+    private boolean fillBuffer() throws IOException {
+        while (bufferPosition >= bufferLength) {
+            final int readLength = reader.read(buffer, 0, buffer.length);
+            if (readLength < 0) {
+                return false;
+            }
+            bufferLength = readLength;
+            bufferPosition = 0;
+        }
+        return true;
+    }
+
+}
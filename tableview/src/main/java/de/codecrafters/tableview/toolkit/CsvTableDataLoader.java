@@ -0,0 +1,315 @@
+package de.codecrafters.tableview.toolkit;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.util.Log;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+import de.codecrafters.tableview.TableDataAdapter;
+import de.codecrafters.tableview.listeners.CsvLoadingListener;
+
+
+/**
+ * A loader that streams CSV data into a {@link TableDataAdapter} of {@code String[]} rows, like the
+ * {@link SimpleTableDataAdapter}. The data is parsed on a background thread and the rows are added to the
+ * adapter in batches using {@code addRows()}, so the first rows are displayed right away while the rest
+ * is still being parsed. If the table is a sorted {@link de.codecrafters.tableview.SortableTableView},
+ * every batch is merged into the sorted order. The first batch is small and the following batches grow,
+ * and the parser waits if the main thread has not added the previous batches yet, so the memory used
+ * while parsing is bounded. The data of the adapter must be a mutable list (e.g. an {@link ArrayList}).
+ * All methods of this class must be called on the main thread.
+ *
+ * @author ISchwarz
+ */
+public final class CsvTableDataLoader {
+
+    private static final String LOG_TAG = CsvTableDataLoader.class.getName();
+    private static final int FIRST_BATCH_SIZE = 50;
+    private static final int MAX_BATCH_SIZE = 5000;
+    private static final int MAX_PENDING_BATCHES = 3;
+
+    private final TableDataAdapter<String[]> dataAdapter;
+    private final Executor resultExecutor;
+    private char separator = ',';
+    private boolean headerRow = false;
+    private Executor loadingExecutor;
+    private CsvLoadingListener loadingListener;
+    private LoadingTask pendingLoadingTask;
+
+
+    /**
+     * Creates a new CsvTableDataLoader.
+     *
+     * @param dataAdapter
+     *         The {@link TableDataAdapter} the loaded rows shall be added to.
+     */
+    public CsvTableDataLoader(final TableDataAdapter<String[]> dataAdapter) {
+        this(dataAdapter, new MainThreadExecutor());
+    }
+
+    /**
+     * Creates a new CsvTableDataLoader that hands the loaded rows to the adapter using the given
+     * {@link Executor} instead of the main thread.
+     *
+     * @param dataAdapter
+     *         The {@link TableDataAdapter} the loaded rows shall be added to.
+     * @param resultExecutor
+     *         The {@link Executor} that shall be used to add the loaded rows.
+     */
+    CsvTableDataLoader(final TableDataAdapter<String[]> dataAdapter, final Executor resultExecutor) {
+        this.dataAdapter = dataAdapter;
+        this.resultExecutor = resultExecutor;
+    }
+
+    /**
+     * Sets the character separating the fields of a row. The default separator is a comma.
+     *
+     * @param separator
+     *         The separator that shall be used.
+     */
+    public void setSeparator(final char separator) {
+        this.separator = separator;
+    }
+
+    /**
+     * Sets whether the first row of the CSV data is a header row. The header row is not added to the table,
+     * but given to the {@link CsvLoadingListener} instead.
+     *
+     * @param headerRow
+     *         True if the first row is a header row, else false.
+     */
+    public void setHeaderRow(final boolean headerRow) {
+        this.headerRow = headerRow;
+    }
+
+    /**
+     * Sets the {@link CsvLoadingListener} that will be informed about the progress of the loading.
+     *
+     * @param loadingListener
+     *         The {@link CsvLoadingListener} that shall be informed or null.
+     */
+    public void setLoadingListener(final CsvLoadingListener loadingListener) {
+        this.loadingListener = loadingListener;
+    }
+
+    /**
+     * Sets the {@link Executor} that shall be used to parse the CSV data. By default a new background thread
+     * is started for every loading.
+     *
+     * @param loadingExecutor
+     *         The {@link Executor} that shall be used or null to use a new background thread.
+     */
+    public void setLoadingExecutor(final Executor loadingExecutor) {
+        this.loadingExecutor = loadingExecutor;
+    }
+
+    /**
+     * Starts loading the UTF-8 encoded CSV data of the given {@link InputStream}. A loading that is still
+     * in progress is cancelled. The stream is closed when the loading is done.
+     *
+     * @param inputStream
+     *         The {@link InputStream} to read the CSV data from.
+     */
+    public void load(final InputStream inputStream) {
+        load(new InputStreamReader(inputStream, Charset.forName("UTF-8")));
+    }
+
+    /**
+     * Starts loading the CSV data of the given {@link Reader}. A loading that is still in progress is
+     * cancelled. The reader is closed when the loading is done.
+     *
+     * @param reader
+     *         The {@link Reader} to read the CSV data from.
+     */
+    public void load(final Reader reader) {
+        cancel();
+        pendingLoadingTask = new LoadingTask(new CsvParser(reader, separator), headerRow);
+        if (loadingExecutor != null) {
+            loadingExecutor.execute(pendingLoadingTask);
+        } else {
+            startLoadingThread(pendingLoadingTask);
+        }
+    }
+
+    /**
+     * Cancels the loading that is in progress. The rows that have been added before stay in the table.
+     */
+    public void cancel() {
+        if (pendingLoadingTask != null) {
+            pendingLoadingTask.cancel();
+            pendingLoadingTask = null;
+        }
+    }
+
+    /**
+     * Gives the information whether a loading is in progress.
+     *
+     * @return True if CSV data is being loaded, else false.
+     */
+    public boolean isLoading() {
+        return pendingLoadingTask != null;
+    }
+
+    private static void startLoadingThread(final Runnable loadingTask) {
+        final Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                loadingTask.run();
+            }
+        }, "CsvTableDataLoader");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+
+    /**
+     * A task that parses the CSV data in the background and hands the parsed rows in batches to the main
+     * thread. A cancelled task stops at the next row and drops the batches that are not added yet.
+     *
+     * @author ISchwarz
+     */
+    private class LoadingTask implements Runnable {
+
+        private final CsvParser parser;
+        private final boolean headerRow;
+        private final Semaphore pendingBatches = new Semaphore(MAX_PENDING_BATCHES);
+        private volatile boolean cancelled = false;
+        private int addedRowCount;
+
+        public LoadingTask(final CsvParser parser, final boolean headerRow) {
+            this.parser = parser;
+            this.headerRow = headerRow;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (headerRow) {
+                    final String[] header = parser.readRow();
+                    if (header != null) {
+                        postHeader(header);
+                    }
+                }
+
+                int batchSize = FIRST_BATCH_SIZE;
+                List<String[]> batch = new ArrayList<>(batchSize);
+                String[] row;
+                while (!cancelled && (row = parser.readRow()) != null) {
+                    batch.add(row);
+                    if (batch.size() == batchSize) {
+                        postBatch(batch);
+                        batchSize = Math.min(batchSize * 2, MAX_BATCH_SIZE);
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+                if (!cancelled && !batch.isEmpty()) {
+                    postBatch(batch);
+                }
+                postFinished();
+            } catch (final IOException e) {
+                postFailed(e);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                try {
+                    parser.close();
+                } catch (final IOException e) {
+                    Log.w(LOG_TAG, "Unable to close the CSV data. Caught Exception: " + e.getMessage());
+                }
+            }
+        }
+
+        private void postHeader(final String[] header) {
+            resultExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    if (pendingLoadingTask == LoadingTask.this && loadingListener != null) {
+                        loadingListener.onHeaderLoaded(header);
+                    }
+                }
+            });
+        }
+
+        /**
+         * Hands the given batch to the main thread. Waits while the maximum number of batches is pending.
+         */
+        private void postBatch(final List<String[]> batch) throws InterruptedException {
+            pendingBatches.acquire();
+            resultExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    if (pendingLoadingTask == LoadingTask.this) {
+                        dataAdapter.addRows(batch);
+                        addedRowCount += batch.size();
+                    }
+                    pendingBatches.release();
+                }
+            });
+        }
+
+        private void postFinished() {
+            resultExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    if (pendingLoadingTask == LoadingTask.this) {
+                        pendingLoadingTask = null;
+                        if (loadingListener != null) {
+                            loadingListener.onLoadingFinished(addedRowCount);
+                        }
+                    }
+                }
+            });
+        }
+
+        /**
+         * Hands the given exception to the {@link CsvLoadingListener} on the main thread. Without a listener
+         * the exception is logged.
+         */
+        private void postFailed(final IOException exception) {
+            resultExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    if (pendingLoadingTask == LoadingTask.this) {
+                        pendingLoadingTask = null;
+                        if (loadingListener != null) {
+                            loadingListener.onLoadingFailed(exception);
+                        } else {
+                            Log.w(LOG_TAG, "Unable to load the CSV data. Caught Exception: " + exception.getMessage());
+                        }
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * An {@link Executor} running the given tasks on the main thread.
+     *
+     * @author ISchwarz
+     */
+    private static class MainThreadExecutor implements Executor {
+
+        private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+        @Override
+        public void execute(final Runnable runnable) {
+            mainHandler.post(runnable);
+        }
+    }
+
+}
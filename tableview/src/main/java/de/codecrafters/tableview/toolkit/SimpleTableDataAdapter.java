@@ -10,10 +10,16 @@ import android.widget.TextView;
 
 import java.util.List;
 
+import de.codecrafters.tableview.ColumnarTableData;
 import de.codecrafters.tableview.TableDataAdapter;
+import de.codecrafters.tableview.TextRowRenderer;
 
 /**
  * A simple {@link TableDataAdapter} that allows to display 2D-String-Arrays in a {@link de.codecrafters.tableview.TableView}.
+ * By default every cell is a {@link TextView}. For large tables the rows can instead be drawn directly on a
+ * canvas using {@link #setTextRowRenderingEnabled(boolean)}, which uses the same paddings, text size,
+ * typeface and text color. Large numeric tables should be given as {@link ColumnarTableData}, whose
+ * cells are formatted only when they are displayed.
  *
  * @author ISchwarz
  */
@@ -28,6 +34,7 @@ public final class SimpleTableDataAdapter extends TableDataAdapter<String[]> {
     private int textSize = 18;
     private int typeface = Typeface.NORMAL;
     private int textColor = 0x99000000;
+    private ColumnarTableData columnarData;
 
 
     public SimpleTableDataAdapter(final Context context, final String[][] data) {
@@ -38,9 +45,75 @@ public final class SimpleTableDataAdapter extends TableDataAdapter<String[]> {
         super(context, data);
     }
 
+    /**
+     * Creates a new SimpleTableDataAdapter displaying the given {@link ColumnarTableData}. The texts of the
+     * cells are taken directly from the columns, the rows are only formatted into a {@code String[]} if
+     * they are requested using {@code getRowData()}. The data can not be mutated.
+     *
+     * @param context
+     *         The context that shall be used.
+     * @param data
+     *         The {@link ColumnarTableData} that shall be displayed.
+     */
+    public SimpleTableDataAdapter(final Context context, final ColumnarTableData data) {
+        super(context, data.getRows());
+        this.columnarData = data;
+    }
+
+    /**
+     * Enables or disables drawing the rows directly on a canvas using a {@link TextRowRenderer}. In this
+     * mode a row is a single view instead of a layout with one {@link TextView} per cell, which makes
+     * binding, measuring and drawing the rows a lot cheaper. The paddings, text size, typeface and text
+     * color of this adapter are used for both modes.
+     *
+     * @param enabled
+     *         True if the rows shall be drawn on a canvas, false if a {@link TextView} shall be used per cell.
+     */
+    public void setTextRowRenderingEnabled(final boolean enabled) {
+        if (enabled == (getTextRowRenderer() != null)) {
+            return;
+        }
+
+        if (enabled) {
+            final TextRowRenderer textRowRenderer = new TextRowRenderer(getContext());
+            textRowRenderer.setPaddings(paddingLeft, paddingTop, paddingRight, paddingBottom);
+            textRowRenderer.setTextSize(textSize);
+            textRowRenderer.setTypeface(typeface);
+            textRowRenderer.setTextColor(textColor);
+            setTextRowRenderer(textRowRenderer);
+        } else {
+            setTextRowRenderer(null);
+        }
+    }
+
+    @Override
+    public CharSequence getCellText(final int rowIndex, final int columnIndex) {
+        try {
+            if (columnarData != null) {
+                return columnarData.getCellText(getDataIndex(rowIndex), columnIndex);
+            }
+            return getItem(rowIndex)[columnIndex];
+        } catch (final IndexOutOfBoundsException e) {
+            Log.w(LOG_TAG, "No Sting given for row " + rowIndex + ", column " + columnIndex + ". "
+                    + "Caught exception: " + e.toString());
+            // Show no text
+            return null;
+        }
+    }
+
     @Override
     public View getCellView(final int rowIndex, final int columnIndex, final ViewGroup parentView) {
-        final TextView textView = new TextView(getContext());
+        return bindCellView(rowIndex, columnIndex, null, parentView);
+    }
+
+    @Override
+    public View bindCellView(final int rowIndex, final int columnIndex, final View recycledView, final ViewGroup parentView) {
+        final TextView textView;
+        if (recycledView instanceof TextView) {
+            textView = (TextView) recycledView;
+        } else {
+            textView = new TextView(getContext());
+        }
         textView.setPadding(paddingLeft, paddingTop, paddingRight, paddingBottom);
         textView.setTypeface(textView.getTypeface(), typeface);
         textView.setTextSize(textSize);
@@ -48,14 +121,7 @@ public final class SimpleTableDataAdapter extends TableDataAdapter<String[]> {
         textView.setSingleLine();
         textView.setEllipsize(TextUtils.TruncateAt.END);
 
-        try {
-            final String textToShow = getItem(rowIndex)[columnIndex];
-            textView.setText(textToShow);
-        } catch(final IndexOutOfBoundsException e) {
-            Log.w(LOG_TAG, "No Sting given for row " + rowIndex + ", column " + columnIndex + ". "
-                    + "Caught exception: " + e.toString());
-            // Show no text
-        }
+        textView.setText(getCellText(rowIndex, columnIndex));
 
         return textView;
     }
@@ -77,6 +143,7 @@ public final class SimpleTableDataAdapter extends TableDataAdapter<String[]> {
         paddingTop = top;
         paddingRight = right;
         paddingBottom = bottom;
+        updateTextRowRendererPaddings();
     }
 
     /**
@@ -87,6 +154,7 @@ public final class SimpleTableDataAdapter extends TableDataAdapter<String[]> {
      */
     public void setPaddingLeft(final int paddingLeft) {
         this.paddingLeft = paddingLeft;
+        updateTextRowRendererPaddings();
     }
 
     /**
@@ -97,6 +165,7 @@ public final class SimpleTableDataAdapter extends TableDataAdapter<String[]> {
      */
     public void setPaddingTop(final int paddingTop) {
         this.paddingTop = paddingTop;
+        updateTextRowRendererPaddings();
     }
 
     /**
@@ -107,6 +176,7 @@ public final class SimpleTableDataAdapter extends TableDataAdapter<String[]> {
      */
     public void setPaddingRight(final int paddingRight) {
         this.paddingRight = paddingRight;
+        updateTextRowRendererPaddings();
     }
 
     /**
@@ -117,6 +187,7 @@ public final class SimpleTableDataAdapter extends TableDataAdapter<String[]> {
      */
     public void setPaddingBottom(final int paddingBottom) {
         this.paddingBottom = paddingBottom;
+        updateTextRowRendererPaddings();
     }
 
     /**
@@ -127,6 +198,9 @@ public final class SimpleTableDataAdapter extends TableDataAdapter<String[]> {
      */
     public void setTextSize(final int textSize) {
         this.textSize = textSize;
+        if (getTextRowRenderer() != null) {
+            getTextRowRenderer().setTextSize(textSize);
+        }
     }
 
     /**
@@ -137,6 +211,9 @@ public final class SimpleTableDataAdapter extends TableDataAdapter<String[]> {
      */
     public void setTypeface(final int typeface) {
         this.typeface = typeface;
+        if (getTextRowRenderer() != null) {
+            getTextRowRenderer().setTypeface(typeface);
+        }
     }
 
     /**
@@ -147,7 +224,15 @@ public final class SimpleTableDataAdapter extends TableDataAdapter<String[]> {
      */
     public void setTextColor(final int textColor) {
         this.textColor = textColor;
+        if (getTextRowRenderer() != null) {
+            getTextRowRenderer().setTextColor(textColor);
+        }
     }
 
+    private void updateTextRowRendererPaddings() {
+        if (getTextRowRenderer() != null) {
+            getTextRowRenderer().setPaddings(paddingLeft, paddingTop, paddingRight, paddingBottom);
+        }
+    }
 
 }
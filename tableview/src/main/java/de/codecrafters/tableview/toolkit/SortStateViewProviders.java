@@ -38,6 +38,7 @@ public final class SortStateViewProviders {
         public int getSortStateViewResource(final SortState state) {
             switch (state) {
                 case SORTABLE:
+                case SORTING:
                     return R.mipmap.ic_dark_sortable;
                 case SORTED_ASC:
                     return R.mipmap.ic_dark_sorted_asc;
@@ -56,6 +57,7 @@ public final class SortStateViewProviders {
         public int getSortStateViewResource(final SortState state) {
             switch (state) {
                 case SORTABLE:
+                case SORTING:
                     return R.mipmap.ic_light_sortable;
                 case SORTED_ASC:
                     return R.mipmap.ic_light_sorted_asc;
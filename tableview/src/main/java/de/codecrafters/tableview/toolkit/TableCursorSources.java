@@ -0,0 +1,100 @@
+package de.codecrafters.tableview.toolkit;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import de.codecrafters.tableview.providers.TableCursorSource;
+
+
+/**
+ * A factory providing {@link TableCursorSource}s that query a {@link SQLiteDatabase}.
+ *
+ * @author ISchwarz
+ */
+public final class TableCursorSources {
+
+    /**
+     * Gives a {@link TableCursorSource} that queries the given columns of the rows of the given table.
+     *
+     * @param database
+     *         The {@link SQLiteDatabase} that shall be queried.
+     * @param table
+     *         The name of the table.
+     * @param columns
+     *         The columns that shall be queried or null to query all columns.
+     * @param selection
+     *         The SQL WHERE clause (without the keyword WHERE) filtering the rows or null to query all rows.
+     * @param selectionArgs
+     *         The arguments replacing the question marks in the selection or null.
+     * @return The described {@link TableCursorSource}.
+     */
+    public static TableCursorSource forTable(final SQLiteDatabase database, final String table, final String[] columns,
+                                             final String selection, final String[] selectionArgs) {
+        return new SQLiteTableCursorSource(database, table, columns, selection, selectionArgs);
+    }
+
+    /**
+     * Gives a {@link TableCursorSource} that executes the given SQL SELECT statement. To order the rows,
+     * the statement is used as a subquery ({@code SELECT * FROM (sql) ORDER BY ...}), so the statement may
+     * contain any clause, but the ORDER BY terms of the columns must refer to the result columns of the
+     * statement by their names (or aliases), not to the tables of the statement.
+     *
+     * @param database
+     *         The {@link SQLiteDatabase} that shall be queried.
+     * @param sql
+     *         A single SQL SELECT statement.
+     * @param selectionArgs
+     *         The arguments replacing the question marks in the statement or null.
+     * @return The described {@link TableCursorSource}.
+     */
+    public static TableCursorSource forQuery(final SQLiteDatabase database, final String sql, final String[] selectionArgs) {
+        return new SQLiteQueryCursorSource(database, sql, selectionArgs);
+    }
+
+
+    private static class SQLiteTableCursorSource implements TableCursorSource {
+
+        private final SQLiteDatabase database;
+        private final String table;
+        private final String[] columns;
+        private final String selection;
+        private final String[] selectionArgs;
+
+        public SQLiteTableCursorSource(final SQLiteDatabase database, final String table, final String[] columns,
+                                       final String selection, final String[] selectionArgs) {
+            this.database = database;
+            this.table = table;
+            this.columns = columns;
+            this.selection = selection;
+            this.selectionArgs = selectionArgs;
+        }
+
+        @Override
+        public Cursor query(final String orderBy) {
+            return database.query(table, columns, selection, selectionArgs, null, null, orderBy);
+        }
+    }
+
+
+    private static class SQLiteQueryCursorSource implements TableCursorSource {
+
+        private final SQLiteDatabase database;
+        private final String sql;
+        private final String[] selectionArgs;
+
+        public SQLiteQueryCursorSource(final SQLiteDatabase database, final String sql, final String[] selectionArgs) {
+            this.database = database;
+            this.sql = sql;
+            this.selectionArgs = selectionArgs;
+        }
+
+        @Override
+        public Cursor query(final String orderBy) {
+            if (orderBy == null) {
+                return database.rawQuery(sql, selectionArgs);
+            }
+            return database.rawQuery("SELECT * FROM (" + sql + ") ORDER BY " + orderBy, selectionArgs);
+        }
+    }
+
+}
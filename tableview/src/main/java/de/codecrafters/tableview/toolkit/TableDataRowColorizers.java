@@ -1,10 +1,11 @@
 package de.codecrafters.tableview.toolkit;
 
 import de.codecrafters.tableview.colorizers.TableDataRowColorizer;
+import de.codecrafters.tableview.colorizers.TableDataRowIndexColorizer;
 
 
 /**
- * Factory for different {@link TableDataRowColorizer}.
+ * Factory for different {@link TableDataRowColorizer}. None of them reads the data of the rows.
  *
  * @author ISchwarz
  */
@@ -43,7 +44,7 @@ public final class TableDataRowColorizers {
      *
      * @author ISchwarz
      */
-    private static class SimpleTableDataRowColorizer implements TableDataRowColorizer<Object> {
+    private static class SimpleTableDataRowColorizer implements TableDataRowIndexColorizer<Object> {
 
         private final int color;
 
@@ -63,7 +64,7 @@ public final class TableDataRowColorizers {
      *
      * @author ISchwarz
      */
-    private static class AlternatingTableDataRowColorizer implements TableDataRowColorizer<Object> {
+    private static class AlternatingTableDataRowColorizer implements TableDataRowIndexColorizer<Object> {
 
         private final int colorEven;
         private final int colorOdd;
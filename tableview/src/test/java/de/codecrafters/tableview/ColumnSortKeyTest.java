@@ -0,0 +1,91 @@
+package de.codecrafters.tableview;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import de.codecrafters.tableview.extractors.DoubleKeyExtractor;
+import de.codecrafters.tableview.extractors.IntKeyExtractor;
+import de.codecrafters.tableview.extractors.KeyExtractor;
+
+
+/**
+ * Test for {@link ColumnSortKey} class.
+ *
+ * @author ISchwarz
+ */
+public class ColumnSortKeyTest {
+
+    @Test
+    public void shouldSortByExtractedIntKeysLikeComparator() throws Exception {
+        // given
+        final List<String> data = new ArrayList<>();
+        Collections.addAll(data, "ccc", "a", "bb", "dddd", "e", "ff");
+        final ColumnSortKey<String> sortKey = ColumnSortKey.forIntKeyExtractor(new IntKeyExtractor<String>() {
+            @Override
+            public int getKey(final String rowData) {
+                return rowData.length();
+            }
+        });
+        final List<String> expectedOrder = new ArrayList<>(data);
+        Collections.sort(expectedOrder, sortKey);
+
+        // when
+        final int[] rowIndices = RowIndexSorter.identity(data.size());
+        RowIndexSorter.sort(rowIndices, sortKey.extractKeys(data));
+
+        // then
+        for (int rowIndex = 0; rowIndex < rowIndices.length; rowIndex++) {
+            Assert.assertSame(expectedOrder.get(rowIndex), data.get(rowIndices[rowIndex]));
+        }
+    }
+
+    @Test
+    public void shouldCompareDoubleKeysLikeDoubleCompare() throws Exception {
+        // given
+        final List<Double> data = new ArrayList<>();
+        Collections.addAll(data, 1.5, Double.NaN, -0.0, 0.0);
+        final ColumnSortKey<Double> sortKey = ColumnSortKey.forDoubleKeyExtractor(new DoubleKeyExtractor<Double>() {
+            @Override
+            public double getKey(final Double rowData) {
+                return rowData;
+            }
+        });
+
+        // when
+        final RowIndexComparator comparator = sortKey.extractKeys(data);
+
+        // then
+        for (int dataIndex1 = 0; dataIndex1 < data.size(); dataIndex1++) {
+            for (int dataIndex2 = 0; dataIndex2 < data.size(); dataIndex2++) {
+                final int expected = Double.compare(data.get(dataIndex1), data.get(dataIndex2));
+                Assert.assertEquals(expected, comparator.compare(dataIndex1, dataIndex2));
+                Assert.assertEquals(expected, sortKey.compare(data.get(dataIndex1), data.get(dataIndex2)));
+            }
+        }
+    }
+
+    @Test
+    public void shouldPlaceNullKeysFirst() throws Exception {
+        // given
+        final List<String> data = new ArrayList<>();
+        Collections.addAll(data, "b", null, "a");
+        final ColumnSortKey<String> sortKey = ColumnSortKey.forKeyExtractor(new KeyExtractor<String, String>() {
+            @Override
+            public String getKey(final String rowData) {
+                return rowData;
+            }
+        });
+
+        // when
+        final int[] rowIndices = RowIndexSorter.identity(data.size());
+        RowIndexSorter.sort(rowIndices, sortKey.extractKeys(data));
+
+        // then
+        Assert.assertArrayEquals(new int[]{1, 2, 0}, rowIndices);
+    }
+
+}
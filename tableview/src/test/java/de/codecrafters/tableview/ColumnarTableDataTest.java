@@ -0,0 +1,139 @@
+package de.codecrafters.tableview;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+
+/**
+ * Test for {@link ColumnarTableData} class.
+ *
+ * @author ISchwarz
+ */
+public class ColumnarTableDataTest {
+
+    @Test
+    public void shouldFormatCellTexts() throws Exception {
+        // given
+        final ColumnarTableData data = new ColumnarTableData(3, 3);
+        data.setIntColumn(0, new int[]{7, -1, 42});
+        data.setDoubleColumn(1, new double[]{1.5, 2.25, 3}, new DecimalFormat("0.00", DecimalFormatSymbols.getInstance(Locale.US)));
+        data.setStringColumn(2, new String[]{"b", null, "a"});
+
+        // when
+        final String[] row = data.getRows().get(1);
+
+        // then
+        Assert.assertEquals("7", data.getCellText(0, 0));
+        Assert.assertEquals("2.25", data.getCellText(1, 1));
+        Assert.assertEquals("3.00", data.getCellText(2, 1));
+        Assert.assertEquals("a", data.getCellText(2, 2));
+        Assert.assertArrayEquals(new String[]{"-1", "2.25", null}, row);
+    }
+
+    @Test
+    public void shouldKeepCellTextsCorrectWhenCacheIsFull() throws Exception {
+        // given
+        final int rowCount = 1000;
+        final long[] values = new long[rowCount];
+        for (int dataIndex = 0; dataIndex < rowCount; dataIndex++) {
+            values[dataIndex] = dataIndex * 3L;
+        }
+        final ColumnarTableData data = new ColumnarTableData(rowCount, 2);
+        data.setLongColumn(0, values);
+        data.setIntColumn(1, new int[rowCount]);
+        data.setTextCacheSize(16);
+
+        // when
+        for (int dataIndex = 0; dataIndex < rowCount; dataIndex++) {
+            data.getCellText(dataIndex, 0);
+            data.getCellText(dataIndex, 1);
+        }
+
+        // then
+        for (int dataIndex = rowCount - 1; dataIndex >= 0; dataIndex--) {
+            Assert.assertEquals(String.valueOf(dataIndex * 3L), data.getCellText(dataIndex, 0));
+            Assert.assertEquals("0", data.getCellText(dataIndex, 1));
+        }
+    }
+
+    @Test
+    public void shouldSortStringColumnByPoolPositions() throws Exception {
+        // given
+        final ColumnarTableData data = new ColumnarTableData(5, 1);
+        data.setStringColumn(0, new String[]{"pear", "apple", null, "pear", "fig"});
+        final ColumnSortKey<String[]> sortKey = (ColumnSortKey<String[]>) data.getColumnComparator(0);
+
+        // when
+        final RowIndexComparator keys = sortKey.extractKeys(data.getRows());
+        final int[] rowIndices = ((ColumnSortKey.PrimitiveKeys) keys).sortRowIndices();
+
+        // then
+        Assert.assertArrayEquals(new int[]{2, 1, 4, 0, 3}, rowIndices);
+    }
+
+    @Test
+    public void shouldSortByMultipleColumnsWithoutComparingRows() throws Exception {
+        // given
+        final ColumnarTableData data = new ColumnarTableData(4, 2);
+        data.setIntColumn(0, new int[]{2, 1, 2, 1});
+        data.setDoubleColumn(1, new double[]{0.5, 3.0, -1.0, 2.0});
+        final Comparator<String[]> sortKey = ColumnSortKey.forComparators(Arrays.asList(
+                data.getColumnComparator(0), ColumnSortKey.reverse(data.getColumnComparator(1))));
+
+        // when
+        final int[] rowIndices = RowIndexSorter.identity(4);
+        RowIndexSorter.sort(rowIndices, ((ColumnSortKey<String[]>) sortKey).extractKeys(data.getRows()));
+
+        // then
+        Assert.assertArrayEquals(new int[]{1, 3, 0, 2}, rowIndices);
+    }
+
+    @Test
+    public void shouldCompareRowsLikeTheirSortKeys() throws Exception {
+        // given
+        final ColumnarTableData data = new ColumnarTableData(4, 2);
+        data.setDoubleColumn(0, new double[]{2.5, -1.0, 10.0, 2.5}, new DecimalFormat("0", DecimalFormatSymbols.getInstance(Locale.US)));
+        data.setStringColumn(1, new String[]{"pear", "apple", null, "fig"});
+        final List<String[]> rows = new ArrayList<>(data.getRows());
+
+        // when
+        Collections.sort(rows, ColumnSortKey.forComparators(Arrays.asList(
+                data.getColumnComparator(0), ColumnSortKey.reverse(data.getColumnComparator(1)))));
+
+        // then
+        Assert.assertArrayEquals(new String[]{"-1", "apple"}, rows.get(0));
+        Assert.assertArrayEquals(new String[]{"2", "pear"}, rows.get(1));
+        Assert.assertArrayEquals(new String[]{"2", "fig"}, rows.get(2));
+        Assert.assertArrayEquals(new String[]{"10", null}, rows.get(3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectComparingRowsOfOtherData() throws Exception {
+        // given
+        final ColumnarTableData data = new ColumnarTableData(2, 1);
+        final Comparator<String[]> comparator = data.getColumnComparator(0);
+
+        // when
+        comparator.compare(data.getRows().get(0), new String[]{null});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectRowsOfOtherData() throws Exception {
+        // given
+        final ColumnarTableData data = new ColumnarTableData(2, 1);
+        final ColumnSortKey<String[]> sortKey = (ColumnSortKey<String[]>) data.getColumnComparator(0);
+
+        // when
+        sortKey.extractKeys(new ArrayList<>(data.getRows()));
+    }
+
+}
@@ -0,0 +1,231 @@
+package de.codecrafters.tableview;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.view.View;
+import android.view.ViewGroup;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import de.codecrafters.tableview.providers.TableCursorSource;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+
+/**
+ * Test for {@link CursorTableDataAdapter} class.
+ *
+ * @author ISchwarz
+ */
+public class CursorTableDataAdapterTest {
+
+    private static final Executor DIRECT_EXECUTOR = new Executor() {
+        @Override
+        public void execute(final Runnable runnable) {
+            runnable.run();
+        }
+    };
+
+    @Test
+    public void shouldDisplayCursorOfFirstQuery() throws Exception {
+        // given
+        final TableCursorSource cursorSource = mock(TableCursorSource.class);
+        final Cursor cursor = mockCursor(3);
+        when(cursorSource.query(null)).thenReturn(cursor);
+
+        // when
+        final CursorTableDataAdapter adapter = new TestCursorTableDataAdapter(cursorSource, DIRECT_EXECUTOR);
+
+        // then
+        Assert.assertSame(cursor, adapter.getCursor());
+        Assert.assertEquals(3, adapter.getData().size());
+        Assert.assertEquals(1, ((TestCursorTableDataAdapter) adapter).notificationCount);
+        Assert.assertNull(adapter.getOrderBy());
+        Assert.assertTrue(adapter.isOrderedBy(null));
+        Assert.assertFalse(adapter.isOrderedBy("name"));
+    }
+
+    @Test
+    public void shouldSwapAndCloseCursorWhenOrderChanges() throws Exception {
+        // given
+        final TableCursorSource cursorSource = mock(TableCursorSource.class);
+        final Cursor unorderedCursor = mockCursor(3);
+        final Cursor orderedCursor = mockCursor(3);
+        when(cursorSource.query(null)).thenReturn(unorderedCursor);
+        when(cursorSource.query("name")).thenReturn(orderedCursor);
+        final CursorTableDataAdapter adapter = new TestCursorTableDataAdapter(cursorSource, DIRECT_EXECUTOR);
+
+        // when
+        adapter.setOrderBy("name");
+
+        // then
+        Assert.assertSame(orderedCursor, adapter.getCursor());
+        Assert.assertEquals("name", adapter.getOrderBy());
+        Assert.assertTrue(adapter.isOrderedBy("name"));
+        Assert.assertFalse(adapter.isOrderedBy(null));
+        verify(unorderedCursor).close();
+        verify(orderedCursor, never()).close();
+    }
+
+    @Test
+    public void shouldDisplayOnlyResultOfLatestQuery() throws Exception {
+        // given
+        final TableCursorSource cursorSource = mock(TableCursorSource.class);
+        final QueuedExecutor queryExecutor = new QueuedExecutor();
+        final Cursor firstCursor = mockCursor(1);
+        final Cursor outdatedCursor = mockCursor(2);
+        final Cursor latestCursor = mockCursor(3);
+        when(cursorSource.query(null)).thenReturn(firstCursor);
+        when(cursorSource.query("name")).thenReturn(outdatedCursor);
+        when(cursorSource.query("age")).thenReturn(latestCursor);
+        final CursorTableDataAdapter adapter = new TestCursorTableDataAdapter(cursorSource, queryExecutor);
+        queryExecutor.runAll();
+
+        // when
+        adapter.setOrderBy("name");
+        adapter.setOrderBy("age");
+        final boolean orderedWhilePending = adapter.isOrderedBy(null);
+        queryExecutor.runAll();
+
+        // then
+        Assert.assertFalse(orderedWhilePending);
+        Assert.assertSame(latestCursor, adapter.getCursor());
+        Assert.assertEquals("age", adapter.getOrderBy());
+        verify(outdatedCursor).close();
+        verify(firstCursor).close();
+        verify(latestCursor, never()).close();
+    }
+
+    @Test
+    public void shouldKeepCursorIfQueryFails() throws Exception {
+        // given
+        final TableCursorSource cursorSource = mock(TableCursorSource.class);
+        final Cursor cursor = mockCursor(3);
+        when(cursorSource.query(null)).thenReturn(cursor);
+        when(cursorSource.query("unknown")).thenThrow(new IllegalStateException("no such column"));
+        final TestCursorTableDataAdapter adapter = new TestCursorTableDataAdapter(cursorSource, DIRECT_EXECUTOR);
+
+        // when
+        adapter.setOrderBy("unknown");
+
+        // then
+        Assert.assertEquals("unknown", adapter.failedOrderBy);
+        Assert.assertSame(cursor, adapter.getCursor());
+        Assert.assertNull(adapter.getOrderBy());
+        Assert.assertFalse(adapter.isOrderedBy("unknown"));
+        verify(cursor, never()).close();
+    }
+
+    @Test
+    public void shouldCloseCursorAndDropPendingQueriesOnClose() throws Exception {
+        // given
+        final TableCursorSource cursorSource = mock(TableCursorSource.class);
+        final QueuedExecutor queryExecutor = new QueuedExecutor();
+        final Cursor cursor = mockCursor(3);
+        final Cursor pendingCursor = mockCursor(3);
+        when(cursorSource.query(null)).thenReturn(cursor);
+        when(cursorSource.query("name")).thenReturn(pendingCursor);
+        final TestCursorTableDataAdapter adapter = new TestCursorTableDataAdapter(cursorSource, queryExecutor);
+        queryExecutor.runAll();
+        adapter.setOrderBy("name");
+
+        // when
+        adapter.close();
+        queryExecutor.runAll();
+
+        // then
+        Assert.assertEquals(1, adapter.invalidationCount);
+        Assert.assertNull(adapter.getCursor());
+        Assert.assertEquals(0, adapter.getData().size());
+        Assert.assertFalse(adapter.isOrderedBy(null));
+        verify(cursor).close();
+        verify(pendingCursor).close();
+    }
+
+    @Test
+    public void shouldMoveCursorToPositionOfRow() throws Exception {
+        // given
+        final TableCursorSource cursorSource = mock(TableCursorSource.class);
+        final Cursor cursor = mockCursor(3);
+        when(cursor.moveToPosition(2)).thenReturn(true);
+        when(cursorSource.query(null)).thenReturn(cursor);
+        final CursorTableDataAdapter adapter = new TestCursorTableDataAdapter(cursorSource, DIRECT_EXECUTOR);
+
+        // when
+        final Cursor rowData = adapter.getData().get(2);
+
+        // then
+        Assert.assertSame(cursor, rowData);
+        verify(cursor).moveToPosition(2);
+    }
+
+    private static Cursor mockCursor(final int rowCount) {
+        final Cursor cursor = mock(Cursor.class);
+        when(cursor.getCount()).thenReturn(rowCount);
+        return cursor;
+    }
+
+
+    /**
+     * A {@link CursorTableDataAdapter} handing the queried cursors over directly instead of on the main thread.
+     * It counts the notifications and records failed queries instead of passing them to the Android framework.
+     */
+    private static class TestCursorTableDataAdapter extends CursorTableDataAdapter {
+
+        private int notificationCount;
+        private int invalidationCount;
+        private String failedOrderBy;
+
+        public TestCursorTableDataAdapter(final TableCursorSource cursorSource, final Executor queryExecutor) {
+            super(mock(Context.class), cursorSource, queryExecutor, DIRECT_EXECUTOR);
+        }
+
+        @Override
+        public void notifyDataSetChanged() {
+            notificationCount++;
+        }
+
+        @Override
+        public void notifyDataSetInvalidated() {
+            invalidationCount++;
+        }
+
+        @Override
+        void onQueryFailed(final String orderBy, final RuntimeException exception) {
+            failedOrderBy = orderBy;
+        }
+
+        @Override
+        public View getCellView(final int rowIndex, final int columnIndex, final ViewGroup parentView) {
+            return null;
+        }
+    }
+
+    /**
+     * An {@link Executor} that runs the given tasks only when asked to.
+     */
+    private static class QueuedExecutor implements Executor {
+
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public void execute(final Runnable runnable) {
+            tasks.add(runnable);
+        }
+
+        public void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.remove(0).run();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,326 @@
+package de.codecrafters.tableview;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.codecrafters.tableview.providers.TableDataSource;
+
+
+/**
+ * Test for {@link PagedDataList} class.
+ *
+ * @author ISchwarz
+ */
+public class PagedDataListTest {
+
+    private static final Executor DIRECT_EXECUTOR = new Executor() {
+        @Override
+        public void execute(final Runnable runnable) {
+            runnable.run();
+        }
+    };
+
+    @Test
+    public void shouldGivePlaceholdersUntilPageIsLoaded() throws Exception {
+        // given
+        final CountingDataSource dataSource = new CountingDataSource(25);
+        final QueuedExecutor loadingExecutor = new QueuedExecutor();
+        final PagedDataList<Integer> pagedData = new PagedDataList<>(dataSource, 10, 2, loadingExecutor, DIRECT_EXECUTOR);
+        pagedData.refresh();
+        loadingExecutor.runAll();
+
+        // when
+        final Integer placeholder = pagedData.get(12);
+        pagedData.get(15);
+        loadingExecutor.runAll();
+
+        // then
+        Assert.assertEquals(25, pagedData.size());
+        Assert.assertNull(placeholder);
+        Assert.assertEquals(1, dataSource.loadCount);
+        Assert.assertTrue(pagedData.isLoaded(19));
+        Assert.assertFalse(pagedData.isLoaded(20));
+        Assert.assertEquals(Integer.valueOf(12), pagedData.get(12));
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedPage() throws Exception {
+        // given
+        final CountingDataSource dataSource = new CountingDataSource(30);
+        final PagedDataList<Integer> pagedData = new PagedDataList<>(dataSource, 10, 2, DIRECT_EXECUTOR, DIRECT_EXECUTOR);
+        pagedData.refresh();
+        pagedData.get(0);
+        pagedData.get(10);
+
+        // when
+        pagedData.get(0);
+        pagedData.get(20);
+
+        // then
+        Assert.assertTrue(pagedData.isLoaded(0));
+        Assert.assertFalse(pagedData.isLoaded(10));
+        Assert.assertTrue(pagedData.isLoaded(20));
+        Assert.assertEquals(3, dataSource.loadCount);
+    }
+
+    @Test
+    public void shouldDropPagesLoadedBeforeRefresh() throws Exception {
+        // given
+        final CountingDataSource dataSource = new CountingDataSource(20);
+        final QueuedExecutor loadingExecutor = new QueuedExecutor();
+        final PagedDataList<Integer> pagedData = new PagedDataList<>(dataSource, 10, 2, loadingExecutor, DIRECT_EXECUTOR);
+        final List<String> events = new ArrayList<>();
+        pagedData.setListener(new PagedDataList.Listener() {
+            @Override
+            public void onRowCountLoaded(final int rowCount) {
+                events.add("count " + rowCount);
+            }
+
+            @Override
+            public void onPageLoaded(final int dataIndexStart, final int rowCount) {
+                events.add("page " + dataIndexStart + "+" + rowCount);
+            }
+
+            @Override
+            public int[] getDisplayedDataIndices() {
+                return new int[0];
+            }
+        });
+        pagedData.refresh();
+        loadingExecutor.runAll();
+        pagedData.get(5);
+
+        // when
+        dataSource.rowCount = 15;
+        pagedData.refresh();
+        loadingExecutor.runAll();
+        pagedData.get(12);
+        loadingExecutor.runAll();
+
+        // then
+        Assert.assertEquals(15, pagedData.size());
+        Assert.assertFalse(pagedData.isLoaded(5));
+        Assert.assertEquals("[count 20, count 15, page 10+5]", events.toString());
+    }
+
+    @Test
+    public void shouldLoadEveryPageOnceInSnapshot() throws Exception {
+        // given
+        final CountingDataSource dataSource = new CountingDataSource(25);
+        final PagedDataList<Integer> pagedData = new PagedDataList<>(dataSource, 10, 1, DIRECT_EXECUTOR, DIRECT_EXECUTOR);
+        pagedData.refresh();
+
+        // when
+        final List<Integer> snapshot = pagedData.createSnapshot();
+        int sum = 0;
+        for (int index = snapshot.size() - 1; index >= 0; index--) {
+            sum += snapshot.get(index) + snapshot.get(index / 2);
+        }
+
+        // then
+        Assert.assertEquals(25, snapshot.size());
+        Assert.assertEquals(300 + 144, sum);
+        Assert.assertEquals(3, dataSource.loadCount);
+        Assert.assertFalse(pagedData.isLoaded(0));
+    }
+
+    @Test
+    public void shouldLoadEveryPageOnceWhenSnapshotIsSortedInParallel() throws Exception {
+        // given
+        final CountingDataSource dataSource = new CountingDataSource(20000);
+        final PagedDataList<Integer> pagedData = new PagedDataList<>(dataSource, 100, 1, DIRECT_EXECUTOR, DIRECT_EXECUTOR);
+        pagedData.refresh();
+        final List<Integer> snapshot = pagedData.createSnapshot();
+        final int[] rowIndices = RowIndexSorter.identity(snapshot.size());
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+
+        // when
+        try {
+            RowIndexSorter.parallelSort(rowIndices, RowIndexSorter.forComparator(snapshot, new Comparator<Integer>() {
+                @Override
+                public int compare(final Integer value1, final Integer value2) {
+                    return value2.compareTo(value1);
+                }
+            }), executor, 4);
+        } finally {
+            executor.shutdown();
+        }
+
+        // then
+        for (int index = 0; index < rowIndices.length; index++) {
+            Assert.assertEquals(rowIndices.length - 1 - index, rowIndices[index]);
+        }
+        Assert.assertEquals(200, dataSource.loadCount);
+        Assert.assertEquals(1, dataSource.maxConcurrentLoads);
+    }
+
+    @Test
+    public void shouldKeepPagesOfDisplayedRows() throws Exception {
+        // given
+        final CountingDataSource dataSource = new CountingDataSource(40);
+        final PagedDataList<Integer> pagedData = new PagedDataList<>(dataSource, 10, 2, DIRECT_EXECUTOR, DIRECT_EXECUTOR);
+        final DisplayedRowsListener listener = new DisplayedRowsListener();
+        pagedData.setListener(listener);
+        pagedData.refresh();
+        listener.displayedDataIndices = new int[]{5, 15, 25};
+
+        // when
+        pagedData.get(5);
+        pagedData.get(15);
+        pagedData.get(25);
+        final boolean allDisplayedPagesLoaded = pagedData.isLoaded(5) && pagedData.isLoaded(15) && pagedData.isLoaded(25);
+        listener.displayedDataIndices = new int[]{35};
+        pagedData.get(35);
+
+        // then
+        Assert.assertTrue(allDisplayedPagesLoaded);
+        Assert.assertFalse(pagedData.isLoaded(5));
+        Assert.assertFalse(pagedData.isLoaded(15));
+        Assert.assertTrue(pagedData.isLoaded(25));
+        Assert.assertTrue(pagedData.isLoaded(35));
+        Assert.assertEquals(4, dataSource.loadCount);
+    }
+
+    @Test
+    public void shouldAdoptPagesOfSnapshot() throws Exception {
+        // given
+        final CountingDataSource dataSource = new CountingDataSource(30);
+        final PagedDataList<Integer> pagedData = new PagedDataList<>(dataSource, 10, 2, DIRECT_EXECUTOR, DIRECT_EXECUTOR);
+        pagedData.refresh();
+        final List<Integer> snapshot = pagedData.createSnapshot();
+        for (int index = 0; index < snapshot.size(); index++) {
+            snapshot.get(index);
+        }
+
+        // when
+        pagedData.adoptSnapshotPages(snapshot, new int[]{27, 3});
+
+        // then
+        Assert.assertTrue(pagedData.isLoaded(3));
+        Assert.assertFalse(pagedData.isLoaded(13));
+        Assert.assertEquals(Integer.valueOf(27), pagedData.get(27));
+        Assert.assertEquals(3, dataSource.loadCount);
+    }
+
+    @Test
+    public void shouldNotAdoptPagesOfSnapshotCreatedBeforeRefresh() throws Exception {
+        // given
+        final CountingDataSource dataSource = new CountingDataSource(30);
+        final PagedDataList<Integer> pagedData = new PagedDataList<>(dataSource, 10, 2, DIRECT_EXECUTOR, DIRECT_EXECUTOR);
+        pagedData.refresh();
+        final List<Integer> snapshot = pagedData.createSnapshot();
+        snapshot.get(0);
+
+        // when
+        pagedData.refresh();
+        pagedData.adoptSnapshotPages(snapshot, new int[]{0});
+
+        // then
+        Assert.assertFalse(pagedData.isLoaded(0));
+    }
+
+    @Test
+    public void shouldSearchLoadedPagesOnly() throws Exception {
+        // given
+        final CountingDataSource dataSource = new CountingDataSource(30);
+        final PagedDataList<Integer> pagedData = new PagedDataList<>(dataSource, 10, 2, DIRECT_EXECUTOR, DIRECT_EXECUTOR);
+        pagedData.refresh();
+        pagedData.get(15);
+
+        // when
+        final int loadedIndex = pagedData.indexOf(17);
+        final int notLoadedIndex = pagedData.indexOf(25);
+
+        // then
+        Assert.assertEquals(17, loadedIndex);
+        Assert.assertEquals(-1, notLoadedIndex);
+        Assert.assertEquals(1, dataSource.loadCount);
+    }
+
+
+    /**
+     * A {@link TableDataSource} giving the data index as row and counting the loaded pages and the loads
+     * that run at the same time.
+     */
+    private static class CountingDataSource implements TableDataSource<Integer> {
+
+        private final AtomicInteger runningLoads = new AtomicInteger();
+        private int rowCount;
+        private volatile int loadCount;
+        private volatile int maxConcurrentLoads;
+
+        public CountingDataSource(final int rowCount) {
+            this.rowCount = rowCount;
+        }
+
+        @Override
+        public int getRowCount() {
+            return rowCount;
+        }
+
+        @Override
+        public List<Integer> loadRows(final int dataIndexStart, final int rowCount) {
+            maxConcurrentLoads = Math.max(maxConcurrentLoads, runningLoads.incrementAndGet());
+            try {
+                loadCount++;
+                final List<Integer> rows = new ArrayList<>();
+                for (int index = 0; index < rowCount; index++) {
+                    rows.add(dataIndexStart + index);
+                }
+                Thread.yield();
+                return rows;
+            } finally {
+                runningLoads.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * A {@link PagedDataList.Listener} giving the data indices it was told to display.
+     */
+    private static class DisplayedRowsListener implements PagedDataList.Listener {
+
+        private int[] displayedDataIndices = new int[0];
+
+        @Override
+        public void onRowCountLoaded(final int rowCount) {
+        }
+
+        @Override
+        public void onPageLoaded(final int dataIndexStart, final int rowCount) {
+        }
+
+        @Override
+        public int[] getDisplayedDataIndices() {
+            return displayedDataIndices;
+        }
+    }
+
+    /**
+     * An {@link Executor} that runs the given tasks only when asked to.
+     */
+    private static class QueuedExecutor implements Executor {
+
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public void execute(final Runnable runnable) {
+            tasks.add(runnable);
+        }
+
+        public void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.remove(0).run();
+            }
+        }
+    }
+
+}
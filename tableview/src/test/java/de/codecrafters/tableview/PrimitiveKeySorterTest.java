@@ -0,0 +1,106 @@
+package de.codecrafters.tableview;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+
+/**
+ * Test for {@link PrimitiveKeySorter} class.
+ *
+ * @author ISchwarz
+ */
+public class PrimitiveKeySorterTest {
+
+    @Test
+    public void shouldSortSmallIntKeysLikeRowIndexSorter() throws Exception {
+        assertIntSortLikeRowIndexSorter(createRandomIntKeys(100, 20));
+    }
+
+    @Test
+    public void shouldSortLargeIntKeysLikeRowIndexSorter() throws Exception {
+        assertIntSortLikeRowIndexSorter(createRandomIntKeys(5000, 300));
+    }
+
+    @Test
+    public void shouldRadixSortExtremeIntKeys() throws Exception {
+        // given
+        final int[] keys = {Integer.MAX_VALUE, -1, 0, Integer.MIN_VALUE, 1, -1, Integer.MAX_VALUE};
+        final int[] rowIndices = RowIndexSorter.identity(keys.length);
+
+        // when
+        PrimitiveKeySorter.radixSort(keys, rowIndices);
+
+        // then
+        Assert.assertArrayEquals(new int[]{Integer.MIN_VALUE, -1, -1, 0, 1, Integer.MAX_VALUE, Integer.MAX_VALUE}, keys);
+        Assert.assertArrayEquals(new int[]{3, 1, 5, 2, 4, 0, 6}, rowIndices);
+    }
+
+    @Test
+    public void shouldSortLongKeysLikeRowIndexSorter() throws Exception {
+        // given
+        final Random random = new Random(42);
+        final long[] keys = new long[1000];
+        for (int index = 0; index < keys.length; index++) {
+            keys[index] = (random.nextInt(100) - 50) * 100000000000L;
+        }
+        final int[] expectedRowIndices = RowIndexSorter.identity(keys.length);
+        RowIndexSorter.sort(expectedRowIndices, new RowIndexComparator() {
+            @Override
+            public int compare(final int dataIndex1, final int dataIndex2) {
+                return keys[dataIndex1] < keys[dataIndex2] ? -1 : (keys[dataIndex1] == keys[dataIndex2] ? 0 : 1);
+            }
+        });
+
+        // when
+        final int[] rowIndices = RowIndexSorter.identity(keys.length);
+        PrimitiveKeySorter.sort(keys.clone(), rowIndices);
+
+        // then
+        Assert.assertArrayEquals(expectedRowIndices, rowIndices);
+    }
+
+    @Test
+    public void shouldConvertDoublesToLongsOfSameOrder() throws Exception {
+        // given
+        final double[] values = {Double.NEGATIVE_INFINITY, -10.5, -0.0, 0.0, Double.MIN_VALUE, 3.0, Double.POSITIVE_INFINITY, Double.NaN};
+
+        // then
+        for (final double value1 : values) {
+            for (final double value2 : values) {
+                final long key1 = PrimitiveKeySorter.toSortableLong(value1);
+                final long key2 = PrimitiveKeySorter.toSortableLong(value2);
+                Assert.assertEquals(Integer.signum(Double.compare(value1, value2)), Long.signum(Long.valueOf(key1).compareTo(key2)));
+            }
+        }
+    }
+
+    private static void assertIntSortLikeRowIndexSorter(final int[] keys) {
+        // given
+        final int[] expectedRowIndices = RowIndexSorter.identity(keys.length);
+        RowIndexSorter.sort(expectedRowIndices, new RowIndexComparator() {
+            @Override
+            public int compare(final int dataIndex1, final int dataIndex2) {
+                return Integer.valueOf(keys[dataIndex1]).compareTo(keys[dataIndex2]);
+            }
+        });
+
+        // when
+        final int[] rowIndices = RowIndexSorter.identity(keys.length);
+        PrimitiveKeySorter.sort(keys.clone(), rowIndices);
+
+        // then
+        Assert.assertArrayEquals(expectedRowIndices, rowIndices);
+    }
+
+    private static int[] createRandomIntKeys(final int size, final int bound) {
+        final Random random = new Random(42);
+        final int[] keys = new int[size];
+        for (int index = 0; index < size; index++) {
+            keys[index] = random.nextInt(bound) - bound / 2;
+        }
+        return keys;
+    }
+
+}
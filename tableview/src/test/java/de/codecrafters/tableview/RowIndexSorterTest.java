@@ -0,0 +1,210 @@
+package de.codecrafters.tableview;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+
+/**
+ * Test for {@link RowIndexSorter} class.
+ *
+ * @author ISchwarz
+ */
+public class RowIndexSorterTest {
+
+    private static final Comparator<Integer> TENS_COMPARATOR = new Comparator<Integer>() {
+        @Override
+        public int compare(final Integer value1, final Integer value2) {
+            return (value1 / 10) - (value2 / 10);
+        }
+    };
+
+
+    @Test
+    public void shouldCreateIdentityPermutation() throws Exception {
+        // when
+        final int[] rowIndices = RowIndexSorter.identity(4);
+
+        // then
+        Assert.assertArrayEquals(new int[]{0, 1, 2, 3}, rowIndices);
+    }
+
+    @Test
+    public void shouldSortLikeCollectionsSort() throws Exception {
+        // given
+        final List<Integer> data = createRandomData(1000);
+        final List<Integer> expectedOrder = new ArrayList<>(data);
+        Collections.sort(expectedOrder, TENS_COMPARATOR);
+
+        // when
+        final int[] rowIndices = RowIndexSorter.identity(data.size());
+        RowIndexSorter.sort(rowIndices, RowIndexSorter.forComparator(data, TENS_COMPARATOR));
+
+        // then
+        for (int rowIndex = 0; rowIndex < rowIndices.length; rowIndex++) {
+            Assert.assertSame(expectedOrder.get(rowIndex), data.get(rowIndices[rowIndex]));
+        }
+    }
+
+    @Test
+    public void shouldSortInParallelLikeCollectionsSort() throws Exception {
+        // given
+        final List<Integer> data = createRandomData(100000);
+        final List<Integer> expectedOrder = new ArrayList<>(data);
+        Collections.sort(expectedOrder, TENS_COMPARATOR);
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+
+        // when
+        final int[] rowIndices = RowIndexSorter.identity(data.size());
+        try {
+            RowIndexSorter.parallelSort(rowIndices, RowIndexSorter.forComparator(data, TENS_COMPARATOR), executor, 5);
+        } finally {
+            executor.shutdown();
+        }
+
+        // then
+        for (int rowIndex = 0; rowIndex < rowIndices.length; rowIndex++) {
+            Assert.assertSame(expectedOrder.get(rowIndex), data.get(rowIndices[rowIndex]));
+        }
+    }
+
+    @Test
+    public void shouldNotModifyData() throws Exception {
+        // given
+        final List<Integer> data = createRandomData(100);
+        final List<Integer> dataCopy = new ArrayList<>(data);
+
+        // when
+        final int[] rowIndices = RowIndexSorter.identity(data.size());
+        RowIndexSorter.sort(rowIndices, RowIndexSorter.forComparator(data, TENS_COMPARATOR));
+
+        // then
+        Assert.assertEquals(dataCopy, data);
+    }
+
+    @Test
+    public void shouldSortRangeOnly() throws Exception {
+        // given
+        final List<Integer> data = new ArrayList<>();
+        Collections.addAll(data, 50, 40, 30, 20, 10);
+        final int[] rowIndices = RowIndexSorter.identity(data.size());
+
+        // when
+        RowIndexSorter.sort(rowIndices, 1, 4, RowIndexSorter.forComparator(data, TENS_COMPARATOR));
+
+        // then
+        Assert.assertArrayEquals(new int[]{0, 3, 2, 1, 4}, rowIndices);
+    }
+
+    @Test
+    public void shouldReverseLikeCollectionsSortWithReversedComparator() throws Exception {
+        // given
+        final List<Integer> data = createRandomData(1000);
+        final List<Integer> expectedOrder = new ArrayList<>(data);
+        Collections.sort(expectedOrder, Collections.reverseOrder(TENS_COMPARATOR));
+        final RowIndexComparator comparator = RowIndexSorter.forComparator(data, TENS_COMPARATOR);
+        final int[] ascendingRowIndices = RowIndexSorter.identity(data.size());
+        RowIndexSorter.sort(ascendingRowIndices, comparator);
+
+        // when
+        final int[] descendingRowIndices = RowIndexSorter.reverse(ascendingRowIndices, comparator);
+
+        // then
+        for (int rowIndex = 0; rowIndex < descendingRowIndices.length; rowIndex++) {
+            Assert.assertSame(expectedOrder.get(rowIndex), data.get(descendingRowIndices[rowIndex]));
+        }
+    }
+
+    @Test
+    public void shouldSortFirstRowsLikeCollectionsSort() throws Exception {
+        // given
+        final List<Integer> data = createRandomData(1000);
+        final List<Integer> expectedOrder = new ArrayList<>(data);
+        Collections.sort(expectedOrder, TENS_COMPARATOR);
+
+        // when
+        final int[] rowIndices = RowIndexSorter.partialSort(data.size(), 50, RowIndexSorter.forComparator(data, TENS_COMPARATOR));
+
+        // then
+        for (int rowIndex = 0; rowIndex < 50; rowIndex++) {
+            Assert.assertSame(expectedOrder.get(rowIndex), data.get(rowIndices[rowIndex]));
+        }
+        final int[] sortedRowIndices = rowIndices.clone();
+        Arrays.sort(sortedRowIndices);
+        Assert.assertArrayEquals(RowIndexSorter.identity(data.size()), sortedRowIndices);
+    }
+
+    @Test
+    public void shouldFindInsertionPointAfterEqualRows() throws Exception {
+        // given
+        final List<Integer> data = new ArrayList<>();
+        Collections.addAll(data, 10, 20, 20, 30, 25);
+        final int[] rowIndices = {0, 1, 2, 3};
+
+        // when
+        final int insertionPoint = RowIndexSorter.insertionPoint(rowIndices, 0, rowIndices.length, 4,
+                RowIndexSorter.forComparator(data, TENS_COMPARATOR));
+
+        // then
+        Assert.assertEquals(3, insertionPoint);
+    }
+
+    @Test
+    public void shouldAppendRowsInDataOrder() throws Exception {
+        // given
+        final int[] rowIndices = {2, 0, 1};
+
+        // when
+        final int[] appendedRowIndices = RowIndexSorter.append(rowIndices, 2);
+
+        // then
+        Assert.assertArrayEquals(new int[]{2, 0, 1, 3, 4}, appendedRowIndices);
+        Assert.assertArrayEquals(new int[]{2, 0, 1}, rowIndices);
+    }
+
+    @Test
+    public void shouldMergeRowsAppendedWhileSortingLikeCollectionsSort() throws Exception {
+        // given
+        final List<Integer> data = createRandomData(1000);
+        final List<Integer> expectedOrder = new ArrayList<>(data);
+        Collections.sort(expectedOrder, TENS_COMPARATOR);
+        final RowIndexComparator comparator = RowIndexSorter.forComparator(data, TENS_COMPARATOR);
+        final int[] sortedRowIndices = RowIndexSorter.identity(800);
+        RowIndexSorter.sort(sortedRowIndices, comparator);
+        final int[] displayedRowIndices = RowIndexSorter.append(sortedRowIndices, 200);
+
+        // when
+        final int[] insertedRowIndices = new int[200];
+        final int[] mergedRowIndices = RowIndexSorter.mergeAppended(sortedRowIndices, 800, 200, insertedRowIndices, comparator);
+
+        // then
+        for (int rowIndex = 800; rowIndex < displayedRowIndices.length; rowIndex++) {
+            Assert.assertEquals(rowIndex, displayedRowIndices[rowIndex]);
+        }
+        Assert.assertEquals(data.size(), mergedRowIndices.length);
+        for (int rowIndex = 0; rowIndex < mergedRowIndices.length; rowIndex++) {
+            Assert.assertSame(expectedOrder.get(rowIndex), data.get(mergedRowIndices[rowIndex]));
+        }
+        for (final int insertedRowIndex : insertedRowIndices) {
+            Assert.assertTrue(mergedRowIndices[insertedRowIndex] >= 800);
+        }
+    }
+
+    private static List<Integer> createRandomData(final int size) {
+        final Random random = new Random(42);
+        final List<Integer> data = new ArrayList<>();
+        for (int index = 0; index < size; index++) {
+            data.add(random.nextInt(500));
+        }
+        return data;
+    }
+
+}
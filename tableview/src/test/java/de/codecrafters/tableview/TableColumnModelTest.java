@@ -0,0 +1,69 @@
+package de.codecrafters.tableview;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.codecrafters.tableview.listeners.TableColumnModelListener;
+
+
+/**
+ * Test for {@link TableColumnModel} class.
+ *
+ * @author ISchwarz
+ */
+public class TableColumnModelTest {
+
+    @Test
+    public void shouldGiveColumnWeightSumAndOffsets() throws Exception {
+        // given
+        final TableColumnModel columnModel = new TableColumnModel(3);
+
+        // when
+        columnModel.setColumnWeight(1, 3);
+
+        // then
+        Assert.assertEquals(5, columnModel.getColumnWeightSum());
+        Assert.assertEquals(0, columnModel.getColumnOffset(0));
+        Assert.assertEquals(1, columnModel.getColumnOffset(1));
+        Assert.assertEquals(4, columnModel.getColumnOffset(2));
+    }
+
+    @Test
+    public void shouldUpdateWeightSumOnColumnCountChange() throws Exception {
+        // given
+        final TableColumnModel columnModel = new TableColumnModel(2);
+        columnModel.setColumnWeight(2, 5);
+        Assert.assertEquals(2, columnModel.getColumnWeightSum());
+
+        // when
+        columnModel.setColumnCount(3);
+
+        // then
+        Assert.assertEquals(7, columnModel.getColumnWeightSum());
+    }
+
+    @Test
+    public void shouldNotifyListenersOnlyOnChanges() throws Exception {
+        // given
+        final TableColumnModel columnModel = new TableColumnModel(2);
+        final int[] notificationCount = new int[1];
+        columnModel.addColumnModelListener(new TableColumnModelListener() {
+            @Override
+            public void onColumnModelChanged(final TableColumnModel changedColumnModel) {
+                notificationCount[0]++;
+            }
+        });
+        final int initialVersion = columnModel.getVersion();
+
+        // when
+        columnModel.setColumnWeight(0, 1);
+        columnModel.setColumnCount(2);
+        columnModel.setColumnWeight(0, 2);
+        columnModel.setColumnCount(4);
+
+        // then
+        Assert.assertEquals(2, notificationCount[0]);
+        Assert.assertEquals(initialVersion + 2, columnModel.getVersion());
+    }
+
+}
@@ -0,0 +1,97 @@
+package de.codecrafters.tableview;
+
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.codecrafters.tableview.colorizers.TableDataRowColorizer;
+import de.codecrafters.tableview.toolkit.TableDataRowColorizers;
+
+import static org.mockito.Mockito.mock;
+
+
+/**
+ * Test for {@link TableDataAdapter} class.
+ *
+ * @author ISchwarz
+ */
+public class TableDataAdapterTest {
+
+    @Test
+    public void shouldNotReadRowsForRowIndexColorizer() throws Exception {
+        // given
+        final RowCountingAdapter adapter = new RowCountingAdapter(createData());
+        adapter.setRowColoriser(TableDataRowColorizers.alternatingRows(0xFFFFFFFF, 0xFFEEEEEE));
+
+        // when
+        final int evenRowColor = adapter.getRowColor(0);
+        final int oddRowColor = adapter.getRowColor(1);
+
+        // then
+        Assert.assertEquals(0, adapter.readRows.size());
+        Assert.assertEquals(0xFFFFFFFF, evenRowColor);
+        Assert.assertEquals(0xFFEEEEEE, oddRowColor);
+    }
+
+    @Test
+    public void shouldReadRowsForDataColorizer() throws Exception {
+        // given
+        final RowCountingAdapter adapter = new RowCountingAdapter(createData());
+        final List<String[]> coloredRows = new ArrayList<>();
+        adapter.setRowColoriser(new TableDataRowColorizer<String[]>() {
+            @Override
+            public int getRowColor(final int rowIndex, final String[] rowData) {
+                coloredRows.add(rowData);
+                return 0xFF000000 + rowIndex;
+            }
+        });
+
+        // when
+        final int rowColor = adapter.getRowColor(2);
+
+        // then
+        Assert.assertEquals(0xFF000002, rowColor);
+        Assert.assertEquals(1, adapter.readRows.size());
+        Assert.assertEquals(1, coloredRows.size());
+        Assert.assertArrayEquals(new String[]{"3", "c"}, coloredRows.get(0));
+    }
+
+    private static ColumnarTableData createData() {
+        final ColumnarTableData data = new ColumnarTableData(3, 2);
+        data.setIntColumn(0, new int[]{1, 2, 3});
+        data.setStringColumn(1, new String[]{"a", "b", "c"});
+        return data;
+    }
+
+
+    /**
+     * An adapter for a {@link ColumnarTableData} that records every row read from its row list.
+     */
+    private static class RowCountingAdapter extends TableDataAdapter<String[]> {
+
+        private final List<String[]> readRows = new ArrayList<>();
+
+        public RowCountingAdapter(final ColumnarTableData columnarData) {
+            super(mock(Context.class), columnarData.getColumnCount(), columnarData.getRows());
+        }
+
+        @Override
+        public String[] getItem(final int rowIndex) {
+            final String[] row = getData().get(getDataIndex(rowIndex));
+            readRows.add(row);
+            return row;
+        }
+
+        @Override
+        public View getCellView(final int rowIndex, final int columnIndex, final ViewGroup parentView) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,127 @@
+package de.codecrafters.tableview;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+
+/**
+ * Test for {@link TableFile} class.
+ *
+ * @author ISchwarz
+ */
+public class TableFileTest {
+
+    @Test
+    public void shouldReadWrittenValues() throws Exception {
+        // given
+        final ColumnarTableData data = createData(500);
+        final File file = File.createTempFile("table", ".tvt");
+        file.deleteOnExit();
+
+        // when
+        data.writeTo(file, false);
+        final ColumnarTableData mappedData = ColumnarTableData.map(file);
+
+        // then
+        Assert.assertEquals(data.getRowCount(), mappedData.getRowCount());
+        Assert.assertEquals(data.getColumnCount(), mappedData.getColumnCount());
+        for (int dataIndex = 0; dataIndex < data.getRowCount(); dataIndex++) {
+            Assert.assertArrayEquals(data.getRows().get(dataIndex), mappedData.getRows().get(dataIndex));
+        }
+    }
+
+    @Test
+    public void shouldSortLikeInMemoryData() throws Exception {
+        // given
+        final ColumnarTableData data = createData(2000);
+        final File file = File.createTempFile("table", ".tvt");
+        file.deleteOnExit();
+
+        // when
+        data.writeTo(file, false);
+        final ColumnarTableData mappedData = ColumnarTableData.map(file);
+
+        // then
+        for (int columnIndex = 0; columnIndex < data.getColumnCount(); columnIndex++) {
+            final ColumnSortKey.PrimitiveKeys keys = extractKeys(data, columnIndex);
+            final ColumnSortKey.PrimitiveKeys mappedKeys = extractKeys(mappedData, columnIndex);
+            Assert.assertArrayEquals(keys.sortRowIndices(), mappedKeys.sortRowIndices());
+            for (int dataIndex = 1; dataIndex < data.getRowCount(); dataIndex++) {
+                Assert.assertEquals(Integer.signum(keys.compare(dataIndex - 1, dataIndex)),
+                        Integer.signum(mappedKeys.compare(dataIndex - 1, dataIndex)));
+            }
+        }
+    }
+
+    @Test
+    public void shouldUseStoredSortOrders() throws Exception {
+        // given
+        final ColumnarTableData data = createData(2000);
+        final File file = File.createTempFile("table", ".tvt");
+        file.deleteOnExit();
+
+        // when
+        data.writeTo(file, true);
+        final ColumnarTableData mappedData = ColumnarTableData.map(file);
+
+        // then
+        Assert.assertTrue(file.length() > createFileLength(data));
+        for (int columnIndex = 0; columnIndex < data.getColumnCount(); columnIndex++) {
+            Assert.assertArrayEquals(extractKeys(data, columnIndex).sortRowIndices(),
+                    extractKeys(mappedData, columnIndex).sortRowIndices());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldRejectOtherFiles() throws Exception {
+        // given
+        final File file = File.createTempFile("table", ".csv");
+        file.deleteOnExit();
+        final FileOutputStream out = new FileOutputStream(file);
+        out.write("a,b,c\n1,2,3\n4,5,6\n".getBytes("UTF-8"));
+        out.close();
+
+        // when
+        ColumnarTableData.map(file);
+    }
+
+    private static ColumnarTableData createData(final int rowCount) {
+        final Random random = new Random(42);
+        final int[] ints = new int[rowCount];
+        final long[] longs = new long[rowCount];
+        final double[] doubles = new double[rowCount];
+        final String[] strings = new String[rowCount];
+        for (int dataIndex = 0; dataIndex < rowCount; dataIndex++) {
+            ints[dataIndex] = random.nextInt(100) - 50;
+            longs[dataIndex] = random.nextLong();
+            doubles[dataIndex] = random.nextInt(10) == 0 ? Double.NaN : random.nextGaussian();
+            strings[dataIndex] = random.nextInt(10) == 0 ? null : "Stra\u00DFe " + random.nextInt(50);
+        }
+
+        final ColumnarTableData data = new ColumnarTableData(rowCount, 4);
+        data.setIntColumn(0, ints);
+        data.setLongColumn(1, longs);
+        data.setDoubleColumn(2, doubles);
+        data.setStringColumn(3, strings);
+        return data;
+    }
+
+    private static long createFileLength(final ColumnarTableData data) throws IOException {
+        final File file = File.createTempFile("table", ".tvt");
+        file.deleteOnExit();
+        data.writeTo(file, false);
+        return file.length();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ColumnSortKey.PrimitiveKeys extractKeys(final ColumnarTableData data, final int columnIndex) {
+        final ColumnSortKey<String[]> sortKey = (ColumnSortKey<String[]>) data.getColumnComparator(columnIndex);
+        return (ColumnSortKey.PrimitiveKeys) sortKey.extractKeys(data.getRows());
+    }
+
+}
@@ -0,0 +1,120 @@
+package de.codecrafters.tableview.toolkit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.text.CollationKey;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+import de.codecrafters.tableview.extractors.KeyExtractor;
+
+
+/**
+ * Test for {@link CollationKeyExtractors} class.
+ *
+ * @author ISchwarz
+ */
+public class CollationKeyExtractorsTest {
+
+    private static final KeyExtractor<String[], String> FIRST_FIELD = new KeyExtractor<String[], String>() {
+        @Override
+        public String getKey(final String[] rowData) {
+            return rowData[0];
+        }
+    };
+
+    @Test
+    public void shouldSortUmlautsLikeTheirBaseLetters() throws Exception {
+        // given
+        final Comparator<String[]> comparator = CollationKeyExtractors.localeAwareComparator(FIRST_FIELD, Locale.GERMAN);
+        final List<String[]> rows = new ArrayList<>(Arrays.asList(row("z"), row("\u00E4"), row("a"), row("b")));
+
+        // when
+        Collections.sort(rows, comparator);
+
+        // then
+        Assert.assertEquals("a", rows.get(0)[0]);
+        Assert.assertEquals("\u00E4", rows.get(1)[0]);
+        Assert.assertEquals("b", rows.get(2)[0]);
+        Assert.assertEquals("z", rows.get(3)[0]);
+    }
+
+    @Test
+    public void shouldSortNullStringsFirst() throws Exception {
+        // given
+        final Comparator<String[]> comparator = CollationKeyExtractors.localeAwareComparator(FIRST_FIELD, Locale.GERMAN);
+        final List<String[]> rows = new ArrayList<>(Arrays.asList(row("a"), row(null)));
+
+        // when
+        Collections.sort(rows, comparator);
+
+        // then
+        Assert.assertNull(rows.get(0)[0]);
+        Assert.assertEquals("a", rows.get(1)[0]);
+    }
+
+    @Test
+    public void shouldCacheTheKeyOfUnchangedRows() throws Exception {
+        // given
+        final KeyExtractor<String[], CollationKey> extractor = CollationKeyExtractors.localeAware(FIRST_FIELD, Locale.GERMAN);
+        final String[] row = row("\u00E4");
+
+        // when
+        final CollationKey firstKey = extractor.getKey(row);
+        final CollationKey secondKey = extractor.getKey(row);
+
+        // then
+        Assert.assertSame(firstKey, secondKey);
+    }
+
+    @Test
+    public void shouldRecreateTheKeyIfTheStringOfTheRowChanges() throws Exception {
+        // given
+        final KeyExtractor<String[], CollationKey> extractor = CollationKeyExtractors.localeAware(FIRST_FIELD, Locale.GERMAN);
+        final String[] row = row("a");
+        final CollationKey oldKey = extractor.getKey(row);
+
+        // when
+        row[0] = "z";
+        final CollationKey newKey = extractor.getKey(row);
+
+        // then
+        Assert.assertEquals("z", newKey.getSourceString());
+        Assert.assertTrue(oldKey.compareTo(newKey) < 0);
+        Assert.assertSame(newKey, extractor.getKey(row));
+    }
+
+    @Test
+    public void shouldGiveComparableKeysOnDifferentThreads() throws Exception {
+        // given
+        final KeyExtractor<String[], CollationKey> extractor = CollationKeyExtractors.localeAware(FIRST_FIELD, Locale.GERMAN);
+        final String[] row = row("\u00E4");
+        final CollationKey[] otherThreadKeys = new CollationKey[2];
+        final Thread otherThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                otherThreadKeys[0] = extractor.getKey(row);
+                otherThreadKeys[1] = extractor.getKey(row("b"));
+            }
+        });
+
+        // when
+        final CollationKey key = extractor.getKey(row);
+        otherThread.start();
+        otherThread.join();
+
+        // then
+        Assert.assertEquals(0, key.compareTo(otherThreadKeys[0]));
+        Assert.assertTrue(key.compareTo(otherThreadKeys[1]) < 0);
+    }
+
+    private static String[] row(final String firstField) {
+        return new String[]{firstField};
+    }
+
+}
@@ -0,0 +1,86 @@
+package de.codecrafters.tableview.toolkit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Test for {@link CsvParser} class.
+ *
+ * @author ISchwarz
+ */
+public class CsvParserTest {
+
+    @Test
+    public void shouldParseSimpleRows() throws Exception {
+        // given
+        final CsvParser parser = new CsvParser(new StringReader("a,b,c\r\n1,,3\n\n4,5,\r6,7,8"), ',');
+
+        // when
+        final List<String[]> rows = readRows(parser);
+
+        // then
+        Assert.assertEquals(4, rows.size());
+        Assert.assertArrayEquals(new String[]{"a", "b", "c"}, rows.get(0));
+        Assert.assertArrayEquals(new String[]{"1", "", "3"}, rows.get(1));
+        Assert.assertArrayEquals(new String[]{"4", "5", ""}, rows.get(2));
+        Assert.assertArrayEquals(new String[]{"6", "7", "8"}, rows.get(3));
+    }
+
+    @Test
+    public void shouldParseQuotedFields() throws Exception {
+        // given
+        final CsvParser parser = new CsvParser(new StringReader("\"a;b\";\"say \"\"hi\"\"\";\"line\r\nbreak\"\n\"\";x"), ';');
+
+        // when
+        final List<String[]> rows = readRows(parser);
+
+        // then
+        Assert.assertEquals(2, rows.size());
+        Assert.assertArrayEquals(new String[]{"a;b", "say \"hi\"", "line\r\nbreak"}, rows.get(0));
+        Assert.assertArrayEquals(new String[]{"", "x"}, rows.get(1));
+    }
+
+    @Test
+    public void shouldParseRowsLargerThanTheBuffer() throws Exception {
+        // given
+        final StringBuilder csv = new StringBuilder();
+        for (int rowIndex = 0; rowIndex < 1000; rowIndex++) {
+            csv.append(rowIndex).append(",\"").append(rowIndex).append("\"\"\n\",text ").append(rowIndex).append('\n');
+        }
+        final CsvParser parser = new CsvParser(new StringReader(csv.toString()), ',');
+
+        // when
+        final List<String[]> rows = readRows(parser);
+
+        // then
+        Assert.assertEquals(1000, rows.size());
+        for (int rowIndex = 0; rowIndex < 1000; rowIndex++) {
+            Assert.assertArrayEquals(new String[]{"" + rowIndex, rowIndex + "\"\n", "text " + rowIndex}, rows.get(rowIndex));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldRejectUnterminatedQuotes() throws Exception {
+        // given
+        final CsvParser parser = new CsvParser(new StringReader("a,\"b\nc"), ',');
+
+        // when
+        readRows(parser);
+    }
+
+    private static List<String[]> readRows(final CsvParser parser) throws IOException {
+        final List<String[]> rows = new ArrayList<>();
+        String[] row;
+        while ((row = parser.readRow()) != null) {
+            rows.add(row);
+        }
+        return rows;
+    }
+
+}
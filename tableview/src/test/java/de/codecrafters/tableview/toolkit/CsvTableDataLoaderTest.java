@@ -0,0 +1,199 @@
+package de.codecrafters.tableview.toolkit;
+
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import de.codecrafters.tableview.TableDataAdapter;
+import de.codecrafters.tableview.listeners.CsvLoadingListener;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+
+/**
+ * Test for {@link CsvTableDataLoader} class.
+ *
+ * @author ISchwarz
+ */
+public class CsvTableDataLoaderTest {
+
+    private static final Executor DIRECT_EXECUTOR = new Executor() {
+        @Override
+        public void execute(final Runnable runnable) {
+            runnable.run();
+        }
+    };
+
+    @Test
+    public void shouldLoadHeaderAndRows() throws Exception {
+        // given
+        final BatchRecordingAdapter adapter = new BatchRecordingAdapter();
+        final CsvLoadingListener listener = mock(CsvLoadingListener.class);
+        final CsvTableDataLoader loader = createLoader(adapter, DIRECT_EXECUTOR, listener);
+        loader.setHeaderRow(true);
+
+        // when
+        loader.load(new StringReader("name,age\nAnna,31\nBen,27\n"));
+
+        // then
+        verify(listener).onHeaderLoaded(new String[]{"name", "age"});
+        verify(listener).onLoadingFinished(2);
+        Assert.assertFalse(loader.isLoading());
+        Assert.assertEquals(2, adapter.getData().size());
+        Assert.assertArrayEquals(new String[]{"Anna", "31"}, adapter.getData().get(0));
+        Assert.assertArrayEquals(new String[]{"Ben", "27"}, adapter.getData().get(1));
+    }
+
+    @Test
+    public void shouldAddRowsInGrowingBatches() throws Exception {
+        // given
+        final BatchRecordingAdapter adapter = new BatchRecordingAdapter();
+        final CsvLoadingListener listener = mock(CsvLoadingListener.class);
+        final CsvTableDataLoader loader = createLoader(adapter, DIRECT_EXECUTOR, listener);
+
+        // when
+        loader.load(new StringReader(createCsv(375)));
+
+        // then
+        Assert.assertEquals(Arrays.asList(50, 100, 200, 25), adapter.batchSizes);
+        Assert.assertEquals(375, adapter.getData().size());
+        Assert.assertArrayEquals(new String[]{"374", "row 374"}, adapter.getData().get(374));
+        verify(listener).onLoadingFinished(375);
+    }
+
+    @Test
+    public void shouldDropPendingBatchesWhenCancelled() throws Exception {
+        // given
+        final BatchRecordingAdapter adapter = new BatchRecordingAdapter();
+        final CsvLoadingListener listener = mock(CsvLoadingListener.class);
+        final QueuedExecutor resultExecutor = new QueuedExecutor();
+        final CsvTableDataLoader loader = createLoader(adapter, resultExecutor, listener);
+        loader.load(new StringReader(createCsv(60)));
+        resultExecutor.runNext();
+
+        // when
+        loader.cancel();
+        resultExecutor.runAll();
+
+        // then
+        Assert.assertEquals(Arrays.asList(50), adapter.batchSizes);
+        Assert.assertFalse(loader.isLoading());
+        verify(listener, never()).onLoadingFinished(anyInt());
+    }
+
+    @Test
+    public void shouldInformListenerIfReadingFails() throws Exception {
+        // given
+        final BatchRecordingAdapter adapter = new BatchRecordingAdapter();
+        final CsvLoadingListener listener = mock(CsvLoadingListener.class);
+        final CsvTableDataLoader loader = createLoader(adapter, DIRECT_EXECUTOR, listener);
+        final FailingReader reader = new FailingReader();
+
+        // when
+        loader.load(reader);
+
+        // then
+        verify(listener).onLoadingFailed(any(IOException.class));
+        verify(listener, never()).onLoadingFinished(anyInt());
+        Assert.assertFalse(loader.isLoading());
+        Assert.assertTrue(reader.closed);
+    }
+
+    private static CsvTableDataLoader createLoader(final BatchRecordingAdapter adapter, final Executor resultExecutor,
+                                                   final CsvLoadingListener listener) {
+        final CsvTableDataLoader loader = new CsvTableDataLoader(adapter, resultExecutor);
+        loader.setLoadingExecutor(DIRECT_EXECUTOR);
+        loader.setLoadingListener(listener);
+        return loader;
+    }
+
+    private static String createCsv(final int rowCount) {
+        final StringBuilder csv = new StringBuilder();
+        for (int index = 0; index < rowCount; index++) {
+            csv.append(index).append(",row ").append(index).append('\n');
+        }
+        return csv.toString();
+    }
+
+
+    /**
+     * A {@link TableDataAdapter} that records the size of every batch of added rows.
+     */
+    private static class BatchRecordingAdapter extends TableDataAdapter<String[]> {
+
+        private final List<Integer> batchSizes = new ArrayList<>();
+
+        public BatchRecordingAdapter() {
+            super(mock(Context.class), new ArrayList<String[]>());
+        }
+
+        @Override
+        public void addRows(final Collection<? extends String[]> rowData) {
+            batchSizes.add(rowData.size());
+            super.addRows(rowData);
+        }
+
+        @Override
+        public View getCellView(final int rowIndex, final int columnIndex, final ViewGroup parentView) {
+            return null;
+        }
+    }
+
+    /**
+     * An {@link Executor} that runs the given tasks only when asked to.
+     */
+    private static class QueuedExecutor implements Executor {
+
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public void execute(final Runnable runnable) {
+            tasks.add(runnable);
+        }
+
+        public void runNext() {
+            tasks.remove(0).run();
+        }
+
+        public void runAll() {
+            while (!tasks.isEmpty()) {
+                runNext();
+            }
+        }
+    }
+
+    /**
+     * A {@link Reader} that fails on every read.
+     */
+    private static class FailingReader extends Reader {
+
+        private boolean closed = false;
+
+        @Override
+        public int read(final char[] buffer, final int offset, final int length) throws IOException {
+            throw new IOException("device not ready");
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+}
@@ -0,0 +1,63 @@
+package de.codecrafters.tableview.toolkit;
+
+import android.database.sqlite.SQLiteDatabase;
+
+import org.junit.Test;
+
+import de.codecrafters.tableview.providers.TableCursorSource;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+
+/**
+ * Test for {@link TableCursorSources} class.
+ *
+ * @author ISchwarz
+ */
+public class TableCursorSourcesTest {
+
+    private static final String SQL = "SELECT name, age FROM person ORDER BY age LIMIT 10";
+    private static final String[] SELECTION_ARGS = new String[0];
+
+    @Test
+    public void shouldExecuteQueryAsGivenIfNotOrdered() throws Exception {
+        // given
+        final SQLiteDatabase database = mock(SQLiteDatabase.class);
+        final TableCursorSource cursorSource = TableCursorSources.forQuery(database, SQL, SELECTION_ARGS);
+
+        // when
+        cursorSource.query(null);
+
+        // then
+        verify(database).rawQuery(SQL, SELECTION_ARGS);
+    }
+
+    @Test
+    public void shouldOrderQueryAsSubquery() throws Exception {
+        // given
+        final SQLiteDatabase database = mock(SQLiteDatabase.class);
+        final TableCursorSource cursorSource = TableCursorSources.forQuery(database, SQL, SELECTION_ARGS);
+
+        // when
+        cursorSource.query("name DESC");
+
+        // then
+        verify(database).rawQuery("SELECT * FROM (" + SQL + ") ORDER BY name DESC", SELECTION_ARGS);
+    }
+
+    @Test
+    public void shouldPassOrderToTableQuery() throws Exception {
+        // given
+        final SQLiteDatabase database = mock(SQLiteDatabase.class);
+        final String[] columns = new String[]{"name", "age"};
+        final TableCursorSource cursorSource = TableCursorSources.forTable(database, "person", columns, "age > ?", SELECTION_ARGS);
+
+        // when
+        cursorSource.query("name DESC");
+
+        // then
+        verify(database).query("person", columns, "age > ?", SELECTION_ARGS, null, null, "name DESC");
+    }
+
+}